@@ -61,8 +61,9 @@ CREATE TABLE `flw_his_task`  (
                                  `finish_time` timestamp NULL COMMENT '任务完成时间',
                                  `task_state` tinyint(1) NOT NULL DEFAULT 1 COMMENT '任务状态 0，活动 1，结束 2，超时 3，终止',
                                  PRIMARY KEY (`id`) USING BTREE,
-                                 INDEX `idx_his_task_instance_id`(`instance_id` ASC) USING BTREE,
+                                 INDEX `idx_his_task_instance_id_task_name`(`instance_id` ASC, `task_name` ASC) USING BTREE,
                                  INDEX `idx_his_task_parent_task_id`(`parent_task_id` ASC) USING BTREE,
+                                 INDEX `idx_his_task_tenant_id_create_time`(`tenant_id` ASC, `create_time` ASC, `id` ASC) USING BTREE,
                                  CONSTRAINT `fk_his_task_instance_id` FOREIGN KEY (`instance_id`) REFERENCES `flw_his_instance` (`id`) ON DELETE RESTRICT ON UPDATE RESTRICT
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '任务表' ROW_FORMAT = Dynamic;
 
@@ -80,6 +81,7 @@ CREATE TABLE `flw_his_task_actor`  (
                                        `type` int NOT NULL COMMENT '类型 0，用户 1，角色 2，部门',
                                        PRIMARY KEY (`id`) USING BTREE,
                                        INDEX `idx_his_task_actor_task_id`(`task_id` ASC) USING BTREE,
+                                       INDEX `idx_his_task_actor_actor_id`(`actor_id` ASC, `task_id` ASC) USING BTREE,
                                        CONSTRAINT `fk_his_task_actor_task_id` FOREIGN KEY (`task_id`) REFERENCES `flw_his_task` (`id`) ON DELETE RESTRICT ON UPDATE RESTRICT
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '历史任务参与者表' ROW_FORMAT = Dynamic;
 
@@ -126,7 +128,7 @@ CREATE TABLE `flw_process`  (
                                 `state` tinyint(1) DEFAULT 1 COMMENT '流程是否可用 0，否 1，是',
                                 `content` text COMMENT '流程模型定义',
                                 PRIMARY KEY (`id`) USING BTREE,
-                                INDEX `idx_process_name`(`name` ASC) USING BTREE
+                                INDEX `idx_process_name_version`(`name` ASC, `version` ASC) USING BTREE
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '流程定义表' ROW_FORMAT = Dynamic;
 
 -- ----------------------------
@@ -155,7 +157,11 @@ CREATE TABLE `flw_task`  (
                              `read` tinyint(1) NOT NULL DEFAULT 0 COMMENT '已阅 0，否 1，是',
                              `finish_time` timestamp NULL COMMENT '完成时间',
                              PRIMARY KEY (`id`) USING BTREE,
-                             INDEX `idx_task_instance_id`(`instance_id` ASC) USING BTREE,
+                             INDEX `idx_task_instance_id_task_name`(`instance_id` ASC, `task_name` ASC) USING BTREE,
+                             INDEX `idx_task_parent_task_id`(`parent_task_id` ASC) USING BTREE,
+                             INDEX `idx_task_expire_time`(`expire_time` ASC) USING BTREE,
+                             INDEX `idx_task_remind_time`(`remind_time` ASC) USING BTREE,
+                             INDEX `idx_task_tenant_id_create_time`(`tenant_id` ASC, `create_time` ASC, `id` ASC) USING BTREE,
                              CONSTRAINT `fk_task_instance_id` FOREIGN KEY (`instance_id`) REFERENCES `flw_instance` (`id`) ON DELETE RESTRICT ON UPDATE RESTRICT
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '任务表' ROW_FORMAT = Dynamic;
 
@@ -173,6 +179,8 @@ CREATE TABLE `flw_task_actor`  (
                                    `type` int NOT NULL COMMENT '类型 0，用户 1，角色 2，部门',
                                    PRIMARY KEY (`id`) USING BTREE,
                                    INDEX `idx_task_actor_task_id`(`task_id` ASC) USING BTREE,
+                                   INDEX `idx_task_actor_actor_id`(`actor_id` ASC, `task_id` ASC) USING BTREE,
+                                   INDEX `idx_task_actor_instance_id`(`instance_id` ASC) USING BTREE,
                                    CONSTRAINT `fk_task_actor_task_id` FOREIGN KEY (`task_id`) REFERENCES `flw_task` (`id`) ON DELETE RESTRICT ON UPDATE RESTRICT
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '任务参与者表' ROW_FORMAT = Dynamic;
 
@@ -195,5 +203,74 @@ CREATE TABLE `flw_task_cc`  (
                                 `type` int NOT NULL COMMENT '类型 0，用户 1，角色 2，部门',
                                 `state` tinyint(1) NOT NULL DEFAULT 1 COMMENT '状态 0，结束 1，活动',
                                 `finish_time` timestamp NULL COMMENT '完成时间',
-                                PRIMARY KEY (`id`) USING BTREE
+                                PRIMARY KEY (`id`) USING BTREE,
+                                INDEX `idx_task_cc_instance_id`(`instance_id` ASC) USING BTREE,
+                                INDEX `idx_task_cc_parent_task_id`(`parent_task_id` ASC) USING BTREE,
+                                INDEX `idx_task_cc_actor_id`(`actor_id`(100) ASC, `state` ASC) USING BTREE
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '抄送任务表' ROW_FORMAT = Dynamic;
+
+-- ----------------------------
+-- Table structure for flw_job_lock
+-- ----------------------------
+DROP TABLE IF EXISTS `flw_job_lock`;
+CREATE TABLE `flw_job_lock`  (
+                                 `lock_name` varchar(50) NOT NULL COMMENT '锁名称',
+                                 `owner` varchar(100) NOT NULL COMMENT '持有者节点ID',
+                                 `expire_time` timestamp NOT NULL COMMENT '租约过期时间',
+                                 PRIMARY KEY (`lock_name`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '任务锁表' ROW_FORMAT = Dynamic;
+
+-- ----------------------------
+-- Table structure for flw_job_node
+-- ----------------------------
+DROP TABLE IF EXISTS `flw_job_node`;
+CREATE TABLE `flw_job_node`  (
+                                 `node_id` varchar(100) NOT NULL COMMENT '节点ID',
+                                 `heartbeat_time` timestamp NOT NULL COMMENT '心跳时间',
+                                 PRIMARY KEY (`node_id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '任务节点表' ROW_FORMAT = Dynamic;
+
+-- ----------------------------
+-- Table structure for flw_event_outbox
+-- ----------------------------
+DROP TABLE IF EXISTS `flw_event_outbox`;
+CREATE TABLE `flw_event_outbox`  (
+                                     `id` bigint NOT NULL COMMENT '主键ID',
+                                     `instance_id` bigint NOT NULL COMMENT '流程实例ID',
+                                     `entity_type` varchar(20) NOT NULL COMMENT '事件对象类型 task 任务 instance 流程实例',
+                                     `entity_id` bigint NOT NULL COMMENT '事件对象ID',
+                                     `event` varchar(20) NOT NULL COMMENT '事件',
+                                     `payload` text COMMENT '事件对象JSON',
+                                     `create_time` timestamp NOT NULL COMMENT '创建时间',
+                                     PRIMARY KEY (`id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '事件发件箱表' ROW_FORMAT = Dynamic;
+
+-- ----------------------------
+-- Table structure for flw_variable
+-- ----------------------------
+DROP TABLE IF EXISTS `flw_variable`;
+CREATE TABLE `flw_variable`  (
+                                 `id` bigint NOT NULL COMMENT '主键ID',
+                                 `instance_id` bigint NOT NULL COMMENT '流程实例ID',
+                                 `scope_id` bigint NOT NULL DEFAULT 0 COMMENT '作用域ID 0，流程实例 其它为任务ID',
+                                 `name` varchar(100) NOT NULL COMMENT '变量名',
+                                 `var_type` varchar(20) NOT NULL COMMENT '变量类型',
+                                 `var_value` text COMMENT '变量值',
+                                 `update_time` timestamp NOT NULL COMMENT '更新时间',
+                                 PRIMARY KEY (`id`) USING BTREE,
+                                 UNIQUE INDEX `uk_variable_name`(`instance_id` ASC, `scope_id` ASC, `name` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '流程变量表' ROW_FORMAT = Dynamic;
+
+-- ----------------------------
+-- Table structure for flw_his_dead_letter
+-- ----------------------------
+DROP TABLE IF EXISTS `flw_his_dead_letter`;
+CREATE TABLE `flw_his_dead_letter`  (
+                                        `id` bigint NOT NULL COMMENT '主键ID',
+                                        `operation` varchar(20) NOT NULL COMMENT '写入操作 insertInstance updateInstance insertTask',
+                                        `entity_id` bigint COMMENT '历史实例或历史任务ID',
+                                        `payload` longtext COMMENT '历史记录JSON',
+                                        `error` varchar(500) COMMENT '写入失败原因',
+                                        `create_time` timestamp NOT NULL COMMENT '创建时间',
+                                        PRIMARY KEY (`id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '历史记录死信表' ROW_FORMAT = Dynamic;
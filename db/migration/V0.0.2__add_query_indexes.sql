@@ -0,0 +1,38 @@
+-- ----------------------------
+-- 流程引擎查询索引，覆盖引擎发出的全部查询条件
+-- 适用于 0.0.1 版本 flowlong-mysql.sql 初始化的数据库
+-- ----------------------------
+USE `flowlong`;
+
+-- 按流程名称、版本查询流程定义
+ALTER TABLE `flw_process`
+    ADD INDEX `idx_process_name_version`(`name` ASC, `version` ASC) USING BTREE,
+    DROP INDEX `idx_process_name`;
+
+-- 会签判断按流程实例、任务名称查询，撤回按父任务查询，提醒调度按期望完成时间、提醒时间查询
+ALTER TABLE `flw_task`
+    ADD INDEX `idx_task_instance_id_task_name`(`instance_id` ASC, `task_name` ASC) USING BTREE,
+    ADD INDEX `idx_task_parent_task_id`(`parent_task_id` ASC) USING BTREE,
+    ADD INDEX `idx_task_expire_time`(`expire_time` ASC) USING BTREE,
+    ADD INDEX `idx_task_remind_time`(`remind_time` ASC) USING BTREE,
+    DROP INDEX `idx_task_instance_id`;
+
+-- 待办任务按参与者查询，活动参与者按流程实例查询
+ALTER TABLE `flw_task_actor`
+    ADD INDEX `idx_task_actor_actor_id`(`actor_id` ASC, `task_id` ASC) USING BTREE,
+    ADD INDEX `idx_task_actor_instance_id`(`instance_id` ASC) USING BTREE;
+
+-- 历史任务按流程实例、任务名称查询
+ALTER TABLE `flw_his_task`
+    ADD INDEX `idx_his_task_instance_id_task_name`(`instance_id` ASC, `task_name` ASC) USING BTREE,
+    DROP INDEX `idx_his_task_instance_id`;
+
+-- 已办任务按参与者查询
+ALTER TABLE `flw_his_task_actor`
+    ADD INDEX `idx_his_task_actor_actor_id`(`actor_id` ASC, `task_id` ASC) USING BTREE;
+
+-- 抄送任务按流程实例、父任务、参与者查询
+ALTER TABLE `flw_task_cc`
+    ADD INDEX `idx_task_cc_instance_id`(`instance_id` ASC) USING BTREE,
+    ADD INDEX `idx_task_cc_parent_task_id`(`parent_task_id` ASC) USING BTREE,
+    ADD INDEX `idx_task_cc_actor_id`(`actor_id`(100) ASC, `state` ASC) USING BTREE;
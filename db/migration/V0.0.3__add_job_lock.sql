@@ -0,0 +1,17 @@
+-- ----------------------------
+-- 多节点任务调度数据库租约锁及节点心跳表
+-- ----------------------------
+USE `flowlong`;
+
+CREATE TABLE IF NOT EXISTS `flw_job_lock`  (
+                                `lock_name` varchar(50) NOT NULL COMMENT '锁名称',
+                                `owner` varchar(100) NOT NULL COMMENT '持有者节点ID',
+                                `expire_time` timestamp NOT NULL COMMENT '租约过期时间',
+                                PRIMARY KEY (`lock_name`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '任务锁表' ROW_FORMAT = Dynamic;
+
+CREATE TABLE IF NOT EXISTS `flw_job_node`  (
+                                `node_id` varchar(100) NOT NULL COMMENT '节点ID',
+                                `heartbeat_time` timestamp NOT NULL COMMENT '心跳时间',
+                                PRIMARY KEY (`node_id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '任务节点表' ROW_FORMAT = Dynamic;
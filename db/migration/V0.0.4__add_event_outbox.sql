@@ -0,0 +1,15 @@
+-- ----------------------------
+-- 事务发件箱表，事件与流程数据同一事务写入，由中继投递
+-- ----------------------------
+USE `flowlong`;
+
+CREATE TABLE IF NOT EXISTS `flw_event_outbox`  (
+                                `id` bigint NOT NULL COMMENT '主键ID',
+                                `instance_id` bigint NOT NULL COMMENT '流程实例ID',
+                                `entity_type` varchar(20) NOT NULL COMMENT '事件对象类型 task 任务 instance 流程实例',
+                                `entity_id` bigint NOT NULL COMMENT '事件对象ID',
+                                `event` varchar(20) NOT NULL COMMENT '事件',
+                                `payload` text COMMENT '事件对象JSON',
+                                `create_time` timestamp NOT NULL COMMENT '创建时间',
+                                PRIMARY KEY (`id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '事件发件箱表' ROW_FORMAT = Dynamic;
@@ -0,0 +1,16 @@
+-- ----------------------------
+-- 流程变量表，变量按名称独立存储增量更新
+-- ----------------------------
+USE `flowlong`;
+
+CREATE TABLE IF NOT EXISTS `flw_variable`  (
+                                `id` bigint NOT NULL COMMENT '主键ID',
+                                `instance_id` bigint NOT NULL COMMENT '流程实例ID',
+                                `scope_id` bigint NOT NULL DEFAULT 0 COMMENT '作用域ID 0，流程实例 其它为任务ID',
+                                `name` varchar(100) NOT NULL COMMENT '变量名',
+                                `var_type` varchar(20) NOT NULL COMMENT '变量类型',
+                                `var_value` text COMMENT '变量值',
+                                `update_time` timestamp NOT NULL COMMENT '更新时间',
+                                PRIMARY KEY (`id`) USING BTREE,
+                                UNIQUE INDEX `uk_variable_name`(`instance_id` ASC, `scope_id` ASC, `name` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '流程变量表' ROW_FORMAT = Dynamic;
@@ -0,0 +1,14 @@
+-- ----------------------------
+-- 历史记录死信表，异步写入重试后仍失败的历史记录
+-- ----------------------------
+USE `flowlong`;
+
+CREATE TABLE IF NOT EXISTS `flw_his_dead_letter`  (
+                                `id` bigint NOT NULL COMMENT '主键ID',
+                                `operation` varchar(20) NOT NULL COMMENT '写入操作 insertInstance updateInstance insertTask',
+                                `entity_id` bigint COMMENT '历史实例或历史任务ID',
+                                `payload` longtext COMMENT '历史记录JSON',
+                                `error` varchar(500) COMMENT '写入失败原因',
+                                `create_time` timestamp NOT NULL COMMENT '创建时间',
+                                PRIMARY KEY (`id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4  COMMENT = '历史记录死信表' ROW_FORMAT = Dynamic;
@@ -0,0 +1,10 @@
+-- ----------------------------
+-- 待办、已办任务游标分页索引，按租户过滤并按创建时间、主键倒序分页
+-- ----------------------------
+USE `flowlong`;
+
+ALTER TABLE `flw_task`
+    ADD INDEX `idx_task_tenant_id_create_time`(`tenant_id` ASC, `create_time` ASC, `id` ASC) USING BTREE;
+
+ALTER TABLE `flw_his_task`
+    ADD INDEX `idx_his_task_tenant_id_create_time`(`tenant_id` ASC, `create_time` ASC, `id` ASC) USING BTREE;
@@ -0,0 +1,81 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.benchmark;
+
+import com.flowlong.bpm.engine.TaskAccessStrategy;
+import com.flowlong.bpm.engine.entity.TaskActor;
+import com.flowlong.bpm.engine.impl.GeneralAccessStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务参与者访问策略基准测试
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessStrategyBenchmark {
+    /**
+     * 任务参与者数量
+     */
+    @Param({"1", "10", "100"})
+    private int actors;
+    private TaskAccessStrategy taskAccessStrategy;
+    private List<TaskActor> taskActors;
+    private String lastActorId;
+
+    @Setup
+    public void setup() {
+        taskAccessStrategy = new GeneralAccessStrategy();
+        taskActors = new ArrayList<>(actors);
+        for (int i = 0; i < actors; i++) {
+            TaskActor taskActor = new TaskActor();
+            taskActor.setActorId("actor" + i);
+            taskActor.setActorName("参与者" + i);
+            taskActor.setType(0);
+            taskActors.add(taskActor);
+        }
+        lastActorId = "actor" + (actors - 1);
+    }
+
+    /**
+     * 最后一个参与者允许执行
+     */
+    @Benchmark
+    public boolean allowedLast() {
+        return taskAccessStrategy.isAllowed(lastActorId, taskActors);
+    }
+
+    /**
+     * 非参与者遍历全部参与者后拒绝
+     */
+    @Benchmark
+    public boolean denied() {
+        return taskAccessStrategy.isAllowed("none", taskActors);
+    }
+}
@@ -0,0 +1,102 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.benchmark;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
+import com.flowlong.bpm.engine.*;
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.core.SpelExpression;
+import com.flowlong.bpm.engine.impl.GeneralAccessStrategy;
+import com.flowlong.bpm.engine.impl.SpringTransactionExecutor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.type.JdbcType;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+
+/**
+ * 基准测试 H2 内存数据库流程引擎配置
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Configuration
+@MapperScan("com.flowlong.bpm.engine.core.mapper")
+@ComponentScan(basePackages = {"com.flowlong.bpm.engine.core.service"})
+public class BenchmarkConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public DataSource dataSource() {
+        return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                .setName("flowlong;MODE=MySQL").addScript("schema-h2.sql").build();
+    }
+
+    @Bean
+    public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+        MybatisSqlSessionFactoryBean sqlSessionFactory = new MybatisSqlSessionFactoryBean();
+        sqlSessionFactory.setDataSource(dataSource);
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setJdbcTypeForNull(JdbcType.NULL);
+        configuration.setMapUnderscoreToCamelCase(true);
+        sqlSessionFactory.setConfiguration(configuration);
+        return sqlSessionFactory.getObject();
+    }
+
+    @Bean
+    public DataSourceTransactionManager transactionManager(DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    @Bean
+    public TransactionExecutor transactionExecutor(DataSourceTransactionManager transactionManager) {
+        return new SpringTransactionExecutor(transactionManager);
+    }
+
+    @Bean
+    public TaskAccessStrategy taskAccessStrategy() {
+        return new GeneralAccessStrategy();
+    }
+
+    @Bean
+    public Expression expression() {
+        return new SpelExpression();
+    }
+
+    @Bean
+    public FlowLongEngine flowLongEngine(ProcessService processService, QueryService queryService,
+                                         RuntimeService runtimeService, TaskService taskService, Expression expression,
+                                         TaskAccessStrategy taskAccessStrategy, TransactionExecutor transactionExecutor) {
+        FlowLongContext flc = new FlowLongContext();
+        flc.setProcessService(processService);
+        flc.setQueryService(queryService);
+        flc.setRuntimeService(runtimeService);
+        flc.setTaskService(taskService);
+        flc.setExpression(expression);
+        flc.setTaskAccessStrategy(taskAccessStrategy);
+        flc.setTransactionExecutor(transactionExecutor);
+        return flc.build();
+    }
+}
@@ -0,0 +1,98 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.benchmark;
+
+import com.flowlong.bpm.engine.FlowLongEngine;
+import com.flowlong.bpm.engine.core.FlowCreator;
+import com.flowlong.bpm.engine.entity.Instance;
+import com.flowlong.bpm.engine.entity.Task;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流程启动至审批完成端到端基准测试，H2 内存数据库
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineBenchmark {
+    private final FlowCreator flowCreator = FlowCreator.of(ModelGenerator.ACTOR_ID, ModelGenerator.ACTOR_NAME);
+    @Param({ModelGenerator.SHAPE_DEEP, ModelGenerator.SHAPE_WIDE})
+    private String shape;
+    /**
+     * 串行审批节点或条件分支数量
+     */
+    @Param({"3", "10"})
+    private int size;
+    /**
+     * 执行参数变量数量
+     */
+    @Param({"10", "200"})
+    private int fields;
+    private AnnotationConfigApplicationContext context;
+    private FlowLongEngine flowLongEngine;
+    private Long processId;
+    private Map<String, Object> args;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+        flowLongEngine = context.getBean(FlowLongEngine.class);
+        processId = flowLongEngine.processService().deploy(ModelGenerator.generate("benchmark-" + shape + size, shape, size),
+                flowCreator, false);
+        args = ModelGenerator.variables(fields);
+        // 条件路由命中最后一个条件分支
+        args.put(ModelGenerator.CONDITION_FIELD, size - 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 启动流程实例并依次执行活动任务直至流程结束
+     */
+    @Benchmark
+    public int startAndComplete() {
+        Instance instance = flowLongEngine.startInstanceById(processId, flowCreator, args)
+                .orElseThrow(() -> new IllegalStateException("start instance failed"));
+        int executed = 0;
+        List<Task> activeTasks;
+        while (!(activeTasks = flowLongEngine.queryService().getActiveTasksByInstanceId(instance.getId())
+                .orElse(Collections.emptyList())).isEmpty()) {
+            for (Task task : activeTasks) {
+                flowLongEngine.executeTask(task.getId(), flowCreator);
+                executed++;
+            }
+        }
+        return executed;
+    }
+}
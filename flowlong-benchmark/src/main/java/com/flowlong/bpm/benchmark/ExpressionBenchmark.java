@@ -0,0 +1,102 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.benchmark;
+
+import com.flowlong.bpm.engine.Expression;
+import com.flowlong.bpm.engine.core.SpelExpression;
+import com.flowlong.bpm.engine.model.ConditionNode;
+import com.flowlong.bpm.engine.model.NodeModel;
+import com.flowlong.bpm.engine.model.ProcessModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpEL 表达式求值及条件路由基准测试
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+    private static final String EXPR = "#day > 7 && #assignee == 'test001'";
+    /**
+     * 条件分支数量
+     */
+    @Param({"5", "50"})
+    private int branches;
+    /**
+     * 执行参数变量数量
+     */
+    @Param({"10", "200"})
+    private int fields;
+    private Expression expression;
+    private Map<String, Object> args;
+    private List<ConditionNode> conditionNodes;
+
+    @Setup
+    public void setup() {
+        expression = new SpelExpression();
+        args = ModelGenerator.variables(fields);
+        // 命中最后一个条件分支
+        args.put(ModelGenerator.CONDITION_FIELD, branches - 2);
+        ProcessModel processModel = ProcessModel.parse(ModelGenerator.generate("benchmark", ModelGenerator.SHAPE_WIDE, branches));
+        NodeModel route = processModel.getNode("条件路由");
+        conditionNodes = route.getConditionNodes();
+    }
+
+    @Benchmark
+    public Boolean spelEval() {
+        return expression.eval(Boolean.class, EXPR, args);
+    }
+
+    /**
+     * 按优先级查找第一个成立的条件分支，条件预编译
+     */
+    @Benchmark
+    public ConditionNode conditionRouting() {
+        for (ConditionNode conditionNode : conditionNodes) {
+            if (conditionNode.evaluate(expression, args)) {
+                return conditionNode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按优先级查找第一个成立的条件分支，条件全部由 SpEL 求值
+     */
+    @Benchmark
+    public ConditionNode conditionRoutingSpel() {
+        for (ConditionNode conditionNode : conditionNodes) {
+            String expr = conditionNode.getExpr();
+            if (null == expr || expression.eval(Boolean.class, expr, args)) {
+                return conditionNode;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,136 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.benchmark;
+
+import com.flowlong.bpm.engine.handler.JsonHandler;
+import com.flowlong.bpm.engine.handler.VariableCodec;
+import com.flowlong.bpm.engine.handler.impl.JacksonHandler;
+import com.flowlong.bpm.engine.handler.impl.JacksonVariableCodec;
+import com.flowlong.bpm.engine.handler.impl.VariableCodecParam;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流程变量 JSON 序列化及编解码基准测试
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    /**
+     * 变量数量
+     */
+    @Param({"10", "200", "2000"})
+    private int fields;
+    /**
+     * 变量编码格式，smile cbor 需引入 jackson-dataformat 依赖
+     */
+    @Param({JacksonVariableCodec.FORMAT_JSON})
+    private String format;
+    /**
+     * 压缩阈值字节数，0 不压缩
+     */
+    @Param({"0", "1024"})
+    private int compressThreshold;
+    private final List<String> names = Arrays.asList(ModelGenerator.CONDITION_FIELD, "assignee");
+    private JsonHandler jsonHandler;
+    private VariableCodec variableCodec;
+    private Map<String, Object> variables;
+    private String json;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        jsonHandler = new JacksonHandler();
+        VariableCodecParam param = new VariableCodecParam();
+        param.setFormat(format);
+        param.setCompressThreshold(compressThreshold);
+        variableCodec = new JacksonVariableCodec(param);
+        variables = ModelGenerator.variables(fields);
+        json = jsonHandler.toJson(variables);
+        encoded = variableCodec.encode(variables);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return jsonHandler.toJson(variables);
+    }
+
+    @Benchmark
+    public Object fromJsonClass() {
+        return jsonHandler.fromJson(json, Map.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> fromJsonMap() {
+        return jsonHandler.fromJsonMap(json);
+    }
+
+    /**
+     * 流式读取表达式需要的变量
+     */
+    @Benchmark
+    public Map<String, Object> fromJsonMapKeys() {
+        return jsonHandler.fromJsonMap(json, names);
+    }
+
+    /**
+     * 附带输出编码前后字符数，对比各格式存储大小
+     */
+    @Benchmark
+    public String codecEncode(StorageSize storageSize) {
+        return variableCodec.encode(variables);
+    }
+
+    @Benchmark
+    public Map<String, Object> codecDecode() {
+        return variableCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public Map<String, Object> codecDecodeNames() {
+        return variableCodec.decode(encoded, names);
+    }
+
+    /**
+     * 编码前 JSON 及编码后保存的字符数，作为基准测试辅助结果输出
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StorageSize {
+        public long jsonChars;
+        public long encodedChars;
+
+        @Setup(Level.Iteration)
+        public void setup(JsonBenchmark benchmark) {
+            jsonChars = benchmark.json.length();
+            encodedChars = benchmark.encoded.length();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.benchmark;
+
+import com.flowlong.bpm.engine.model.NodeModel;
+import com.flowlong.bpm.engine.model.ProcessModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流程模型解析及节点查找基准测试
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    @Param({ModelGenerator.SHAPE_DEEP, ModelGenerator.SHAPE_WIDE})
+    private String shape;
+    @Param({"10", "100", "500"})
+    private int size;
+    private String content;
+    private String lastNodeName;
+    private ProcessModel processModel;
+
+    @Setup
+    public void setup() {
+        content = ModelGenerator.generate("benchmark", shape, size);
+        lastNodeName = ModelGenerator.lastNodeName(shape, size);
+        processModel = ProcessModel.parse(content);
+    }
+
+    @Benchmark
+    public ProcessModel parse() {
+        return ProcessModel.parse(content);
+    }
+
+    /**
+     * 解析时构建的节点名称索引查找
+     */
+    @Benchmark
+    public NodeModel getNodeIndexed() {
+        return processModel.getNode(lastNodeName);
+    }
+
+    /**
+     * 递归遍历节点树查找
+     */
+    @Benchmark
+    public NodeModel getNodeTraversal() {
+        return processModel.getNodeConfig().getNode(lastNodeName);
+    }
+}
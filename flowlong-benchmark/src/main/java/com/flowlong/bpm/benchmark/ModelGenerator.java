@@ -0,0 +1,153 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.benchmark;
+
+import com.flowlong.bpm.engine.core.FlowLongContext;
+
+import java.util.*;
+
+/**
+ * 基准测试流程模型生成器，按节点数量生成串行审批及条件分支流程定义
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class ModelGenerator {
+    public static final String SHAPE_DEEP = "deep";
+    public static final String SHAPE_WIDE = "wide";
+    public static final String ACTOR_ID = "test001";
+    public static final String ACTOR_NAME = "测试001";
+    public static final String CONDITION_FIELD = "day";
+
+    /**
+     * 生成流程定义 JSON
+     *
+     * @param name  流程名称
+     * @param shape 模型形状 deep 串行审批节点 wide 条件分支
+     * @param size  审批节点或条件分支数量
+     * @return 流程定义 JSON
+     */
+    public static String generate(String name, String shape, int size) {
+        Map<String, Object> model = new LinkedHashMap<>();
+        model.put("name", name);
+        Map<String, Object> start = node("发起人", 0);
+        start.put("nodeRoleList", Collections.emptyList());
+        if (SHAPE_WIDE.equals(shape)) {
+            start.put("childNode", conditionRoute(size));
+        } else {
+            start.put("childNode", approvalChain(size));
+        }
+        model.put("nodeConfig", start);
+        return FlowLongContext.JSON_HANDLER.toJson(model);
+    }
+
+    /**
+     * 最后一个审批节点名称，查找节点的最坏情况
+     */
+    public static String lastNodeName(String shape, int size) {
+        return SHAPE_WIDE.equals(shape) ? "分支审批" + (size - 1) : "审批" + (size - 1);
+    }
+
+    /**
+     * 串行审批节点
+     */
+    private static Map<String, Object> approvalChain(int size) {
+        Map<String, Object> first = null;
+        Map<String, Object> parent = null;
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> approval = approval("审批" + i);
+            if (null == parent) {
+                first = approval;
+            } else {
+                parent.put("childNode", approval);
+            }
+            parent = approval;
+        }
+        return first;
+    }
+
+    /**
+     * 条件路由节点，前 size - 1 个分支按条件字段等值匹配，最后一个为默认分支
+     */
+    private static Map<String, Object> conditionRoute(int size) {
+        Map<String, Object> route = node("条件路由", 4);
+        List<Map<String, Object>> conditionNodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> conditionNode = node("条件" + i, 3);
+            conditionNode.put("priorityLevel", i + 1);
+            conditionNode.put("conditionMode", 1);
+            if (i < size - 1) {
+                Map<String, Object> condition = new LinkedHashMap<>();
+                condition.put("label", "条件字段");
+                condition.put("field", CONDITION_FIELD);
+                condition.put("operator", "==");
+                condition.put("value", String.valueOf(i));
+                conditionNode.put("conditionList", Collections.singletonList(condition));
+            } else {
+                conditionNode.put("conditionList", Collections.emptyList());
+            }
+            conditionNode.put("childNode", approval("分支审批" + i));
+            conditionNodes.add(conditionNode);
+        }
+        route.put("conditionNodes", conditionNodes);
+        return route;
+    }
+
+    private static Map<String, Object> approval(String nodeName) {
+        Map<String, Object> approval = node(nodeName, 1);
+        approval.put("setType", 1);
+        Map<String, Object> assignee = new LinkedHashMap<>();
+        assignee.put("id", ACTOR_ID);
+        assignee.put("name", ACTOR_NAME);
+        approval.put("nodeUserList", Collections.singletonList(assignee));
+        approval.put("nodeRoleList", Collections.emptyList());
+        approval.put("examineLevel", 1);
+        approval.put("directorLevel", 1);
+        approval.put("selectMode", 1);
+        approval.put("termAuto", false);
+        approval.put("term", 0);
+        approval.put("termMode", 1);
+        approval.put("examineMode", 1);
+        approval.put("directorMode", 0);
+        return approval;
+    }
+
+    private static Map<String, Object> node(String nodeName, int type) {
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("nodeName", nodeName);
+        node.put("type", type);
+        return node;
+    }
+
+    /**
+     * 模拟表单变量
+     *
+     * @param fields 变量数量
+     * @return 变量
+     */
+    public static Map<String, Object> variables(int fields) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put(CONDITION_FIELD, 8);
+        variables.put("assignee", ACTOR_ID);
+        for (int i = 0; i < fields; i++) {
+            variables.put("field" + i, i % 3 == 0 ? "表单字段内容" + i : i % 3 == 1 ? i : Arrays.asList("a" + i, "b" + i));
+        }
+        return variables;
+    }
+}
@@ -0,0 +1,210 @@
+-- FlowLong H2 基准测试表结构，由 db/flowlong-mysql.sql 去除 MySQL 特有语法生成，不含外键约束
+
+CREATE TABLE flw_his_instance (
+    id bigint NOT NULL,
+    tenant_id varchar(50),
+    create_id varchar(50) NOT NULL,
+    create_by varchar(50) NOT NULL,
+    create_time timestamp NOT NULL,
+    process_id bigint NOT NULL,
+    priority tinyint,
+    instance_no varchar(50),
+    business_key varchar(100),
+    variable text,
+    version int,
+    expire_time timestamp NULL,
+    last_update_by varchar(50),
+    last_update_time timestamp NULL,
+    instance_state tinyint NOT NULL DEFAULT 1,
+    end_time timestamp NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_his_instance_process_id ON flw_his_instance (process_id);
+
+CREATE TABLE flw_his_task (
+    id bigint NOT NULL,
+    tenant_id varchar(50),
+    create_id varchar(50) NOT NULL,
+    create_by varchar(50) NOT NULL,
+    create_time timestamp NOT NULL,
+    instance_id bigint NOT NULL,
+    parent_task_id bigint,
+    task_name varchar(100) NOT NULL,
+    display_name varchar(200) NOT NULL,
+    task_type tinyint NOT NULL,
+    perform_type tinyint,
+    action_url varchar(200),
+    variable text,
+    assignor_id varchar(100),
+    assignor varchar(100),
+    expire_time timestamp NULL,
+    remind_time timestamp NULL,
+    remind_repeat tinyint NOT NULL DEFAULT 0,
+    read tinyint NOT NULL DEFAULT 0,
+    finish_time timestamp NULL,
+    task_state tinyint NOT NULL DEFAULT 1,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_his_task_instance_id_task_name ON flw_his_task (instance_id, task_name);
+CREATE INDEX idx_his_task_parent_task_id ON flw_his_task (parent_task_id);
+CREATE INDEX idx_his_task_tenant_id_create_time ON flw_his_task (tenant_id, create_time, id);
+
+CREATE TABLE flw_his_task_actor (
+    id bigint NOT NULL,
+    tenant_id varchar(50),
+    instance_id bigint NOT NULL,
+    task_id bigint NOT NULL,
+    actor_id varchar(100) NOT NULL,
+    actor_name varchar(100) NOT NULL,
+    type int NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_his_task_actor_task_id ON flw_his_task_actor (task_id);
+CREATE INDEX idx_his_task_actor_actor_id ON flw_his_task_actor (actor_id, task_id);
+
+CREATE TABLE flw_instance (
+    id bigint NOT NULL,
+    tenant_id varchar(50),
+    create_id varchar(50) NOT NULL,
+    create_by varchar(50) NOT NULL,
+    create_time timestamp NOT NULL,
+    process_id bigint NOT NULL,
+    priority tinyint,
+    instance_no varchar(50),
+    business_key varchar(100),
+    variable text,
+    version int,
+    expire_time timestamp NULL,
+    last_update_by varchar(50),
+    last_update_time timestamp NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_instance_process_id ON flw_instance (process_id);
+
+CREATE TABLE flw_process (
+    id bigint NOT NULL,
+    tenant_id varchar(50),
+    create_id varchar(50) NOT NULL,
+    create_by varchar(50) NOT NULL,
+    create_time timestamp NOT NULL,
+    name varchar(100) NOT NULL,
+    display_name varchar(200),
+    icon varchar(255) DEFAULT NULL,
+    type varchar(100),
+    version int NOT NULL DEFAULT 1,
+    instance_url varchar(200),
+    state tinyint DEFAULT 1,
+    content text,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_process_name_version ON flw_process (name, version);
+
+CREATE TABLE flw_task (
+    id bigint NOT NULL,
+    tenant_id varchar(50),
+    create_id varchar(50) NOT NULL,
+    create_by varchar(50) NOT NULL,
+    create_time timestamp NOT NULL,
+    instance_id bigint NOT NULL,
+    parent_task_id bigint,
+    task_name varchar(100) NOT NULL,
+    display_name varchar(200) NOT NULL,
+    task_type tinyint NOT NULL,
+    perform_type tinyint NULL,
+    action_url varchar(200),
+    variable text,
+    assignor_id varchar(100),
+    assignor varchar(100),
+    expire_time timestamp NULL,
+    remind_time timestamp NULL,
+    remind_repeat tinyint NOT NULL DEFAULT 0,
+    read tinyint NOT NULL DEFAULT 0,
+    finish_time timestamp NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_task_instance_id_task_name ON flw_task (instance_id, task_name);
+CREATE INDEX idx_task_parent_task_id ON flw_task (parent_task_id);
+CREATE INDEX idx_task_expire_time ON flw_task (expire_time);
+CREATE INDEX idx_task_remind_time ON flw_task (remind_time);
+CREATE INDEX idx_task_tenant_id_create_time ON flw_task (tenant_id, create_time, id);
+
+CREATE TABLE flw_task_actor (
+    id bigint NOT NULL,
+    tenant_id varchar(50),
+    instance_id bigint NOT NULL,
+    task_id bigint NOT NULL,
+    actor_id varchar(100) NOT NULL,
+    actor_name varchar(100) NOT NULL,
+    type int NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_task_actor_task_id ON flw_task_actor (task_id);
+CREATE INDEX idx_task_actor_actor_id ON flw_task_actor (actor_id, task_id);
+CREATE INDEX idx_task_actor_instance_id ON flw_task_actor (instance_id);
+
+CREATE TABLE flw_task_cc (
+    id bigint NOT NULL,
+    tenant_id varchar(50),
+    create_id varchar(50) NOT NULL,
+    create_by varchar(50) NOT NULL,
+    create_time timestamp NOT NULL,
+    instance_id bigint NOT NULL,
+    parent_task_id bigint,
+    task_name varchar(100) NOT NULL,
+    display_name varchar(200) NOT NULL,
+    actor_id varchar(300) NOT NULL,
+    actor_name varchar(300) NOT NULL,
+    type int NOT NULL,
+    state tinyint NOT NULL DEFAULT 1,
+    finish_time timestamp NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_task_cc_instance_id ON flw_task_cc (instance_id);
+CREATE INDEX idx_task_cc_parent_task_id ON flw_task_cc (parent_task_id);
+CREATE INDEX idx_task_cc_actor_id ON flw_task_cc (actor_id, state);
+
+CREATE TABLE flw_job_lock (
+    lock_name varchar(50) NOT NULL,
+    owner varchar(100) NOT NULL,
+    expire_time timestamp NOT NULL,
+    PRIMARY KEY (lock_name)
+);
+
+CREATE TABLE flw_job_node (
+    node_id varchar(100) NOT NULL,
+    heartbeat_time timestamp NOT NULL,
+    PRIMARY KEY (node_id)
+);
+
+CREATE TABLE flw_event_outbox (
+    id bigint NOT NULL,
+    instance_id bigint NOT NULL,
+    entity_type varchar(20) NOT NULL,
+    entity_id bigint NOT NULL,
+    event varchar(20) NOT NULL,
+    payload text,
+    create_time timestamp NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE flw_variable (
+    id bigint NOT NULL,
+    instance_id bigint NOT NULL,
+    scope_id bigint NOT NULL DEFAULT 0,
+    name varchar(100) NOT NULL,
+    var_type varchar(20) NOT NULL,
+    var_value text,
+    update_time timestamp NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE UNIQUE INDEX uk_variable_name ON flw_variable (instance_id, scope_id, name);
+
+CREATE TABLE flw_his_dead_letter (
+    id bigint NOT NULL,
+    operation varchar(20) NOT NULL,
+    entity_id bigint,
+    payload text,
+    error varchar(500),
+    create_time timestamp NOT NULL,
+    PRIMARY KEY (id)
+);
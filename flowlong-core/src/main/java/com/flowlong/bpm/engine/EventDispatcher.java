@@ -0,0 +1,61 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine;
+
+import com.flowlong.bpm.engine.listener.FlowLongListener;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 监听事件分发器
+ * <p>
+ * 未配置时任务、实例监听器在引擎操作中同步调用，实现类可在事务提交后异步批量分发
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface EventDispatcher {
+
+    /**
+     * 分发事件，同一流程实例的事件按分发顺序通知
+     *
+     * @param instanceId 流程实例ID
+     * @param event      事件
+     * @param entity     事件对象
+     * @param listeners  监听器列表，未配置本地监听器时为 null
+     */
+    <T> void dispatch(Long instanceId, String event, T entity, List<? extends FlowLongListener<T>> listeners);
+
+    /**
+     * 批量分发同一事件，默认逐个分发，实现类可合并为一次提交后回调或一次批量写入
+     *
+     * @param event      事件
+     * @param entities   事件对象列表
+     * @param instanceId 获取事件对象所属流程实例ID
+     * @param listeners  监听器列表，未配置本地监听器时为 null
+     */
+    default <T> void dispatchBatch(String event, List<T> entities, Function<T, Long> instanceId,
+                                   List<? extends FlowLongListener<T>> listeners) {
+        for (T entity : entities) {
+            this.dispatch(instanceId.apply(entity), event, entity, listeners);
+        }
+    }
+}
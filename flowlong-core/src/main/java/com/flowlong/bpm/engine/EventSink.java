@@ -0,0 +1,42 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine;
+
+import com.flowlong.bpm.engine.entity.EventOutbox;
+
+import java.util.List;
+
+/**
+ * 发件箱事件投递接口，可实现投递到消息队列、搜索索引等外部系统
+ * <p>
+ * 投递抛出异常时事件保留在发件箱中下次重新投递，实现需保证幂等（至少一次投递）
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface EventSink {
+
+    /**
+     * 按发件箱写入顺序批量投递事件
+     *
+     * @param events 事件列表
+     */
+    void publish(List<EventOutbox> events);
+}
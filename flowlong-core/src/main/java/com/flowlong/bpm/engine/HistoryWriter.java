@@ -0,0 +1,64 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine;
+
+import com.flowlong.bpm.engine.entity.HisInstance;
+import com.flowlong.bpm.engine.entity.HisTask;
+import com.flowlong.bpm.engine.entity.HisTaskActor;
+
+import java.util.List;
+
+/**
+ * 历史记录写入器
+ * <p>
+ * 活动表数据仍同步写入，历史实例、历史任务及参与者交由该接口写入，实现类可异步批量写入
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface HistoryWriter {
+
+    /**
+     * 写入历史流程实例
+     *
+     * @param hisInstance 历史流程实例
+     */
+    void insertHisInstance(HisInstance hisInstance);
+
+    /**
+     * 更新历史流程实例状态、结束时间等信息
+     *
+     * @param hisInstance 历史流程实例
+     */
+    void updateHisInstance(HisInstance hisInstance);
+
+    /**
+     * 写入历史任务及参与者
+     *
+     * @param hisTask       历史任务
+     * @param hisTaskActors 历史任务参与者列表
+     */
+    void insertHisTask(HisTask hisTask, List<HisTaskActor> hisTaskActors);
+
+    /**
+     * 将未写入的历史记录立即写入数据库，读取历史数据前调用保证可见
+     */
+    void flush();
+}
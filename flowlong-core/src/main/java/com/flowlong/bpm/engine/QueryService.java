@@ -14,6 +14,8 @@
  */
 package com.flowlong.bpm.engine;
 
+import com.flowlong.bpm.engine.core.TaskPage;
+import com.flowlong.bpm.engine.core.TaskQuery;
 import com.flowlong.bpm.engine.entity.*;
 
 import java.util.List;
@@ -130,4 +132,20 @@ public interface QueryService {
      * @return 历史任务列表
      */
     Optional<List<HisTask>> getHisTasksByInstanceId(Long instanceId);
+
+    /**
+     * 根据参与者（用户、角色、部门）游标分页查询待办任务，按创建时间、ID倒序
+     *
+     * @param taskQuery 查询条件
+     * @return 待办任务分页
+     */
+    TaskPage<Task> getTodoTasks(TaskQuery taskQuery);
+
+    /**
+     * 根据参与者（用户、角色、部门）游标分页查询已办历史任务，按创建时间、ID倒序
+     *
+     * @param taskQuery 查询条件
+     * @return 已办任务分页
+     */
+    TaskPage<HisTask> getDoneTasks(TaskQuery taskQuery);
 }
@@ -19,6 +19,7 @@ import com.flowlong.bpm.engine.entity.Instance;
 import com.flowlong.bpm.engine.entity.Process;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 流程实例运行业务类
@@ -82,12 +83,22 @@ public interface RuntimeService {
     void terminate(Long instanceId, FlowCreator flowCreator);
 
     /**
-     * 更新流程实例
+     * 更新流程实例，不校验版本号，需基于最新实例修改时使用 {@link #updateInstance(Long, Consumer)}
      *
      * @param instance 流程实例对象
      */
     void updateInstance(Instance instance);
 
+    /**
+     * 读取最新流程实例并按版本号修改，版本冲突时在新事务中重新读取重试，超过重试次数抛出 {@link com.flowlong.bpm.engine.exception.FlowLongConflictException}；
+     * 已存在事务时不重试直接抛出，由开启事务的调用方重试整个操作
+     *
+     * @param instanceId 流程实例ID
+     * @param updater    流程实例修改逻辑，重试时可能被多次调用
+     * @return 更新后的流程实例
+     */
+    Instance updateInstance(Long instanceId, Consumer<Instance> updater);
+
     /**
      * 级联删除指定流程实例的所有数据
      *
@@ -21,8 +21,11 @@ import com.flowlong.bpm.engine.core.enums.TaskType;
 import com.flowlong.bpm.engine.entity.Task;
 import com.flowlong.bpm.engine.entity.TaskActor;
 import com.flowlong.bpm.engine.model.NodeModel;
+import com.flowlong.bpm.engine.scheduling.JobPartition;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -60,6 +63,22 @@ public interface TaskService {
      */
     void updateTaskById(Task task);
 
+    /**
+     * 批量减少任务提醒次数
+     *
+     * @param tasks 任务列表
+     */
+    void decrementRemindRepeat(List<Task> tasks);
+
+    /**
+     * 条件减少任务提醒次数，任务提醒时间与读取时一致且剩余提醒次数大于 0 时更新，并设置下次提醒时间
+     *
+     * @param task           读取到的任务对象
+     * @param nextRemindTime 下次提醒时间
+     * @return true 更新成功，当前节点负责本次提醒 false 已被其它节点提醒
+     */
+    boolean decrementRemindRepeat(Task task, Date nextRemindTime);
+
     /**
      * 设置任务为已阅状态
      *
@@ -76,6 +95,14 @@ public interface TaskService {
      */
     boolean taskTimeout(Long taskId);
 
+    /**
+     * 批量设置任务超时，分批集合迁移任务及参与者到历史表
+     *
+     * @param taskIds 任务ID集合
+     * @return 超时处理的任务数量
+     */
+    int taskTimeout(Collection<Long> taskIds);
+
     /**
      * 根据 任务ID 认领任务，删除其它任务参与者
      *
@@ -203,6 +230,23 @@ public interface TaskService {
      */
     List<Task> getTimeoutOrRemindTasks();
 
+    /**
+     * 获取指定时间之前超时或者需要提醒的任务，用于按时间窗口加载任务期限
+     *
+     * @param endTime 截止时间
+     * @return List<Task> 任务列表
+     */
+    List<Task> getTimeoutOrRemindTasks(Date endTime);
+
+    /**
+     * 获取指定时间之前超时或者需要提醒的任务，仅返回当前节点分区内的任务
+     *
+     * @param endTime   截止时间
+     * @param partition 节点分区
+     * @return List<Task> 任务列表
+     */
+    List<Task> getTimeoutOrRemindTasks(Date endTime, JobPartition partition);
+
     /**
      * 根据任务ID获取任务模型
      *
@@ -0,0 +1,136 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine;
+
+import com.flowlong.bpm.engine.exception.FlowLongConflictException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 事务执行器
+ * <p>
+ * 流程引擎在一次操作（启动实例、执行任务、终止实例、级联删除、任务超时、撤回、拿回、驳回、唤醒、
+ * 实例变量更新、部署及重新部署等）外包裹事务，多条语句一次提交；
+ * 单条语句完成的操作（提醒次数条件更新、卸载、已阅等）不额外开启事务。未配置事务时各语句自动提交
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface TransactionExecutor {
+
+    /**
+     * 不开启事务，直接执行
+     */
+    TransactionExecutor NONE = new TransactionExecutor() {
+        @Override
+        public <T> T execute(Supplier<T> action) {
+            return action.get();
+        }
+
+        /**
+         * 未配置事务时已执行的语句无法回滚，重新执行将重复写入，版本冲突直接抛出不重试
+         */
+        @Override
+        public <T> T executeWithRetry(Supplier<T> action, int retry) {
+            return action.get();
+        }
+    };
+
+    /**
+     * 在事务中执行，已存在事务时加入当前事务，异常时回滚
+     *
+     * @param action 执行逻辑
+     * @return 执行结果
+     */
+    <T> T execute(Supplier<T> action);
+
+    /**
+     * 挂起当前事务，在新事务中执行并提交，用于事务提交回调或需要独立提交的场景
+     *
+     * @param action 执行逻辑
+     * @return 执行结果
+     */
+    default <T> T executeRequiresNew(Supplier<T> action) {
+        return this.execute(action);
+    }
+
+    /**
+     * 在事务中执行无返回值逻辑
+     *
+     * @param action 执行逻辑
+     */
+    default void executeWithoutResult(Runnable action) {
+        this.execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 当前线程是否已存在事务
+     *
+     * @return true 已存在事务
+     */
+    default boolean isActive() {
+        return false;
+    }
+
+    /**
+     * 在事务中执行，版本冲突 {@link FlowLongConflictException} 时回滚并在新事务中重新执行，
+     * 重新执行读取的是最新提交数据而非原事务快照，退避等待时不持有数据库行锁。
+     * 已存在事务时加入当前事务不重试，冲突直接抛出由开启事务的调用方重试整个操作；
+     * 未配置事务（{@link #NONE}）时无法回滚，同样不重试
+     *
+     * @param action 执行逻辑，重试时会被多次调用
+     * @param retry  最大重试次数
+     * @return 执行结果
+     */
+    default <T> T executeWithRetry(Supplier<T> action, int retry) {
+        if (this.isActive()) {
+            return this.execute(action);
+        }
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return this.execute(action);
+            } catch (FlowLongConflictException e) {
+                if (attempt >= retry) {
+                    throw e;
+                }
+                // 随机退避，错开并发写入
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(5, 20) * (attempt + 1L));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 当前事务提交后执行，事务回滚时不执行；不存在事务时立即执行
+     *
+     * @param action 执行逻辑
+     */
+    default void afterCommit(Runnable action) {
+        action.run();
+    }
+}
@@ -0,0 +1,81 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 流程变量存储，变量按名称独立存储，增量写入、按需读取
+ * <p>
+ * 未配置时流程变量以 json 整体保存在流程实例、任务的 variable 字段
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface VariableStore {
+
+    /**
+     * 写入变量，仅插入或更新参数中的变量，其它变量不变
+     *
+     * @param instanceId 流程实例ID
+     * @param scopeId    作用域ID 0，流程实例 其它为任务ID
+     * @param variables  变量
+     */
+    void save(Long instanceId, Long scopeId, Map<String, Object> variables);
+
+    /**
+     * 读取流程实例指定作用域的变量
+     *
+     * @param instanceId 流程实例ID
+     * @param scopeId    作用域ID
+     * @param names      变量名列表，为 null 时读取全部变量
+     * @return 变量，不存在的变量名不包含在结果中
+     */
+    Map<String, Object> get(Long instanceId, Long scopeId, Collection<String> names);
+
+    /**
+     * 批量读取多个流程实例指定作用域的变量
+     *
+     * @param instanceIds 流程实例ID列表
+     * @param scopeId     作用域ID
+     * @param names       变量名列表，为 null 时读取全部变量
+     * @return 流程实例ID对应的变量
+     */
+    Map<Long, Map<String, Object>> batchGet(Collection<Long> instanceIds, Long scopeId, Collection<String> names);
+
+    /**
+     * 流程实例指定作用域是否存在变量
+     *
+     * @param instanceId 流程实例ID
+     * @param scopeId    作用域ID
+     * @return true 存在变量
+     */
+    default boolean exists(Long instanceId, Long scopeId) {
+        return !this.get(instanceId, scopeId, null).isEmpty();
+    }
+
+    /**
+     * 删除流程实例的全部变量
+     *
+     * @param instanceId 流程实例ID
+     */
+    void remove(Long instanceId);
+}
@@ -0,0 +1,109 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.assist;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 写时复制 Map 视图
+ * <p>
+ * 读操作直接访问共享的源 Map，首次写操作时复制一份私有副本，源 Map 不会被修改。
+ * 复制前 entrySet、keySet、values 为只读视图。非线程安全。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class CopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+    private Map<K, V> map;
+    private boolean copied;
+
+    public CopyOnWriteMap(Map<K, V> source) {
+        this.map = source;
+    }
+
+    protected Map<K, V> writable() {
+        if (!copied) {
+            map = new LinkedHashMap<>(map);
+            copied = true;
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return writable().put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return copied || map.containsKey(key) ? writable().remove(key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        if (!m.isEmpty()) {
+            writable().putAll(m);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (copied) {
+            map.clear();
+        } else {
+            map = new LinkedHashMap<>();
+            copied = true;
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return copied ? map.entrySet() : Collections.unmodifiableMap(map).entrySet();
+    }
+}
@@ -0,0 +1,114 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.assist;
+
+import com.flowlong.bpm.engine.core.FlowLongContext;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 延迟解析的变量，实体变量字段与 Map 之间的转换缓存，编解码由 {@link FlowLongContext#VARIABLE_CODEC} 处理
+ * <p>
+ * json 首次读取 Map 时解析一次，之后返回共享解析结果的写时复制视图；
+ * 设置 Map 后仅标记为脏数据，持久化读取 json 时才序列化一次。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class LazyVariable {
+    /**
+     * 变量 json ，脏数据时为过期值
+     */
+    private String json;
+    /**
+     * 解析后的变量，不可修改，未解析时为 null
+     */
+    private Map<String, Object> map;
+    /**
+     * Map 已修改待序列化
+     */
+    private boolean dirty;
+
+    public String getJson() {
+        if (dirty) {
+            json = FlowLongContext.VARIABLE_CODEC.encode(map);
+            dirty = false;
+        }
+        return json;
+    }
+
+    public void setJson(String json) {
+        this.json = json;
+        this.map = null;
+        this.dirty = false;
+    }
+
+    /**
+     * 变量 Map 写时复制视图，修改视图不影响当前对象，需调用 {@link #setMap(Map)} 写回
+     */
+    public Map<String, Object> getMap() {
+        if (null == map) {
+            Map<String, Object> decoded = null == json ? null : FlowLongContext.VARIABLE_CODEC.decode(json);
+            map = null == decoded ? Collections.emptyMap() : decoded;
+        }
+        return new CopyOnWriteMap<>(map);
+    }
+
+    /**
+     * 读取指定变量，未解析时只解码指定变量，不缓存解析结果
+     *
+     * @param names 变量名
+     * @return 变量
+     */
+    public Map<String, Object> getMap(Collection<String> names) {
+        Map<String, Object> result;
+        if (null != map) {
+            result = new LinkedHashMap<>();
+            for (String name : names) {
+                if (map.containsKey(name)) {
+                    result.put(name, map.get(name));
+                }
+            }
+        } else {
+            result = null == json ? null : FlowLongContext.VARIABLE_CODEC.decode(json, names);
+        }
+        return null == result ? new LinkedHashMap<>() : result;
+    }
+
+    public void setMap(Map<String, Object> args) {
+        // 复制快照，避免调用方后续修改参数影响待序列化数据
+        this.map = null == args ? null : new LinkedHashMap<>(args);
+        this.json = null;
+        this.dirty = null != args;
+    }
+
+    /**
+     * 复制当前状态，json 只序列化一次，已解析的变量在副本间共享
+     */
+    public LazyVariable copy() {
+        LazyVariable lazyVariable = new LazyVariable();
+        lazyVariable.json = this.getJson();
+        lazyVariable.map = map;
+        return lazyVariable;
+    }
+}
@@ -0,0 +1,64 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.assist;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段锁，按键值哈希映射到固定数量的可重入锁
+ * <p>
+ * 相同键值串行执行，不同键值绝大多数情况下落在不同分段并行执行，锁对象数量固定不随键值增长
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class StripedLock {
+    private final Lock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes 分段数量，向上取整为 2 的幂
+     */
+    public StripedLock(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 获取键值对应的分段锁
+     *
+     * @param key 键值
+     * @return {@link Lock}
+     */
+    public Lock get(Object key) {
+        int h = key.hashCode();
+        // 扰动高位，避免雪花ID低位规律导致分段不均
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+}
@@ -0,0 +1,46 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 本地缓存参数
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+public class CacheParam {
+    /**
+     * 流程模型最大缓存数量，小于等于 0 不缓存
+     */
+    private int modelSize = 512;
+    /**
+     * 流程定义最大缓存数量
+     */
+    private int processSize = 1024;
+    /**
+     * 流程定义缓存有效期，单位秒，多节点部署时其它节点的部署在有效期后可见
+     */
+    private long processExpire = 60;
+
+}
@@ -0,0 +1,199 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.cache;
+
+import com.flowlong.bpm.engine.entity.Process;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 流程定义本地缓存
+ * <p>
+ * 主键索引缓存流程定义，并维护 名称+版本 与 名称 -> 最新版本 的二级索引。
+ * 缓存条目超过有效期后失效重新加载，多节点部署时其它节点部署、重新部署的流程定义在有效期后可见。
+ * 缓存内部保存副本，读取返回副本，使用方修改返回对象不影响缓存。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class ProcessCache {
+    /**
+     * 默认缓存有效期（毫秒）
+     */
+    public static final long DEFAULT_EXPIRE_MILLIS = 60_000L;
+    /**
+     * 最大缓存数量，超出后不再缓存新的流程定义
+     */
+    private final int maximumSize;
+    /**
+     * 缓存有效期（毫秒）
+     */
+    private final long expireMillis;
+    private final Map<Long, CacheEntry> processMap = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry> versionIndex = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry> latestIndex = new ConcurrentHashMap<>();
+
+    public ProcessCache(int maximumSize) {
+        this(maximumSize, DEFAULT_EXPIRE_MILLIS);
+    }
+
+    public ProcessCache(int maximumSize, long expireMillis) {
+        this.maximumSize = maximumSize;
+        this.expireMillis = expireMillis;
+    }
+
+    /**
+     * 根据主键ID获取流程定义
+     *
+     * @param id 流程定义ID
+     * @return {@link Process}
+     */
+    public Process get(Long id) {
+        return null == id ? null : this.getIfPresent(processMap, id);
+    }
+
+    /**
+     * 根据流程名称、版本号获取流程定义，版本号为空获取最新版本
+     *
+     * @param name    流程定义名称
+     * @param version 版本号
+     * @return {@link Process}
+     */
+    public Process get(String name, Integer version) {
+        if (null == name) {
+            return null;
+        }
+        return null == version ? this.getIfPresent(latestIndex, name)
+                : this.getIfPresent(versionIndex, versionKey(name, version));
+    }
+
+    /**
+     * 缓存流程定义，已缓存的最新版本同步刷新
+     *
+     * @param process 流程定义
+     */
+    public void put(Process process) {
+        if (null == process || null == process.getId()) {
+            return;
+        }
+        if (processMap.size() >= maximumSize && !processMap.containsKey(process.getId())) {
+            this.purgeExpired();
+            if (processMap.size() >= maximumSize) {
+                return;
+            }
+        }
+        CacheEntry cacheEntry = new CacheEntry(process.copy(), currentTimeMillis() + expireMillis);
+        processMap.put(process.getId(), cacheEntry);
+        if (null != process.getName()) {
+            versionIndex.put(versionKey(process.getName(), process.getVersion()), cacheEntry);
+            latestIndex.computeIfPresent(process.getName(), (k, v) -> isNewer(cacheEntry.process, v.process) ? cacheEntry : v);
+        }
+    }
+
+    /**
+     * 缓存流程定义并设置为该名称的最新版本
+     *
+     * @param process 流程定义
+     */
+    public void putLatest(Process process) {
+        this.put(process);
+        if (null != process && null != process.getName()) {
+            CacheEntry cacheEntry = processMap.get(process.getId());
+            if (null != cacheEntry) {
+                latestIndex.merge(process.getName(), cacheEntry, (v1, v2) -> isExpired(v1)
+                        || isNewer(v2.process, v1.process) ? v2 : v1);
+            }
+        }
+    }
+
+    /**
+     * 移除指定流程定义缓存
+     *
+     * @param id 流程定义ID
+     */
+    public void remove(Long id) {
+        CacheEntry cacheEntry = null == id ? null : processMap.remove(id);
+        if (null != cacheEntry && null != cacheEntry.process.getName()) {
+            Process process = cacheEntry.process;
+            versionIndex.remove(versionKey(process.getName(), process.getVersion()));
+            latestIndex.computeIfPresent(process.getName(), (k, v) -> id.equals(v.process.getId()) ? null : v);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        processMap.clear();
+        versionIndex.clear();
+        latestIndex.clear();
+    }
+
+    /**
+     * 当前时间毫秒数
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private <K> Process getIfPresent(Map<K, CacheEntry> cacheMap, K key) {
+        CacheEntry cacheEntry = cacheMap.get(key);
+        if (null == cacheEntry) {
+            return null;
+        }
+        if (isExpired(cacheEntry)) {
+            cacheMap.remove(key, cacheEntry);
+            return null;
+        }
+        return cacheEntry.process.copy();
+    }
+
+    private void purgeExpired() {
+        processMap.values().removeIf(this::isExpired);
+        versionIndex.values().removeIf(this::isExpired);
+        latestIndex.values().removeIf(this::isExpired);
+    }
+
+    private boolean isExpired(CacheEntry cacheEntry) {
+        return cacheEntry.expireTime <= currentTimeMillis();
+    }
+
+    private static boolean isNewer(Process process, Process current) {
+        if (process.getId().equals(current.getId())) {
+            return true;
+        }
+        return null != process.getVersion() && (null == current.getVersion() || process.getVersion() > current.getVersion());
+    }
+
+    private static String versionKey(String name, Integer version) {
+        return name + "#" + version;
+    }
+
+    private static class CacheEntry {
+        private final Process process;
+        private final long expireTime;
+
+        CacheEntry(Process process, long expireTime) {
+            this.process = process;
+            this.expireTime = expireTime;
+        }
+    }
+}
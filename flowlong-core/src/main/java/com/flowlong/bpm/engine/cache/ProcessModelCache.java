@@ -0,0 +1,149 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.cache;
+
+import com.flowlong.bpm.engine.model.ProcessModel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 流程模型本地缓存
+ * <p>
+ * 以流程定义ID为键缓存解析后的 {@link ProcessModel}，并以解析时记录的模型 JSON 长度及哈希值校验缓存有效性，
+ * 重新部署（版本号不变）或并发读取旧流程定义回填缓存时，内容不一致均会重新解析，超出容量时淘汰最久未访问的模型。
+ * 字符串哈希值缓存在字符串对象内，同一流程定义对象重复读取模型时校验不随模型大小增长。
+ * 缓存的模型为多线程共享对象，使用方只读不可修改。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class ProcessModelCache {
+    /**
+     * 最大缓存数量，小于等于 0 不缓存
+     */
+    private final int maximumSize;
+    private final Map<Long, CacheEntry> cacheMap = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public ProcessModelCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * 获取流程模型，缓存不存在或模型内容不一致时通过 loader 解析并缓存
+     *
+     * @param processId 流程定义ID
+     * @param content   流程模型定义 JSON
+     * @param loader    流程模型解析器
+     * @return {@link ProcessModel}
+     */
+    public ProcessModel get(Long processId, String content, Supplier<ProcessModel> loader) {
+        if (null == processId || maximumSize <= 0) {
+            missCount.increment();
+            return loader.get();
+        }
+        CacheEntry cacheEntry = cacheMap.get(processId);
+        if (null == cacheEntry || !cacheEntry.matches(content)) {
+            cacheEntry = cacheMap.compute(processId, (k, v) -> {
+                if (null != v && v.matches(content)) {
+                    // 其它线程已完成解析
+                    return v;
+                }
+                missCount.increment();
+                return new CacheEntry(content, loader.get());
+            });
+            this.evictIfNecessary();
+        } else {
+            hitCount.increment();
+        }
+        cacheEntry.accessTime = System.nanoTime();
+        return cacheEntry.processModel;
+    }
+
+    /**
+     * 移除指定流程定义的缓存模型
+     *
+     * @param processId 流程定义ID
+     */
+    public void remove(Long processId) {
+        if (null != processId) {
+            cacheMap.remove(processId);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cacheMap.clear();
+    }
+
+    /**
+     * 缓存统计信息
+     *
+     * @return {@link CacheStats}
+     */
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), cacheMap.size());
+    }
+
+    /**
+     * 超出容量淘汰最久未访问的模型
+     */
+    protected void evictIfNecessary() {
+        while (cacheMap.size() > maximumSize) {
+            Map.Entry<Long, CacheEntry> eldest = null;
+            for (Map.Entry<Long, CacheEntry> entry : cacheMap.entrySet()) {
+                if (null == eldest || entry.getValue().accessTime < eldest.getValue().accessTime) {
+                    eldest = entry;
+                }
+            }
+            if (null == eldest) {
+                return;
+            }
+            if (cacheMap.remove(eldest.getKey(), eldest.getValue())) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private static class CacheEntry {
+        private final int contentLength;
+        private final int contentHash;
+        private final ProcessModel processModel;
+        private volatile long accessTime;
+
+        CacheEntry(String content, ProcessModel processModel) {
+            this.contentLength = null == content ? -1 : content.length();
+            this.contentHash = null == content ? 0 : content.hashCode();
+            this.processModel = processModel;
+            this.accessTime = System.nanoTime();
+        }
+
+        boolean matches(String content) {
+            return null == content ? contentLength < 0 : contentLength == content.length() && contentHash == content.hashCode();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 异步流程引擎参数
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+public class AsyncEngineParam {
+    /**
+     * 是否开启异步流程引擎
+     */
+    private boolean enabled = false;
+    /**
+     * JDK 21 及以上是否使用虚拟线程
+     */
+    private boolean virtualThreads = true;
+    /**
+     * 非虚拟线程时的线程池大小
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+    /**
+     * 非虚拟线程时的等待队列容量，队列已满时返回异常完成的 CompletableFuture
+     */
+    private int queueCapacity = 10000;
+
+}
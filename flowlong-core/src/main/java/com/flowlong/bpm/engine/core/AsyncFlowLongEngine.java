@@ -0,0 +1,174 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core;
+
+import com.flowlong.bpm.engine.FlowLongEngine;
+import com.flowlong.bpm.engine.assist.ThreadUtils;
+import com.flowlong.bpm.engine.entity.Instance;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 非阻塞流程引擎门面，流程引擎操作在执行器中执行并返回 {@link CompletableFuture}
+ * <p>
+ * 同一流程实例的任务操作按提交顺序串行执行，前一个操作完成后才提交下一个，
+ * 不会有多个线程阻塞在同一流程实例的锁上；不同流程实例并行执行。
+ * 任务操作由调用方传入任务所属流程实例ID，不额外查询任务。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class AsyncFlowLongEngine implements AutoCloseable {
+    private final FlowLongEngine flowLongEngine;
+    private final Executor executor;
+    /**
+     * 执行器由当前对象创建时关闭时一并关闭
+     */
+    private final boolean ownExecutor;
+    /**
+     * 各流程实例最后提交的操作，新操作在其完成后执行
+     */
+    private final ConcurrentMap<Long, CompletableFuture<?>> instanceTails = new ConcurrentHashMap<>();
+
+    public AsyncFlowLongEngine(FlowLongEngine flowLongEngine, Executor executor) {
+        this.flowLongEngine = flowLongEngine;
+        this.executor = executor;
+        this.ownExecutor = false;
+    }
+
+    public AsyncFlowLongEngine(FlowLongEngine flowLongEngine, AsyncEngineParam asyncEngineParam) {
+        this.flowLongEngine = flowLongEngine;
+        ExecutorService executorService = asyncEngineParam.isVirtualThreads() ? ThreadUtils.newVirtualThreadExecutor() : null;
+        if (null == executorService) {
+            int poolSize = Math.max(1, asyncEngineParam.getPoolSize());
+            executorService = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(asyncEngineParam.getQueueCapacity()),
+                    ThreadUtils.daemonThreadFactory("flowlong-async-engine-"));
+        }
+        this.executor = executorService;
+        this.ownExecutor = true;
+    }
+
+    public FlowLongEngine getFlowLongEngine() {
+        return flowLongEngine;
+    }
+
+    /**
+     * 根据流程定义ID，创建人ID，参数列表启动流程实例
+     */
+    public CompletableFuture<Optional<Instance>> startInstanceById(Long id, FlowCreator flowCreator, Map<String, Object> args) {
+        return this.supplyAsync(() -> flowLongEngine.startInstanceById(id, flowCreator, args));
+    }
+
+    public CompletableFuture<Optional<Instance>> startInstanceById(Long id, FlowCreator flowCreator) {
+        return this.startInstanceById(id, flowCreator, null);
+    }
+
+    /**
+     * 根据流程名称、版本号、创建人、参数列表启动流程实例
+     */
+    public CompletableFuture<Optional<Instance>> startInstanceByName(String name, Integer version, FlowCreator flowCreator,
+                                                                     Map<String, Object> args) {
+        return this.supplyAsync(() -> flowLongEngine.startInstanceByName(name, version, flowCreator, args));
+    }
+
+    public CompletableFuture<Optional<Instance>> startInstanceByName(String name, Integer version, FlowCreator flowCreator) {
+        return this.startInstanceByName(name, version, flowCreator, null);
+    }
+
+    /**
+     * 根据任务ID，创建人ID，参数列表执行任务
+     *
+     * @param instanceId 任务所属流程实例ID，用于同一流程实例的操作串行执行
+     * @param taskId     任务ID
+     */
+    public CompletableFuture<Void> executeTask(Long instanceId, Long taskId, FlowCreator flowCreator, Map<String, Object> args) {
+        return this.serialize(instanceId, () -> {
+            flowLongEngine.executeTask(taskId, flowCreator, args);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> executeTask(Long instanceId, Long taskId, FlowCreator flowCreator) {
+        return this.executeTask(instanceId, taskId, flowCreator, null);
+    }
+
+    /**
+     * 根据任务ID，创建人ID，参数列表执行任务，并且根据nodeName跳转到任意节点
+     *
+     * @param instanceId 任务所属流程实例ID，用于同一流程实例的操作串行执行
+     * @param taskId     任务ID
+     */
+    public CompletableFuture<Void> executeAndJumpTask(Long instanceId, Long taskId, String nodeName, FlowCreator flowCreator,
+                                                      Map<String, Object> args) {
+        return this.serialize(instanceId, () -> {
+            flowLongEngine.executeAndJumpTask(taskId, nodeName, flowCreator, args);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> executeAndJumpTask(Long instanceId, Long taskId, String nodeName, FlowCreator flowCreator) {
+        return this.executeAndJumpTask(instanceId, taskId, nodeName, flowCreator, null);
+    }
+
+    /**
+     * 同一流程实例的操作串行执行
+     */
+    protected <T> CompletableFuture<T> serialize(Long instanceId, Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<?> previous = instanceTails.put(instanceId, result);
+        Runnable run = () -> this.supplyAsync(action).whenComplete((r, e) -> {
+            // 当前操作为最后提交的操作时移除，避免队列无限增长
+            instanceTails.remove(instanceId, result);
+            if (null != e) {
+                result.completeExceptionally(e instanceof CompletionException && null != e.getCause() ? e.getCause() : e);
+            } else {
+                result.complete(r);
+            }
+        });
+        if (null == previous) {
+            run.run();
+        } else {
+            previous.whenComplete((r, e) -> run.run());
+        }
+        return result;
+    }
+
+    protected <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            // 执行器已满，快速失败而不是阻塞调用线程
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ownExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+}
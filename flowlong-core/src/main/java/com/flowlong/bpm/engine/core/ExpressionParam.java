@@ -0,0 +1,43 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+/**
+ * Spring el表达式解析器参数
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+public class ExpressionParam {
+    /**
+     * 是否使用受限轻量上下文，开启后不支持类型引用 T(...)、构造函数、Bean 引用等语法
+     */
+    private boolean simpleContext = false;
+    /**
+     * 表达式编译模式
+     */
+    private SpelCompilerMode compilerMode = SpelCompilerMode.OFF;
+
+}
@@ -15,9 +15,12 @@
 package com.flowlong.bpm.engine.core;
 
 import com.flowlong.bpm.engine.*;
+import com.flowlong.bpm.engine.cache.ProcessModelCache;
 import com.flowlong.bpm.engine.exception.FlowLongException;
 import com.flowlong.bpm.engine.handler.JsonHandler;
+import com.flowlong.bpm.engine.handler.VariableCodec;
 import com.flowlong.bpm.engine.handler.impl.JacksonHandler;
+import com.flowlong.bpm.engine.handler.impl.JacksonVariableCodec;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -46,12 +49,37 @@ public class FlowLongContext {
 
     private List<FlowLongInterceptor> interceptors;
     private TaskAccessStrategy taskAccessStrategy;
+    /**
+     * 事务执行器，引擎操作在一个事务内提交
+     */
+    private TransactionExecutor transactionExecutor;
+    /**
+     * 流程变量存储，未设置时流程变量以 json 保存在 variable 字段
+     */
+    private VariableStore variableStore;
 
     /**
      * JSON 处理器，默认 jackson 实现
      * 使用其它json框架可以初始化的赋值该静态属性
      */
     public static JsonHandler JSON_HANDLER = new JacksonHandler();
+    /**
+     * 流程变量编解码器，默认 JSON 不压缩，可切换为 Smile 、CBOR 二进制格式及压缩
+     */
+    public static VariableCodec VARIABLE_CODEC = new JacksonVariableCodec();
+    /**
+     * 流程模型缓存，默认最多缓存 512 个流程模型
+     */
+    public static ProcessModelCache PROCESS_MODEL_CACHE = new ProcessModelCache(512);
+    /**
+     * 任务完成历史迁移方式，true 使用 INSERT ... SELECT 集合迁移，固定语句数完成任务及参与者迁移
+     * 数据库不支持时保持 false 逐条迁移
+     */
+    public static boolean SET_BASED_MIGRATION = false;
+    /**
+     * 流程实例乐观更新冲突时的最大重试次数
+     */
+    public static int INSTANCE_UPDATE_RETRY = 3;
     public static long REMIND_SCHEDULED_FIXED_DELAY = 5000;
 
     /**
@@ -15,9 +15,12 @@
 package com.flowlong.bpm.engine.core;
 
 import com.flowlong.bpm.engine.FlowLongEngine;
+import com.flowlong.bpm.engine.TransactionExecutor;
+import com.flowlong.bpm.engine.VariableStore;
 import com.flowlong.bpm.engine.assist.Assert;
 import com.flowlong.bpm.engine.assist.DateUtils;
 import com.flowlong.bpm.engine.assist.ObjectUtils;
+import com.flowlong.bpm.engine.assist.StripedLock;
 import com.flowlong.bpm.engine.core.enums.PerformType;
 import com.flowlong.bpm.engine.entity.Instance;
 import com.flowlong.bpm.engine.entity.Process;
@@ -30,6 +33,7 @@ import com.flowlong.bpm.engine.model.ProcessModel;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 
 /**
@@ -48,6 +52,10 @@ public class FlowLongEngineImpl implements FlowLongEngine {
      * 配置对象
      */
     protected FlowLongContext flowLongContext;
+    /**
+     * 流程实例分段锁，同一流程实例的任务串行执行，不同流程实例并行执行
+     */
+    protected StripedLock instanceLock = new StripedLock(256);
 
     @Override
     public FlowLongEngine configure(FlowLongContext flowLongContext) {
@@ -85,10 +93,20 @@ public class FlowLongEngineImpl implements FlowLongEngine {
      * 启动流程实例
      */
     protected Optional<Instance> startProcess(Process process, FlowCreator flowCreator, Map<String, Object> args) {
-        Execution execution = this.execute(process, flowCreator, args);
-        // 执行启动模型
-        process.executeStartModel(flowLongContext, execution);
-        return Optional.ofNullable(execution.getInstance());
+        return this.transaction().execute(() -> {
+            Execution execution = this.execute(process, flowCreator, args);
+            // 执行启动模型
+            process.executeStartModel(flowLongContext, execution);
+            return Optional.ofNullable(execution.getInstance());
+        });
+    }
+
+    /**
+     * 事务执行器，未配置时不开启事务
+     */
+    protected TransactionExecutor transaction() {
+        TransactionExecutor transactionExecutor = flowLongContext.getTransactionExecutor();
+        return null == transactionExecutor ? TransactionExecutor.NONE : transactionExecutor;
     }
 
 
@@ -143,20 +161,41 @@ public class FlowLongEngineImpl implements FlowLongEngine {
 
     /**
      * 根据任务ID，创建人ID，参数列表完成任务，并且构造执行对象
+     * <p>
+     * 同一流程实例加锁串行执行，避免会签参与者同时完成时重复或遗漏推进流程；
+     * 事务在锁内提交，下一个获得锁的线程可读取到已提交的任务状态。
+     * 其它节点并发修改流程实例导致版本冲突时回滚，在新事务中重新执行
+     * </p>
      */
     protected void execute(Long taskId, FlowCreator flowCreator, Map<String, Object> args, Consumer<Execution> executeNextStep) {
+        Task currentTask = queryService().getTask(taskId);
+        Assert.notNull(currentTask, "指定的任务[id=" + taskId + "]不存在");
+        Lock lock = instanceLock.get(currentTask.getInstanceId());
+        lock.lock();
+        try {
+            this.transaction().executeWithRetry(() -> {
+                this.doExecute(currentTask, flowCreator, args, executeNextStep);
+                return null;
+            }, FlowLongContext.INSTANCE_UPDATE_RETRY);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected void doExecute(Task currentTask, FlowCreator flowCreator, Map<String, Object> args, Consumer<Execution> executeNextStep) {
         if (args == null) {
             args = new HashMap<>();
         }
+        final Long taskId = currentTask.getId();
         Task task = taskService().complete(taskId, flowCreator, args);
         if (log.isDebugEnabled()) {
             log.debug("任务[taskId=" + taskId + "]已完成");
         }
-        Instance instance = queryService().getInstance(task.getInstanceId());
-        Assert.notNull(instance, "指定的流程实例[id=" + task.getInstanceId() + "]已完成或不存在");
-        instance.setLastUpdateBy(flowCreator.getCreateId());
-        instance.setLastUpdateTime(DateUtils.getCurrentDate());
-        runtimeService().updateInstance(instance);
+        // 按版本号乐观更新流程实例，其它节点并发修改时抛出版本冲突，由外层在新事务中重试
+        Instance instance = runtimeService().updateInstance(task.getInstanceId(), t -> {
+            t.setLastUpdateBy(flowCreator.getCreateId());
+            t.setLastUpdateTime(DateUtils.getCurrentDate());
+        });
 
         PerformType performType = PerformType.get(task.getPerformType());
         if (performType == PerformType.countersign) {
@@ -171,9 +210,13 @@ public class FlowLongEngineImpl implements FlowLongEngine {
 
         // 流程模型
         Process process = processService().getProcessById(instance.getProcessId());
-        Map<String, Object> instanceMaps = instance.getVariableMap();
-        if (instanceMaps != null) {
-            for (Map.Entry<String, Object> entry : instanceMaps.entrySet()) {
+        VariableStore variableStore = flowLongContext.getVariableStore();
+        if (null != variableStore) {
+            // 按需加载表达式及执行需要的变量
+            args = new StoreVariableMap(args, instance.getId(), variableStore, instance.getVariableMap());
+        } else {
+            // 实例变量为写时复制视图，遍历不复制
+            for (Map.Entry<String, Object> entry : instance.getVariableMap().entrySet()) {
                 if (args.containsKey(entry.getKey())) {
                     continue;
                 }
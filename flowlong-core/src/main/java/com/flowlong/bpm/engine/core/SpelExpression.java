@@ -17,14 +17,30 @@ package com.flowlong.bpm.engine.core;
 import com.flowlong.bpm.engine.Expression;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.FunctionReference;
+import org.springframework.expression.spel.ast.VariableReference;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Spring el表达式解析器
+ * <p>
+ * 解析后的表达式按表达式串缓存，可通过 {@link SpelCompilerMode} 开启字节码编译。
+ * 上下文只设置表达式引用的变量，参数为 {@link StoreVariableMap} 时仅加载引用的变量，
+ * 求值上下文按线程复用，求值结束清除设置的变量
+ * </p>
  *
  * <p>
  * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
@@ -34,19 +50,144 @@ import java.util.Map.Entry;
  * @since 1.0
  */
 public class SpelExpression implements Expression {
+    /**
+     * 最大缓存表达式数量，超出后解析结果不再缓存
+     */
+    private static final int MAX_CACHE_SIZE = 1024;
     private final ExpressionParser parser;
+    private final Map<String, org.springframework.expression.Expression> expressionCache = new ConcurrentHashMap<>();
+    /**
+     * 表达式引用的变量名，无法解析时为 null 设置全部参数
+     */
+    private final Map<String, Set<String>> variableCache = new ConcurrentHashMap<>();
+    /**
+     * 是否使用 {@link SimpleEvaluationContext} 受限上下文，关闭时支持类型引用、构造函数、Bean 引用等完整语法
+     */
+    private final boolean simpleContext;
+    /**
+     * 当前线程空闲的求值上下文，嵌套求值时创建新的上下文
+     */
+    private final ThreadLocal<EvaluationContext> contextHolder = new ThreadLocal<>();
 
     public SpelExpression() {
-        parser = new SpelExpressionParser();
+        this(SpelCompilerMode.OFF, false);
+    }
+
+    public SpelExpression(ExpressionParam expressionParam) {
+        this(expressionParam.getCompilerMode(), expressionParam.isSimpleContext());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param compilerMode  表达式编译模式 {@link SpelCompilerMode}
+     * @param simpleContext 是否使用受限轻量上下文
+     */
+    public SpelExpression(SpelCompilerMode compilerMode, boolean simpleContext) {
+        this.parser = new SpelExpressionParser(new SpelParserConfiguration(compilerMode, getClass().getClassLoader()));
+        this.simpleContext = simpleContext;
     }
 
     @Override
     public <T> T eval(Class<T> T, String expr, Map<String, Object> args) {
-        EvaluationContext context = new StandardEvaluationContext();
-        for (Entry<String, Object> entry : args.entrySet()) {
-            context.setVariable(entry.getKey(), entry.getValue());
+        EvaluationContext context = contextHolder.get();
+        if (null == context) {
+            context = this.createContext();
+        } else {
+            contextHolder.remove();
+        }
+        org.springframework.expression.Expression expression = this.getExpression(expr);
+        Set<String> variables = this.getVariables(expr, expression);
+        Collection<String> contextVariables = null == variables ? new ArrayList<>(args.keySet()) : variables;
+        try {
+            if (null == variables) {
+                for (Entry<String, Object> entry : args.entrySet()) {
+                    context.setVariable(entry.getKey(), entry.getValue());
+                }
+            } else {
+                if (args instanceof StoreVariableMap) {
+                    ((StoreVariableMap) args).prefetch(variables);
+                }
+                for (String variable : variables) {
+                    if (args.containsKey(variable)) {
+                        context.setVariable(variable, args.get(variable));
+                    }
+                }
+            }
+            return expression.getValue(context, T);
+        } finally {
+            for (String variable : contextVariables) {
+                context.setVariable(variable, null);
+            }
+            contextHolder.set(context);
+        }
+    }
+
+    /**
+     * 创建求值上下文
+     *
+     * @return {@link EvaluationContext}
+     */
+    protected EvaluationContext createContext() {
+        return simpleContext ? SimpleEvaluationContext.forReadOnlyDataBinding().withInstanceMethods().build()
+                : new StandardEvaluationContext();
+    }
+
+    /**
+     * 获取解析后的表达式，优先从缓存中获取
+     *
+     * @param expr 表达式串
+     * @return {@link org.springframework.expression.Expression}
+     */
+    protected org.springframework.expression.Expression getExpression(String expr) {
+        org.springframework.expression.Expression expression = expressionCache.get(expr);
+        if (null == expression) {
+            if (expressionCache.size() >= MAX_CACHE_SIZE) {
+                return parser.parseExpression(expr);
+            }
+            expression = expressionCache.computeIfAbsent(expr, parser::parseExpression);
+        }
+        return expression;
+    }
+
+    /**
+     * 获取表达式引用的变量名
+     *
+     * @param expr       表达式串
+     * @param expression 解析后的表达式
+     * @return 变量名集合，非标准 SpEL 表达式返回 null
+     */
+    protected Set<String> getVariables(String expr, org.springframework.expression.Expression expression) {
+        if (!(expression instanceof org.springframework.expression.spel.standard.SpelExpression)) {
+            return null;
+        }
+        Set<String> variables = variableCache.get(expr);
+        if (null == variables) {
+            variables = new LinkedHashSet<>();
+            collectVariables(((org.springframework.expression.spel.standard.SpelExpression) expression).getAST(), variables);
+            if (variableCache.size() < MAX_CACHE_SIZE) {
+                variableCache.put(expr, variables);
+            }
+        }
+        return variables;
+    }
+
+    private static void collectVariables(SpelNode node, Set<String> variables) {
+        String name = null;
+        if (node instanceof VariableReference) {
+            // #name
+            name = node.toStringAST().substring(1);
+        } else if (node instanceof FunctionReference) {
+            // #name(args)
+            String ast = node.toStringAST();
+            name = ast.substring(1, ast.indexOf('('));
+        }
+        if (null != name && !"root".equals(name) && !"this".equals(name)) {
+            variables.add(name);
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            collectVariables(node.getChild(i), variables);
         }
-        return parser.parseExpression(expr).getValue(context, T);
     }
 
 }
@@ -0,0 +1,173 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core;
+
+import com.flowlong.bpm.engine.VariableStore;
+import com.flowlong.bpm.engine.entity.Variable;
+
+import java.util.*;
+
+/**
+ * 按需加载流程实例变量的执行参数
+ * <p>
+ * 读取顺序为执行参数、变量存储、流程实例 variable 字段。变量存储中的变量在首次读取时按名称加载并缓存，
+ * {@link #prefetch(Collection)} 可一次加载表达式需要的多个变量，遍历时才加载全部变量。
+ * 写操作只修改执行参数，不写入变量存储，返回执行参数中的原值不加载变量；删除后不再读取变量存储及流程实例中的同名变量。非线程安全。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class StoreVariableMap extends AbstractMap<String, Object> {
+    /**
+     * 变量存储中不存在的变量占位
+     */
+    private static final Object MISSING = new Object();
+    private final Map<String, Object> args;
+    private final Long instanceId;
+    private final VariableStore variableStore;
+    private final Map<String, Object> instanceVariables;
+    private final Map<String, Object> loaded = new HashMap<>();
+    /**
+     * 已删除的变量名
+     */
+    private final Set<String> removed = new HashSet<>();
+    private boolean loadedAll;
+
+    /**
+     * @param args              执行参数
+     * @param instanceId        流程实例ID
+     * @param variableStore     变量存储
+     * @param instanceVariables 流程实例 variable 字段变量
+     */
+    public StoreVariableMap(Map<String, Object> args, Long instanceId, VariableStore variableStore,
+                            Map<String, Object> instanceVariables) {
+        this.args = args;
+        this.instanceId = instanceId;
+        this.variableStore = variableStore;
+        this.instanceVariables = instanceVariables;
+    }
+
+    /**
+     * 一次加载多个未加载的变量
+     *
+     * @param names 变量名列表
+     */
+    public void prefetch(Collection<String> names) {
+        if (loadedAll) {
+            return;
+        }
+        List<String> unloaded = new ArrayList<>();
+        for (String name : names) {
+            if (!args.containsKey(name) && !loaded.containsKey(name)) {
+                unloaded.add(name);
+            }
+        }
+        if (unloaded.isEmpty()) {
+            return;
+        }
+        Map<String, Object> values = variableStore.get(instanceId, Variable.SCOPE_INSTANCE, unloaded);
+        for (String name : unloaded) {
+            loaded.put(name, values.containsKey(name) ? values.get(name) : MISSING);
+        }
+    }
+
+    private Object lookup(Object key) {
+        if (!loadedAll && key instanceof String && !loaded.containsKey(key)) {
+            this.prefetch(Collections.singletonList((String) key));
+        }
+        Object value = loaded.containsKey(key) ? loaded.get(key) : MISSING;
+        if (value == MISSING && instanceVariables.containsKey(key)) {
+            value = instanceVariables.get(key);
+        }
+        return value;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (args.containsKey(key)) {
+            return args.get(key);
+        }
+        if (removed.contains(key)) {
+            return null;
+        }
+        Object value = this.lookup(key);
+        return value == MISSING ? null : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return args.containsKey(key) || (!removed.contains(key) && this.lookup(key) != MISSING);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        removed.remove(key);
+        return args.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key instanceof String) {
+            removed.add((String) key);
+        }
+        return args.remove(key);
+    }
+
+    /**
+     * 依次判断执行参数、已加载变量、流程实例变量，均为空时查询变量存储是否存在变量，不加载全部变量
+     */
+    @Override
+    public boolean isEmpty() {
+        if (!args.isEmpty()) {
+            return false;
+        }
+        if (loadedAll || !removed.isEmpty()) {
+            return this.entrySet().isEmpty();
+        }
+        for (Object value : loaded.values()) {
+            if (value != MISSING) {
+                return false;
+            }
+        }
+        return instanceVariables.isEmpty() && !variableStore.exists(instanceId, Variable.SCOPE_INSTANCE);
+    }
+
+    @Override
+    public int size() {
+        return this.entrySet().size();
+    }
+
+    /**
+     * 合并全部变量的只读快照
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (!loadedAll) {
+            loaded.clear();
+            loaded.putAll(variableStore.get(instanceId, Variable.SCOPE_INSTANCE, null));
+            loadedAll = true;
+        }
+        Map<String, Object> merged = new LinkedHashMap<>(instanceVariables);
+        merged.putAll(loaded);
+        merged.keySet().removeAll(removed);
+        merged.putAll(args);
+        return Collections.unmodifiableMap(merged).entrySet();
+    }
+}
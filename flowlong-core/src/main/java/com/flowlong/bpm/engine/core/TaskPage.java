@@ -0,0 +1,77 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core;
+
+import com.flowlong.bpm.engine.entity.Task;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 任务游标分页结果
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+public class TaskPage<T extends Task> implements Serializable {
+    /**
+     * 当前页记录
+     */
+    private List<T> records;
+    /**
+     * 总记录数，未查询总数时为 null
+     */
+    private Long total;
+    /**
+     * 是否存在下一页
+     */
+    private boolean hasMore;
+    /**
+     * 下一页游标，当前页最后一条记录创建时间
+     */
+    private Date nextCreateTime;
+    /**
+     * 下一页游标，当前页最后一条记录ID
+     */
+    private Long nextId;
+
+    /**
+     * 根据多查询一条的结果构建分页
+     *
+     * @param records 查询结果，最多 size + 1 条
+     * @param size    每页记录数
+     * @param total   总记录数
+     */
+    public static <T extends Task> TaskPage<T> of(List<T> records, int size, Long total) {
+        TaskPage<T> taskPage = new TaskPage<>();
+        taskPage.hasMore = records.size() > size;
+        taskPage.records = taskPage.hasMore ? new ArrayList<>(records.subList(0, size)) : records;
+        taskPage.total = total;
+        if (!taskPage.records.isEmpty()) {
+            T last = taskPage.records.get(taskPage.records.size() - 1);
+            taskPage.nextCreateTime = last.getCreateTime();
+            taskPage.nextId = last.getId();
+        }
+        return taskPage;
+    }
+}
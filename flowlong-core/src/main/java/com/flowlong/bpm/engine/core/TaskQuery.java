@@ -0,0 +1,116 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * 参与者任务查询条件，用于待办、已办任务游标分页查询
+ * <p>
+ * 按 create_time, id 倒序，传入上一页返回的游标 lastCreateTime, lastId 查询下一页
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+public class TaskQuery implements Serializable {
+    /**
+     * 每页最大记录数
+     */
+    public static final int MAX_SIZE = 500;
+    /**
+     * 租户ID
+     */
+    private String tenantId;
+    /**
+     * 参与者ID，按参与者类型 0，用户 1，角色 2，部门 分组
+     */
+    private Map<Integer, Set<String>> actors = new LinkedHashMap<>();
+    /**
+     * 游标，上一页最后一条记录创建时间
+     */
+    private Date lastCreateTime;
+    /**
+     * 游标，上一页最后一条记录ID
+     */
+    private Long lastId;
+    /**
+     * 每页记录数，不超过 {@link #MAX_SIZE}
+     */
+    private int size = 20;
+    /**
+     * 是否查询总记录数
+     */
+    private boolean searchCount = false;
+
+    public static TaskQuery ofUser(String userId) {
+        return new TaskQuery().user(userId);
+    }
+
+    public TaskQuery user(String... userIds) {
+        return this.actor(0, userIds);
+    }
+
+    public TaskQuery role(String... roleIds) {
+        return this.actor(1, roleIds);
+    }
+
+    public TaskQuery department(String... departmentIds) {
+        return this.actor(2, departmentIds);
+    }
+
+    public TaskQuery actor(Integer type, String... actorIds) {
+        Collections.addAll(this.actors.computeIfAbsent(type, k -> new LinkedHashSet<>()), actorIds);
+        return this;
+    }
+
+    public TaskQuery tenantId(String tenantId) {
+        this.tenantId = tenantId;
+        return this;
+    }
+
+    /**
+     * 设置游标为上一页返回的下一页游标
+     */
+    public TaskQuery cursor(Date lastCreateTime, Long lastId) {
+        this.lastCreateTime = lastCreateTime;
+        this.lastId = lastId;
+        return this;
+    }
+
+    public TaskQuery size(int size) {
+        this.size = size;
+        return this;
+    }
+
+    public TaskQuery searchCount(boolean searchCount) {
+        this.searchCount = searchCount;
+        return this;
+    }
+
+    public boolean hasActors() {
+        return actors.values().stream().anyMatch(t -> !t.isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.entity.EventOutbox;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 事件发件箱 Mapper
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface EventOutboxMapper extends BaseMapper<EventOutbox> {
+
+    /**
+     * 按主键游标分批读取待投递事件
+     *
+     * @param lastId 上一批最后一条事件ID，首批为 null
+     * @param size   每批数量
+     * @return 事件列表
+     */
+    default List<EventOutbox> selectNextBatch(Long lastId, int size) {
+        return this.selectList(Wrappers.<EventOutbox>lambdaQuery().gt(null != lastId, EventOutbox::getId, lastId)
+                .orderByAsc(EventOutbox::getId).last("LIMIT " + size));
+    }
+
+    /**
+     * 批量写入事件，按批次多行 VALUES 语句插入
+     *
+     * @param eventOutboxList 事件列表
+     */
+    default boolean insertBatch(List<EventOutbox> eventOutboxList) {
+        return MapperHelper.insertBatch(this, eventOutboxList, this::insertList);
+    }
+
+    /**
+     * 批量写入事件，需预先设置主键ID
+     *
+     * @param eventOutboxList 事件列表
+     * @return 插入记录数
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_event_outbox (id, instance_id, entity_type, entity_id, event, payload, create_time) VALUES",
+            "<foreach collection='eventOutboxList' item='e' separator=','>",
+            "(#{e.id}, #{e.instanceId}, #{e.entityType}, #{e.entityId}, #{e.event}, #{e.payload}, #{e.createTime})",
+            "</foreach>",
+            "</script>"})
+    int insertList(@Param("eventOutboxList") List<EventOutbox> eventOutboxList);
+
+}
@@ -16,6 +16,10 @@ package com.flowlong.bpm.engine.core.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.flowlong.bpm.engine.entity.HisInstance;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 历史流程实例 Mapper
@@ -29,4 +33,30 @@ import com.flowlong.bpm.engine.entity.HisInstance;
  */
 public interface HisInstanceMapper extends BaseMapper<HisInstance> {
 
+    /**
+     * 批量插入历史流程实例，按批次多行 VALUES 语句插入
+     *
+     * @param hisInstances 历史流程实例列表
+     */
+    default boolean insertBatch(List<HisInstance> hisInstances) {
+        return MapperHelper.insertBatch(this, hisInstances, this::insertList);
+    }
+
+    /**
+     * 批量插入历史流程实例
+     *
+     * @param hisInstances 历史流程实例列表
+     * @return 插入记录数
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_his_instance (id, tenant_id, create_id, create_by, create_time, process_id, priority, instance_no,",
+            " business_key, variable, version, expire_time, last_update_by, last_update_time, instance_state, end_time) VALUES",
+            "<foreach collection='hisInstances' item='i' separator=','>",
+            "(#{i.id}, #{i.tenantId}, #{i.createId}, #{i.createBy}, #{i.createTime}, #{i.processId}, #{i.priority}, #{i.instanceNo},",
+            " #{i.businessKey}, #{i.variable}, #{i.version}, #{i.expireTime}, #{i.lastUpdateBy}, #{i.lastUpdateTime},",
+            " COALESCE(#{i.instanceState}, 1), #{i.endTime})",
+            "</foreach>",
+            "</script>"})
+    int insertList(@Param("hisInstances") List<HisInstance> hisInstances);
+
 }
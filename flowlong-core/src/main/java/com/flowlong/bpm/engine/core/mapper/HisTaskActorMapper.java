@@ -17,6 +17,8 @@ package com.flowlong.bpm.engine.core.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.flowlong.bpm.engine.entity.HisTaskActor;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -50,4 +52,49 @@ public interface HisTaskActorMapper extends BaseMapper<HisTaskActor> {
         return this.delete(Wrappers.<HisTaskActor>lambdaQuery().in(HisTaskActor::getTaskId, taskIds)) > 0;
     }
 
+    /**
+     * 通过 INSERT ... SELECT 将 flw_task_actor 任务参与者迁移到 flw_his_task_actor
+     *
+     * @param taskId 任务ID
+     * @return 迁移记录数
+     */
+    @Insert("INSERT INTO flw_his_task_actor (id, tenant_id, instance_id, task_id, actor_id, actor_name, type)" +
+            " SELECT id, tenant_id, instance_id, task_id, actor_id, actor_name, type FROM flw_task_actor WHERE task_id = #{taskId}")
+    int insertSelectTaskActor(@Param("taskId") Long taskId);
+
+    /**
+     * 集合迁移多个任务的参与者到历史任务参与者表
+     *
+     * @param taskIds 任务ID列表
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_his_task_actor (id, tenant_id, instance_id, task_id, actor_id, actor_name, type)",
+            " SELECT id, tenant_id, instance_id, task_id, actor_id, actor_name, type FROM flw_task_actor",
+            " WHERE task_id IN <foreach collection='taskIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"})
+    int insertSelectTaskActors(@Param("taskIds") List<Long> taskIds);
+
+    /**
+     * 批量插入历史任务参与者，按批次多行 VALUES 语句插入，不依赖驱动 rewriteBatchedStatements 配置
+     *
+     * @param hisTaskActors 历史任务参与者列表
+     */
+    default boolean insertBatch(List<HisTaskActor> hisTaskActors) {
+        return MapperHelper.insertBatch(this, hisTaskActors, this::insertList);
+    }
+
+    /**
+     * 批量插入历史任务参与者，需预先设置主键ID
+     *
+     * @param hisTaskActors 历史任务参与者列表
+     * @return 插入记录数
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_his_task_actor (id, tenant_id, instance_id, task_id, actor_id, actor_name, type) VALUES",
+            "<foreach collection='hisTaskActors' item='a' separator=','>",
+            "(#{a.id}, #{a.tenantId}, #{a.instanceId}, #{a.taskId}, #{a.actorId}, #{a.actorName}, #{a.type})",
+            "</foreach>",
+            "</script>"})
+    int insertList(@Param("hisTaskActors") List<HisTaskActor> hisTaskActors);
+
 }
@@ -14,10 +14,19 @@
  */
 package com.flowlong.bpm.engine.core.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.flowlong.bpm.engine.assist.Assert;
+import com.flowlong.bpm.engine.core.TaskQuery;
 import com.flowlong.bpm.engine.entity.HisTask;
 import com.flowlong.bpm.engine.entity.Task;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 /**
  * 历史任务 Mapper
@@ -42,4 +51,84 @@ public interface HisTaskMapper extends BaseMapper<HisTask> {
         Assert.notNull(hisTask, "指定的任务[id=" + id + "]不存在");
         return hisTask;
     }
+
+    /**
+     * 通过 INSERT ... SELECT 将 flw_task 任务迁移到 flw_his_task
+     *
+     * @param hisTask 历史任务，提供任务ID、任务状态、完成时间、创建人及变量
+     * @return 迁移记录数
+     */
+    @Insert("INSERT INTO flw_his_task (id, tenant_id, create_id, create_by, create_time, instance_id, parent_task_id," +
+            " task_name, display_name, task_type, perform_type, action_url, variable, expire_time, finish_time, task_state)" +
+            " SELECT id, tenant_id, #{ht.createId}, #{ht.createBy}, create_time, instance_id, parent_task_id," +
+            " task_name, display_name, task_type, perform_type, action_url, #{ht.variable}, expire_time, #{ht.finishTime}, #{ht.taskState}" +
+            " FROM flw_task WHERE id = #{ht.id}")
+    int insertSelectTask(@Param("ht") HisTask hisTask);
+
+    /**
+     * 集合迁移多个任务到历史任务表，用于批量超时等统一完成状态的场景
+     *
+     * @param taskIds    任务ID列表
+     * @param finishTime 完成时间
+     * @param taskState  任务状态
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_his_task (id, tenant_id, create_id, create_by, create_time, instance_id, parent_task_id,",
+            " task_name, display_name, task_type, perform_type, action_url, variable, expire_time, finish_time, task_state)",
+            " SELECT id, tenant_id, create_id, create_by, create_time, instance_id, parent_task_id,",
+            " task_name, display_name, task_type, perform_type, action_url, variable, expire_time, #{finishTime}, #{taskState}",
+            " FROM flw_task WHERE id IN <foreach collection='taskIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"})
+    int insertSelectTasks(@Param("taskIds") List<Long> taskIds, @Param("finishTime") Date finishTime,
+                          @Param("taskState") Integer taskState);
+
+    /**
+     * 参与者已办任务查询条件，EXISTS 子查询匹配 flw_his_task_actor 参与者
+     *
+     * @param taskQuery 查询条件
+     * @param page      true 添加游标条件、排序及条数限制 false 用于统计总数
+     */
+    default LambdaQueryWrapper<HisTask> actorQueryWrapper(TaskQuery taskQuery, boolean page) {
+        List<Object> values = new ArrayList<>();
+        String existsSql = TaskActorMapper.existsSql("flw_his_task_actor", "flw_his_task", taskQuery, values);
+        LambdaQueryWrapper<HisTask> qw = Wrappers.<HisTask>lambdaQuery()
+                .eq(null != taskQuery.getTenantId(), HisTask::getTenantId, taskQuery.getTenantId())
+                .exists(existsSql, values.toArray());
+        if (page) {
+            if (null != taskQuery.getLastCreateTime() && null != taskQuery.getLastId()) {
+                qw.and(w -> w.lt(HisTask::getCreateTime, taskQuery.getLastCreateTime()).or(o -> o
+                        .eq(HisTask::getCreateTime, taskQuery.getLastCreateTime()).lt(HisTask::getId, taskQuery.getLastId())));
+            }
+            // 多查询一条判断是否存在下一页
+            qw.orderByDesc(HisTask::getCreateTime, HisTask::getId).last("LIMIT " + (taskQuery.getSize() + 1));
+        }
+        return qw;
+    }
+
+    /**
+     * 批量插入历史任务，按批次多行 VALUES 语句插入
+     *
+     * @param hisTasks 历史任务列表
+     */
+    default boolean insertBatch(List<HisTask> hisTasks) {
+        return MapperHelper.insertBatch(this, hisTasks, this::insertList);
+    }
+
+    /**
+     * 批量插入历史任务
+     *
+     * @param hisTasks 历史任务列表
+     * @return 插入记录数
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_his_task (id, tenant_id, create_id, create_by, create_time, instance_id, parent_task_id, task_name,",
+            " display_name, task_type, perform_type, action_url, variable, assignor_id, assignor, expire_time, remind_time,",
+            " remind_repeat, finish_time, task_state) VALUES",
+            "<foreach collection='hisTasks' item='t' separator=','>",
+            "(#{t.id}, #{t.tenantId}, #{t.createId}, #{t.createBy}, #{t.createTime}, #{t.instanceId}, #{t.parentTaskId}, #{t.taskName},",
+            " #{t.displayName}, #{t.taskType}, #{t.performType}, #{t.actionUrl}, #{t.variable}, #{t.assignorId}, #{t.assignor},",
+            " #{t.expireTime}, #{t.remindTime}, COALESCE(#{t.remindRepeat}, 0), #{t.finishTime}, COALESCE(#{t.taskState}, 1))",
+            "</foreach>",
+            "</script>"})
+    int insertList(@Param("hisTasks") List<HisTask> hisTasks);
 }
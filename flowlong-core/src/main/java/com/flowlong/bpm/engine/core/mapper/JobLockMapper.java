@@ -0,0 +1,95 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 数据库任务锁及节点心跳 Mapper
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface JobLockMapper {
+
+    /**
+     * 获取或续期锁租约，锁未过期且持有者不是当前节点时更新失败，租约时间以数据库时间为准
+     *
+     * @param lockName  锁名称
+     * @param owner     持有者节点ID
+     * @param leaseTime 租约时间，单位秒
+     * @return 更新记录数
+     */
+    @Update("UPDATE flw_job_lock SET owner = #{owner}, expire_time = TIMESTAMPADD(SECOND, #{leaseTime}, CURRENT_TIMESTAMP)" +
+            " WHERE lock_name = #{lockName} AND (owner = #{owner} OR expire_time < CURRENT_TIMESTAMP)")
+    int updateLease(@Param("lockName") String lockName, @Param("owner") String owner, @Param("leaseTime") long leaseTime);
+
+    /**
+     * 首次创建锁记录，主键冲突表示其它节点已创建
+     */
+    @Insert("INSERT INTO flw_job_lock (lock_name, owner, expire_time)" +
+            " VALUES (#{lockName}, #{owner}, TIMESTAMPADD(SECOND, #{leaseTime}, CURRENT_TIMESTAMP))")
+    int insertLease(@Param("lockName") String lockName, @Param("owner") String owner, @Param("leaseTime") long leaseTime);
+
+    /**
+     * 释放锁，租约立即过期
+     */
+    @Update("UPDATE flw_job_lock SET expire_time = CURRENT_TIMESTAMP WHERE lock_name = #{lockName} AND owner = #{owner}")
+    int releaseLease(@Param("lockName") String lockName, @Param("owner") String owner);
+
+    /**
+     * 更新节点心跳时间
+     */
+    @Update("UPDATE flw_job_node SET heartbeat_time = CURRENT_TIMESTAMP WHERE node_id = #{nodeId}")
+    int updateHeartbeat(@Param("nodeId") String nodeId);
+
+    /**
+     * 注册节点
+     */
+    @Insert("INSERT INTO flw_job_node (node_id, heartbeat_time) VALUES (#{nodeId}, CURRENT_TIMESTAMP)")
+    int insertNode(@Param("nodeId") String nodeId);
+
+    /**
+     * 查询存活节点ID，按节点ID排序保证各节点计算的分区一致
+     *
+     * @param aliveTime 最近该时间内有心跳的节点视为存活，单位秒
+     */
+    @Select("SELECT node_id FROM flw_job_node WHERE heartbeat_time > TIMESTAMPADD(SECOND, -#{aliveTime}, CURRENT_TIMESTAMP) ORDER BY node_id")
+    List<String> selectAliveNodeIds(@Param("aliveTime") long aliveTime);
+
+    /**
+     * 删除节点
+     */
+    @Delete("DELETE FROM flw_job_node WHERE node_id = #{nodeId}")
+    int deleteNode(@Param("nodeId") String nodeId);
+
+    /**
+     * 清理长时间无心跳节点
+     *
+     * @param deadTime 超过该时间无心跳的节点视为失效，单位秒
+     */
+    @Delete("DELETE FROM flw_job_node WHERE heartbeat_time < TIMESTAMPADD(SECOND, -#{deadTime}, CURRENT_TIMESTAMP)")
+    int deleteDeadNodes(@Param("deadTime") long deadTime);
+}
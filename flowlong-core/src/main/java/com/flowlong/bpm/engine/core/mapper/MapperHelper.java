@@ -0,0 +1,73 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core.mapper;
+
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Mapper 帮助类
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class MapperHelper {
+    /**
+     * 多行 VALUES 单条语句最大插入记录数，避免超出 max_allowed_packet 及驱动参数个数限制
+     */
+    public static final int BATCH_SIZE = 500;
+
+    /**
+     * 批量插入，按 {@link #BATCH_SIZE} 分批执行多行 VALUES 插入语句，
+     * 未设置主键的记录使用 MyBatis-Plus 配置的主键生成器分配主键
+     *
+     * @param mapper     实体 Mapper，单条记录直接插入
+     * @param entities   实体列表
+     * @param insertList 多行 VALUES 插入方法
+     * @return true 插入成功 false 列表为空
+     */
+    public static <T> boolean insertBatch(BaseMapper<T> mapper, List<T> entities, ToIntFunction<List<T>> insertList) {
+        if (null == entities || entities.isEmpty()) {
+            return false;
+        }
+        if (entities.size() == 1) {
+            return mapper.insert(entities.get(0)) > 0;
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entities.get(0).getClass());
+        IdentifierGenerator identifierGenerator = GlobalConfigUtils.getGlobalConfig(tableInfo.getConfiguration()).getIdentifierGenerator();
+        String keyProperty = tableInfo.getKeyProperty();
+        int rows = 0;
+        for (int i = 0; i < entities.size(); i += BATCH_SIZE) {
+            List<T> batch = entities.subList(i, Math.min(entities.size(), i + BATCH_SIZE));
+            for (T entity : batch) {
+                if (null == tableInfo.getPropertyValue(entity, keyProperty)) {
+                    tableInfo.setPropertyValue(entity, keyProperty, identifierGenerator.nextId(entity).longValue());
+                }
+            }
+            rows += insertList.applyAsInt(batch);
+        }
+        return rows > 0;
+    }
+}
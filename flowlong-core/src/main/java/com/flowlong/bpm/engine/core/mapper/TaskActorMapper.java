@@ -16,9 +16,14 @@ package com.flowlong.bpm.engine.core.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.core.TaskQuery;
 import com.flowlong.bpm.engine.entity.TaskActor;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 任务参与者 Mapper
@@ -59,4 +64,64 @@ public interface TaskActorMapper extends BaseMapper<TaskActor> {
         return this.delete(Wrappers.<TaskActor>lambdaQuery().in(TaskActor::getTaskId, taskIds)) > 0;
     }
 
+    /**
+     * 构建按参与者过滤任务的 EXISTS 子查询，参与者按类型匹配参与者ID
+     *
+     * @param actorTable 参与者表
+     * @param taskTable  任务表
+     * @param taskQuery  查询条件
+     * @param values     子查询参数，按占位符顺序添加
+     * @return EXISTS 子查询 SQL
+     */
+    static String existsSql(String actorTable, String taskTable, TaskQuery taskQuery, List<Object> values) {
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM ").append(actorTable).append(" a WHERE a.task_id = ")
+                .append(taskTable).append(".id AND (");
+        boolean first = true;
+        for (Map.Entry<Integer, Set<String>> entry : taskQuery.getActors().entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            if (!first) {
+                sql.append(" OR ");
+            }
+            first = false;
+            sql.append("(a.type = {").append(values.size()).append("} AND a.actor_id IN (");
+            values.add(entry.getKey());
+            boolean firstId = true;
+            for (String actorId : entry.getValue()) {
+                if (!firstId) {
+                    sql.append(", ");
+                }
+                firstId = false;
+                sql.append("{").append(values.size()).append("}");
+                values.add(actorId);
+            }
+            sql.append("))");
+        }
+        return sql.append(")").toString();
+    }
+
+    /**
+     * 批量插入任务参与者，按批次多行 VALUES 语句插入，不依赖驱动 rewriteBatchedStatements 配置
+     *
+     * @param taskActors 任务参与者列表
+     */
+    default boolean insertBatch(List<TaskActor> taskActors) {
+        return MapperHelper.insertBatch(this, taskActors, this::insertList);
+    }
+
+    /**
+     * 批量插入任务参与者，需预先设置主键ID
+     *
+     * @param taskActors 任务参与者列表
+     * @return 插入记录数
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_task_actor (id, tenant_id, instance_id, task_id, actor_id, actor_name, type) VALUES",
+            "<foreach collection='taskActors' item='a' separator=','>",
+            "(#{a.id}, #{a.tenantId}, #{a.instanceId}, #{a.taskId}, #{a.actorId}, #{a.actorName}, #{a.type})",
+            "</foreach>",
+            "</script>"})
+    int insertList(@Param("taskActors") List<TaskActor> taskActors);
+
 }
@@ -16,6 +16,10 @@ package com.flowlong.bpm.engine.core.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.flowlong.bpm.engine.entity.TaskCc;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 抄送任务 Mapper
@@ -29,4 +33,27 @@ import com.flowlong.bpm.engine.entity.TaskCc;
  */
 public interface TaskCcMapper extends BaseMapper<TaskCc> {
 
+    /**
+     * 批量插入抄送任务，按批次多行 VALUES 语句插入，不依赖驱动 rewriteBatchedStatements 配置
+     *
+     * @param taskCcList 抄送任务列表
+     */
+    default boolean insertBatch(List<TaskCc> taskCcList) {
+        return MapperHelper.insertBatch(this, taskCcList, this::insertList);
+    }
+
+    /**
+     * 批量插入抄送任务，需预先设置主键ID
+     *
+     * @param taskCcList 抄送任务列表
+     * @return 插入记录数
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_task_cc (id, tenant_id, create_id, create_by, create_time, instance_id, parent_task_id, task_name, display_name, actor_id, actor_name, type, state, finish_time) VALUES",
+            "<foreach collection='taskCcList' item='c' separator=','>",
+            "(#{c.id}, #{c.tenantId}, #{c.createId}, #{c.createBy}, #{c.createTime}, #{c.instanceId}, #{c.parentTaskId}, #{c.taskName}, #{c.displayName}, #{c.actorId}, #{c.actorName}, #{c.type}, COALESCE(#{c.state}, 1), #{c.finishTime})",
+            "</foreach>",
+            "</script>"})
+    int insertList(@Param("taskCcList") List<TaskCc> taskCcList);
+
 }
@@ -14,11 +14,17 @@
  */
 package com.flowlong.bpm.engine.core.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.flowlong.bpm.engine.assist.Assert;
+import com.flowlong.bpm.engine.core.TaskQuery;
 import com.flowlong.bpm.engine.entity.Task;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -55,4 +61,75 @@ public interface TaskMapper extends BaseMapper<Task> {
         return this.selectList(Wrappers.<Task>lambdaQuery().eq(Task::getInstanceId, instanceId));
     }
 
+    /**
+     * 参与者待办任务查询条件，EXISTS 子查询匹配 flw_task_actor 参与者
+     *
+     * @param taskQuery 查询条件
+     * @param page      true 添加游标条件、排序及条数限制 false 用于统计总数
+     */
+    default LambdaQueryWrapper<Task> actorQueryWrapper(TaskQuery taskQuery, boolean page) {
+        List<Object> values = new ArrayList<>();
+        String existsSql = TaskActorMapper.existsSql("flw_task_actor", "flw_task", taskQuery, values);
+        LambdaQueryWrapper<Task> qw = Wrappers.<Task>lambdaQuery()
+                .eq(null != taskQuery.getTenantId(), Task::getTenantId, taskQuery.getTenantId())
+                .exists(existsSql, values.toArray());
+        if (page) {
+            if (null != taskQuery.getLastCreateTime() && null != taskQuery.getLastId()) {
+                qw.and(w -> w.lt(Task::getCreateTime, taskQuery.getLastCreateTime()).or(o -> o
+                        .eq(Task::getCreateTime, taskQuery.getLastCreateTime()).lt(Task::getId, taskQuery.getLastId())));
+            }
+            // 多查询一条判断是否存在下一页
+            qw.orderByDesc(Task::getCreateTime, Task::getId).last("LIMIT " + (taskQuery.getSize() + 1));
+        }
+        return qw;
+    }
+
+    /**
+     * 批量插入任务，按批次多行 VALUES 语句插入，不依赖驱动 rewriteBatchedStatements 配置
+     *
+     * @param tasks 任务列表
+     */
+    default boolean insertBatch(List<Task> tasks) {
+        return MapperHelper.insertBatch(this, tasks, this::insertList);
+    }
+
+    /**
+     * 批量插入任务，需预先设置主键ID
+     *
+     * @param tasks 任务列表
+     * @return 插入记录数
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_task (id, tenant_id, create_id, create_by, create_time, instance_id, parent_task_id, task_name, display_name, task_type, perform_type, action_url, variable, assignor_id, assignor, expire_time, remind_time, remind_repeat, finish_time) VALUES",
+            "<foreach collection='tasks' item='t' separator=','>",
+            "(#{t.id}, #{t.tenantId}, #{t.createId}, #{t.createBy}, #{t.createTime}, #{t.instanceId}, #{t.parentTaskId}, #{t.taskName}, #{t.displayName}, #{t.taskType}, #{t.performType}, #{t.actionUrl}, #{t.variable}, #{t.assignorId}, #{t.assignor}, #{t.expireTime}, #{t.remindTime}, COALESCE(#{t.remindRepeat}, 0), #{t.finishTime})",
+            "</foreach>",
+            "</script>"})
+    int insertList(@Param("tasks") List<Task> tasks);
+
+    /**
+     * 批量减少提醒次数，一条 UPDATE 语句完成
+     *
+     * @param taskIds 任务ID列表
+     */
+    default int decrementRemindRepeat(List<Long> taskIds) {
+        return this.update(null, Wrappers.<Task>lambdaUpdate().setSql("remind_repeat = remind_repeat - 1")
+                .in(Task::getId, taskIds).gt(Task::getRemindRepeat, 0));
+    }
+
+    /**
+     * 条件减少提醒次数并设置下次提醒时间，以读取到的提醒时间作为栅栏，
+     * 多节点同时提醒同一任务时只有一个节点更新成功
+     *
+     * @param taskId         任务ID
+     * @param remindTime     读取到的提醒时间
+     * @param nextRemindTime 下次提醒时间
+     * @return 更新记录数，0 表示已被其它节点提醒
+     */
+    default int decrementRemindRepeat(Long taskId, Date remindTime, Date nextRemindTime) {
+        return this.update(null, Wrappers.<Task>lambdaUpdate().setSql("remind_repeat = remind_repeat - 1")
+                .set(Task::getRemindTime, nextRemindTime).eq(Task::getId, taskId)
+                .eq(Task::getRemindTime, remindTime).gt(Task::getRemindRepeat, 0));
+    }
+
 }
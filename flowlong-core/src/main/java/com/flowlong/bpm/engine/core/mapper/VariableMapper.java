@@ -0,0 +1,87 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.core.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.entity.Variable;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 流程变量 Mapper
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface VariableMapper extends BaseMapper<Variable> {
+
+    /**
+     * 按 (instance_id, scope_id, name) 唯一键批量插入或更新变量，一条语句完成多个变量写入
+     *
+     * @param variables 变量列表，需预先设置主键ID
+     * @return 影响行数
+     */
+    @Insert({"<script>",
+            "INSERT INTO flw_variable (id, instance_id, scope_id, name, var_type, var_value, update_time) VALUES",
+            "<foreach collection='variables' item='v' separator=','>",
+            "(#{v.id}, #{v.instanceId}, #{v.scopeId}, #{v.name}, #{v.varType}, #{v.varValue}, #{v.updateTime})",
+            "</foreach>",
+            " ON DUPLICATE KEY UPDATE var_type = VALUES(var_type), var_value = VALUES(var_value), update_time = VALUES(update_time)",
+            "</script>"})
+    int upsertBatch(@Param("variables") List<Variable> variables);
+
+    /**
+     * 查询流程实例指定作用域的变量
+     *
+     * @param instanceIds 流程实例ID列表
+     * @param scopeId     作用域ID
+     * @param names       变量名列表，为 null 时查询全部变量
+     * @return 变量列表
+     */
+    default List<Variable> selectByNames(Collection<Long> instanceIds, Long scopeId, Collection<String> names) {
+        return this.selectList(Wrappers.<Variable>lambdaQuery().in(Variable::getInstanceId, instanceIds)
+                .eq(Variable::getScopeId, scopeId).in(null != names && !names.isEmpty(), Variable::getName, names));
+    }
+
+    /**
+     * 流程实例指定作用域是否存在变量，只读取一行
+     *
+     * @param instanceId 流程实例ID
+     * @param scopeId    作用域ID
+     * @return true 存在变量
+     */
+    default boolean existsByScope(Long instanceId, Long scopeId) {
+        return !this.selectObjs(Wrappers.<Variable>lambdaQuery().select(Variable::getId).eq(Variable::getInstanceId, instanceId)
+                .eq(Variable::getScopeId, scopeId).last("LIMIT 1")).isEmpty();
+    }
+
+    /**
+     * 删除流程实例的全部变量
+     *
+     * @param instanceId 流程实例ID
+     */
+    default boolean deleteByInstanceId(Long instanceId) {
+        return this.delete(Wrappers.<Variable>lambdaQuery().eq(Variable::getInstanceId, instanceId)) > 0;
+    }
+
+}
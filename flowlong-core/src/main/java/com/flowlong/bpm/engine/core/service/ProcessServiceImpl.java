@@ -17,16 +17,20 @@ package com.flowlong.bpm.engine.core.service;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.flowlong.bpm.engine.ProcessService;
 import com.flowlong.bpm.engine.RuntimeService;
+import com.flowlong.bpm.engine.TransactionExecutor;
 import com.flowlong.bpm.engine.assist.Assert;
 import com.flowlong.bpm.engine.assist.DateUtils;
 import com.flowlong.bpm.engine.assist.ObjectUtils;
+import com.flowlong.bpm.engine.cache.ProcessCache;
 import com.flowlong.bpm.engine.core.FlowCreator;
+import com.flowlong.bpm.engine.core.FlowLongContext;
 import com.flowlong.bpm.engine.core.enums.FlowState;
 import com.flowlong.bpm.engine.core.mapper.ProcessMapper;
 import com.flowlong.bpm.engine.entity.Process;
 import com.flowlong.bpm.engine.exception.FlowLongException;
 import com.flowlong.bpm.engine.model.ProcessModel;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -46,8 +50,17 @@ import java.util.List;
 public class ProcessServiceImpl implements ProcessService {
     private ProcessMapper processMapper;
     private RuntimeService runtimeService;
+    private TransactionExecutor transactionExecutor;
+    /**
+     * 流程定义缓存
+     */
+    private ProcessCache processCache;
 
-    public ProcessServiceImpl(RuntimeService runtimeService, ProcessMapper processMapper) {
+    public ProcessServiceImpl(@Autowired(required = false) TransactionExecutor transactionExecutor,
+                              @Autowired(required = false) ProcessCache processCache,
+                              RuntimeService runtimeService, ProcessMapper processMapper) {
+        this.transactionExecutor = null == transactionExecutor ? TransactionExecutor.NONE : transactionExecutor;
+        this.processCache = null == processCache ? new ProcessCache(1024) : processCache;
         this.processMapper = processMapper;
         this.runtimeService = runtimeService;
     }
@@ -61,6 +74,8 @@ public class ProcessServiceImpl implements ProcessService {
         process.setId(id);
         process.setType(type);
         processMapper.updateById(process);
+        // 事务提交后移除缓存，避免提交前并发读取回填旧数据
+        transactionExecutor.afterCommit(() -> processCache.remove(id));
     }
 
     /**
@@ -69,7 +84,12 @@ public class ProcessServiceImpl implements ProcessService {
      */
     @Override
     public Process getProcessById(Long id) {
-        return processMapper.selectById(id);
+        Process process = processCache.get(id);
+        if (null == process) {
+            process = processMapper.selectById(id);
+            processCache.put(process);
+        }
+        return process;
     }
 
     /**
@@ -82,11 +102,21 @@ public class ProcessServiceImpl implements ProcessService {
     @Override
     public Process getProcessByVersion(String name, Integer version) {
         Assert.notEmpty(name);
+        Process process = processCache.get(name, version);
+        if (null != process) {
+            return process;
+        }
         List<Process> processList = processMapper.selectList(Wrappers.<Process>lambdaQuery().eq(Process::getName, name)
                 .eq(null != version, Process::getVersion, version)
                 .orderByDesc(Process::getVersion));
         Assert.isTrue(ObjectUtils.isEmpty(processList), "process [" + name + "] does not exist");
-        return processList.get(0);
+        process = processList.get(0);
+        if (null == version) {
+            processCache.putLatest(process);
+        } else {
+            processCache.put(process);
+        }
+        return process;
     }
 
     /**
@@ -102,36 +132,47 @@ public class ProcessServiceImpl implements ProcessService {
         Assert.notNull(jsonString);
         try {
             ProcessModel processModel = ProcessModel.parse(jsonString);
-            /**
-             * 查询流程信息获取最后版本号
-             */
-            List<Process> processList = processMapper.selectList(Wrappers.<Process>lambdaQuery()
-                    .select(Process::getId, Process::getVersion)
-                    .eq(Process::getName, processModel.getName())
-                    .orderByDesc(Process::getVersion));
-            Integer version = 0;
-            if (ObjectUtils.isNotEmpty(processList)) {
-                Process process = processList.get(0);
-                if (!repeat) {
-                    return process.getId();
+            if (!repeat) {
+                // 已缓存的流程直接返回
+                Process latestProcess = processCache.get(processModel.getName(), null);
+                if (null != latestProcess) {
+                    return latestProcess.getId();
                 }
-                version = process.getVersion();
             }
-            /**
-             * 当前版本 +1 添加一条新的流程记录
-             */
-            Process process = new Process();
-            process.setVersion(version + 1);
-            process.setFlowState(FlowState.active);
-            process.setName(processModel.getName());
-            process.setDisplayName(processModel.getName());
-            process.setInstanceUrl(processModel.getInstanceUrl());
-            process.setContent(jsonString);
-            process.setCreateId(flowCreator.getCreateId());
-            process.setCreateBy(flowCreator.getCreateBy());
-            process.setCreateTime(DateUtils.getCurrentDate());
-            Assert.isZero(processMapper.insert(process), "Failed to save the deployment process");
-            return process.getId();
+            return transactionExecutor.execute(() -> {
+                /**
+                 * 查询流程信息获取最后版本号
+                 */
+                List<Process> processList = processMapper.selectList(Wrappers.<Process>lambdaQuery()
+                        .select(Process::getId, Process::getVersion)
+                        .eq(Process::getName, processModel.getName())
+                        .orderByDesc(Process::getVersion));
+                Integer version = 0;
+                if (ObjectUtils.isNotEmpty(processList)) {
+                    Process process = processList.get(0);
+                    if (!repeat) {
+                        return process.getId();
+                    }
+                    version = process.getVersion();
+                }
+                /**
+                 * 当前版本 +1 添加一条新的流程记录
+                 */
+                Process process = new Process();
+                process.setVersion(version + 1);
+                process.setFlowState(FlowState.active);
+                process.setName(processModel.getName());
+                process.setDisplayName(processModel.getName());
+                process.setInstanceUrl(processModel.getInstanceUrl());
+                process.setContent(jsonString);
+                process.setCreateId(flowCreator.getCreateId());
+                process.setCreateBy(flowCreator.getCreateBy());
+                process.setCreateTime(DateUtils.getCurrentDate());
+                Assert.isZero(processMapper.insert(process), "Failed to save the deployment process");
+                // 事务提交后缓存，回滚时不缓存未提交的流程定义
+                transactionExecutor.afterCommit(() -> processCache.putLatest(process));
+                return process.getId();
+            });
         } catch (Exception e) {
             log.error(e.getMessage());
             throw new FlowLongException(e);
@@ -147,10 +188,15 @@ public class ProcessServiceImpl implements ProcessService {
      */
     @Override
     public boolean redeploy(Long id, String jsonString) {
-        Process process = processMapper.selectById(id);
-        Assert.notNull(process);
-        process.setContent(jsonString);
-        return processMapper.updateById(process) > 0;
+        return transactionExecutor.execute(() -> {
+            Process process = processMapper.selectById(id);
+            Assert.notNull(process);
+            process.setContent(jsonString);
+            boolean result = processMapper.updateById(process) > 0;
+            // 流程模型变更，事务提交后刷新缓存
+            transactionExecutor.afterCommit(() -> this.refreshCache(id));
+            return result;
+        });
     }
 
     /**
@@ -164,7 +210,10 @@ public class ProcessServiceImpl implements ProcessService {
         Process process = new Process();
         process.setId(id);
         process.setFlowState(FlowState.inactive);
-        return processMapper.updateById(process) > 0;
+        boolean result = processMapper.updateById(process) > 0;
+        // 事务提交后刷新缓存，事务回滚时缓存保持不变
+        transactionExecutor.afterCommit(() -> this.refreshCache(id));
+        return result;
     }
 
     /**
@@ -172,10 +221,29 @@ public class ProcessServiceImpl implements ProcessService {
      */
     @Override
     public void cascadeRemove(Long id) {
-        // 删除与流程相关的实例
-        runtimeService.cascadeRemoveByProcessId(id);
+        transactionExecutor.executeWithoutResult(() -> {
+            // 删除与流程相关的实例
+            runtimeService.cascadeRemoveByProcessId(id);
 
-        // 删除部署流程流程信息
-        processMapper.deleteById(id);
+            // 删除部署流程流程信息
+            processMapper.deleteById(id);
+        });
+
+        // 移除缓存
+        processCache.remove(id);
+        FlowLongContext.PROCESS_MODEL_CACHE.remove(id);
+    }
+
+    /**
+     * 刷新流程定义缓存及缓存模型
+     *
+     * @param id 流程定义ID
+     */
+    protected void refreshCache(Long id) {
+        FlowLongContext.PROCESS_MODEL_CACHE.remove(id);
+        if (null != processCache.get(id)) {
+            processCache.remove(id);
+            processCache.putLatest(processMapper.selectById(id));
+        }
     }
 }
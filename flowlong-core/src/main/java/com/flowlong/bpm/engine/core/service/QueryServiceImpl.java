@@ -15,9 +15,14 @@
 package com.flowlong.bpm.engine.core.service;
 
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.HistoryWriter;
 import com.flowlong.bpm.engine.QueryService;
+import com.flowlong.bpm.engine.assist.Assert;
+import com.flowlong.bpm.engine.core.TaskPage;
+import com.flowlong.bpm.engine.core.TaskQuery;
 import com.flowlong.bpm.engine.core.mapper.*;
 import com.flowlong.bpm.engine.entity.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -41,8 +46,10 @@ public class QueryServiceImpl implements QueryService {
     private TaskActorMapper taskActorMapper;
     private HisTaskMapper hisTaskMapper;
     private HisTaskActorMapper hisTaskActorMapper;
+    private HistoryWriter historyWriter;
 
-    public QueryServiceImpl(InstanceMapper instanceMapper, HisInstanceMapper hisInstanceMapper,
+    public QueryServiceImpl(@Autowired(required = false) HistoryWriter historyWriter,
+                            InstanceMapper instanceMapper, HisInstanceMapper hisInstanceMapper,
                             TaskMapper taskMapper, TaskActorMapper taskActorMapper,
                             HisTaskMapper hisTaskMapper, HisTaskActorMapper hisTaskActorMapper) {
         this.instanceMapper = instanceMapper;
@@ -51,6 +58,7 @@ public class QueryServiceImpl implements QueryService {
         this.taskActorMapper = taskActorMapper;
         this.hisTaskMapper = hisTaskMapper;
         this.hisTaskActorMapper = hisTaskActorMapper;
+        this.historyWriter = historyWriter;
     }
 
     @Override
@@ -65,16 +73,19 @@ public class QueryServiceImpl implements QueryService {
 
     @Override
     public HisInstance getHistInstance(Long instanceId) {
+        this.flushHistory();
         return hisInstanceMapper.selectById(instanceId);
     }
 
     @Override
     public HisTask getHistTask(Long taskId) {
+        this.flushHistory();
         return hisTaskMapper.selectById(taskId);
     }
 
     @Override
     public Optional<List<HisTask>> getHisTasksByName(Long instanceId, String taskName) {
+        this.flushHistory();
         return Optional.ofNullable(hisTaskMapper.selectList(Wrappers.<HisTask>lambdaQuery()
                 .eq(HisTask::getInstanceId, instanceId)
                 .eq(HisTask::getTaskName, taskName)
@@ -108,6 +119,7 @@ public class QueryServiceImpl implements QueryService {
 
     @Override
     public List<HisTaskActor> getHistoryTaskActorsByTaskId(Long taskId) {
+        this.flushHistory();
         return hisTaskActorMapper.selectList(Wrappers.<HisTaskActor>lambdaQuery().eq(HisTaskActor::getTaskId, taskId));
     }
 
@@ -120,9 +132,42 @@ public class QueryServiceImpl implements QueryService {
 
     @Override
     public Optional<List<HisTask>> getHisTasksByInstanceId(Long instanceId) {
+        this.flushHistory();
         return Optional.ofNullable(hisTaskMapper.selectList(Wrappers.<HisTask>lambdaQuery()
                 .eq(HisTask::getInstanceId, instanceId)
                 .orderByDesc(HisTask::getCreateTime)));
     }
 
+    @Override
+    public TaskPage<Task> getTodoTasks(TaskQuery taskQuery) {
+        this.checkTaskQuery(taskQuery);
+        List<Task> tasks = taskMapper.selectList(taskMapper.actorQueryWrapper(taskQuery, true));
+        Long total = taskQuery.isSearchCount() ? taskMapper.selectCount(taskMapper.actorQueryWrapper(taskQuery, false)) : null;
+        return TaskPage.of(tasks, taskQuery.getSize(), total);
+    }
+
+    @Override
+    public TaskPage<HisTask> getDoneTasks(TaskQuery taskQuery) {
+        this.checkTaskQuery(taskQuery);
+        this.flushHistory();
+        List<HisTask> hisTasks = hisTaskMapper.selectList(hisTaskMapper.actorQueryWrapper(taskQuery, true));
+        Long total = taskQuery.isSearchCount() ? hisTaskMapper.selectCount(hisTaskMapper.actorQueryWrapper(taskQuery, false)) : null;
+        return TaskPage.of(hisTasks, taskQuery.getSize(), total);
+    }
+
+    /**
+     * 异步写入历史记录时，读取历史数据前写入未写入的记录
+     */
+    protected void flushHistory() {
+        if (null != historyWriter) {
+            historyWriter.flush();
+        }
+    }
+
+    protected void checkTaskQuery(TaskQuery taskQuery) {
+        Assert.illegalArgument(null == taskQuery || !taskQuery.hasActors(), "task query actors cannot be empty");
+        Assert.illegalArgument(taskQuery.getSize() < 1, "task query size must be greater than 0");
+        Assert.illegalArgument(taskQuery.getSize() > TaskQuery.MAX_SIZE, "task query size cannot exceed " + TaskQuery.MAX_SIZE);
+    }
+
 }
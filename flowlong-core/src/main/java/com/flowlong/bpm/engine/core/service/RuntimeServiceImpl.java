@@ -14,14 +14,20 @@
  */
 package com.flowlong.bpm.engine.core.service;
 
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.EventDispatcher;
+import com.flowlong.bpm.engine.HistoryWriter;
 import com.flowlong.bpm.engine.QueryService;
 import com.flowlong.bpm.engine.RuntimeService;
 import com.flowlong.bpm.engine.TaskService;
+import com.flowlong.bpm.engine.TransactionExecutor;
+import com.flowlong.bpm.engine.VariableStore;
 import com.flowlong.bpm.engine.assist.Assert;
 import com.flowlong.bpm.engine.assist.DateUtils;
 import com.flowlong.bpm.engine.assist.ObjectUtils;
 import com.flowlong.bpm.engine.core.FlowCreator;
+import com.flowlong.bpm.engine.core.FlowLongContext;
 import com.flowlong.bpm.engine.core.enums.InstanceState;
 import com.flowlong.bpm.engine.core.mapper.HisInstanceMapper;
 import com.flowlong.bpm.engine.core.mapper.InstanceMapper;
@@ -29,14 +35,18 @@ import com.flowlong.bpm.engine.entity.HisInstance;
 import com.flowlong.bpm.engine.entity.Instance;
 import com.flowlong.bpm.engine.entity.Process;
 import com.flowlong.bpm.engine.entity.Task;
+import com.flowlong.bpm.engine.entity.Variable;
+import com.flowlong.bpm.engine.exception.FlowLongConflictException;
 import com.flowlong.bpm.engine.listener.InstanceListener;
 import com.flowlong.bpm.engine.listener.TaskListener;
 import com.flowlong.bpm.engine.model.ProcessModel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 流程实例运行业务类
@@ -55,12 +65,26 @@ public class RuntimeServiceImpl implements RuntimeService {
     private TaskService taskService;
     private InstanceMapper instanceMapper;
     private HisInstanceMapper hisInstanceMapper;
+    private HistoryWriter historyWriter;
+    private TransactionExecutor transactionExecutor;
+    private EventDispatcher eventDispatcher;
+    private VariableStore variableStore;
+    private List<InstanceListener> instanceListeners;
 
 
     public RuntimeServiceImpl(@Autowired(required = false) InstanceListener instanceListener,
+                              @Autowired(required = false) HistoryWriter historyWriter,
+                              @Autowired(required = false) TransactionExecutor transactionExecutor,
+                              @Autowired(required = false) EventDispatcher eventDispatcher,
+                              @Autowired(required = false) VariableStore variableStore,
                               QueryService queryService, TaskService taskService, InstanceMapper instanceMapper,
                               HisInstanceMapper hisInstanceMapper) {
         this.instanceListener = instanceListener;
+        this.instanceListeners = null == instanceListener ? null : Collections.singletonList(instanceListener);
+        this.eventDispatcher = eventDispatcher;
+        this.variableStore = variableStore;
+        this.historyWriter = historyWriter;
+        this.transactionExecutor = null == transactionExecutor ? TransactionExecutor.NONE : transactionExecutor;
         this.queryService = queryService;
         this.taskService = taskService;
         this.instanceMapper = instanceMapper;
@@ -86,6 +110,12 @@ public class RuntimeServiceImpl implements RuntimeService {
 //            }
         }
 
+        if (null != variableStore) {
+            // 变量按名称独立存储，流程实例不保存变量 json
+            this.saveInstance(instance);
+            variableStore.save(instance.getId(), Variable.SCOPE_INSTANCE, args);
+            return instance;
+        }
         instance.setVariable(args);
         this.saveInstance(instance);
         return instance;
@@ -99,13 +129,17 @@ public class RuntimeServiceImpl implements RuntimeService {
      */
     @Override
     public void addVariable(Long instanceId, Map<String, Object> args) {
-        Instance instance = instanceMapper.selectById(instanceId);
-        Map<String, Object> data = instance.getVariableMap();
-        data.putAll(args);
-        Instance temp = new Instance();
-        temp.setId(instanceId);
-        temp.setVariable(data);
-        instanceMapper.updateById(temp);
+        if (null != variableStore) {
+            // 仅写入新增或修改的变量
+            variableStore.save(instanceId, Variable.SCOPE_INSTANCE, args);
+            return;
+        }
+        // 读取合并写入，版本冲突时重新读取合并
+        this.updateInstance(instanceId, instance -> {
+            Map<String, Object> data = instance.getVariableMap();
+            data.putAll(args);
+            instance.setVariable(data);
+        });
     }
 
     /**
@@ -120,20 +154,63 @@ public class RuntimeServiceImpl implements RuntimeService {
 
         // 保存历史实例设置为活的状态
         HisInstance hisInstance = HisInstance.of(instance, InstanceState.active);
-        hisInstanceMapper.insert(hisInstance);
+        if (null != historyWriter) {
+            historyWriter.insertHisInstance(hisInstance);
+        } else {
+            hisInstanceMapper.insert(hisInstance);
+        }
 
         // 流程实例监听器通知
         this.instanceNotify(TaskListener.EVENT_CREATE, hisInstance);
     }
 
     /**
-     * 更新活动实例
+     * 更新活动实例，不校验版本号直接按ID更新，并递增版本号使并发的乐观更新感知到本次修改
      */
     @Override
     public void updateInstance(Instance instance) {
         Assert.illegalArgument(null == instance || null == instance.getId(),
                 "instance id cannot be empty");
-        instanceMapper.updateById(instance);
+        Integer version = instance.getVersion();
+        instance.setVersion(null);
+        try {
+            instanceMapper.update(instance, Wrappers.<Instance>lambdaUpdate().setSql("version = COALESCE(version, 0) + 1")
+                    .eq(Instance::getId, instance.getId()));
+        } finally {
+            instance.setVersion(version);
+        }
+    }
+
+    /**
+     * 按版本号乐观更新活动实例，版本不一致说明流程实例已被并发修改
+     *
+     * @param instance 读取的流程实例对象，更新成功后版本号加 1
+     * @throws FlowLongConflictException 版本冲突
+     */
+    protected void updateInstanceVersion(Instance instance) {
+        Integer version = instance.getVersion();
+        LambdaUpdateWrapper<Instance> updateWrapper = Wrappers.<Instance>lambdaUpdate().eq(Instance::getId, instance.getId());
+        if (null == version) {
+            updateWrapper.isNull(Instance::getVersion);
+        } else {
+            updateWrapper.eq(Instance::getVersion, version);
+        }
+        instance.setVersion(null == version ? 1 : version + 1);
+        if (instanceMapper.update(instance, updateWrapper) < 1) {
+            instance.setVersion(version);
+            throw new FlowLongConflictException("流程实例[id=" + instance.getId() + "]已被并发修改，请重试");
+        }
+    }
+
+    @Override
+    public Instance updateInstance(Long instanceId, Consumer<Instance> updater) {
+        return transactionExecutor.executeWithRetry(() -> {
+            Instance instance = instanceMapper.selectById(instanceId);
+            Assert.notNull(instance, "指定的流程实例[id=" + instanceId + "]已完成或不存在");
+            updater.accept(instance);
+            this.updateInstanceVersion(instance);
+            return instance;
+        }, FlowLongContext.INSTANCE_UPDATE_RETRY);
     }
 
     /**
@@ -145,12 +222,31 @@ public class RuntimeServiceImpl implements RuntimeService {
         hisInstance.setId(instanceId);
         hisInstance.setInstanceState(InstanceState.finish.getValue());
         hisInstance.setEndTime(DateUtils.getCurrentDate());
+        this.updateHisInstance(hisInstance);
         instanceMapper.deleteById(instanceId);
         // 流程实例监听器通知
         this.instanceNotify(TaskListener.EVENT_COMPLETE, hisInstance);
     }
 
+    /**
+     * 更新历史流程实例
+     *
+     * @param hisInstance 历史流程实例
+     */
+    protected void updateHisInstance(HisInstance hisInstance) {
+        if (null != historyWriter) {
+            historyWriter.updateHisInstance(hisInstance);
+        } else {
+            hisInstanceMapper.updateById(hisInstance);
+        }
+    }
+
     protected void instanceNotify(String event, HisInstance hisInstance) {
+        if (null != eventDispatcher) {
+            // 交由事件分发器通知，发件箱等分发器不依赖本地监听器
+            eventDispatcher.dispatch(hisInstance.getId(), event, hisInstance, instanceListeners);
+            return;
+        }
         if (null != instanceListener) {
             instanceListener.notify(event, hisInstance);
         }
@@ -164,26 +260,28 @@ public class RuntimeServiceImpl implements RuntimeService {
      */
     @Override
     public void terminate(Long instanceId, FlowCreator flowCreator) {
-        Instance instance = instanceMapper.selectById(instanceId);
-        if (null != instance) {
-            // 实例相关任务强制完成
-            queryService.getActiveTasksByInstanceId(instanceId).ifPresent(tasks -> {
-                for (Task task : tasks) {
-                    taskService.complete(task.getId(), flowCreator);
-                }
-            });
-
-            // 更新历史实例设置状态为终止
-            HisInstance hisInstance = HisInstance.of(instance, InstanceState.termination);
-            hisInstance.setEndTime(DateUtils.getCurrentDate());
-            hisInstanceMapper.updateById(hisInstance);
+        transactionExecutor.executeWithoutResult(() -> {
+            Instance instance = instanceMapper.selectById(instanceId);
+            if (null != instance) {
+                // 实例相关任务强制完成
+                queryService.getActiveTasksByInstanceId(instanceId).ifPresent(tasks -> {
+                    for (Task task : tasks) {
+                        taskService.complete(task.getId(), flowCreator);
+                    }
+                });
 
-            // 删除实例
-            instanceMapper.deleteById(instanceId);
+                // 更新历史实例设置状态为终止
+                HisInstance hisInstance = HisInstance.of(instance, InstanceState.termination);
+                hisInstance.setEndTime(DateUtils.getCurrentDate());
+                this.updateHisInstance(hisInstance);
 
-            // 流程实例监听器通知
-            this.instanceNotify(TaskListener.EVENT_TERMINATE, hisInstance);
-        }
+                // 删除实例
+                instanceMapper.deleteById(instanceId);
+
+                // 流程实例监听器通知
+                this.instanceNotify(TaskListener.EVENT_TERMINATE, hisInstance);
+            }
+        });
     }
 
     /**
@@ -193,25 +291,34 @@ public class RuntimeServiceImpl implements RuntimeService {
      */
     @Override
     public void cascadeRemoveByProcessId(Long processId) {
-        List<HisInstance> hisInstances = hisInstanceMapper.selectList(Wrappers.<HisInstance>lambdaQuery()
-                .eq(HisInstance::getProcessId, processId));
-        if (ObjectUtils.isNotEmpty(hisInstances)) {
-            hisInstances.forEach(t -> {
-                // 删除活动任务相关信息
-                taskService.cascadeRemoveByInstanceId(t.getId());
-                // 删除抄送任务
-                // ccInstanceMapper.delete(Wrappers.<CCInstance>lambdaQuery().eq(CCInstance::getInstanceId, t.getId()));
-
-                // 删除代理任务
-
-            });
+        if (null != historyWriter) {
+            historyWriter.flush();
         }
+        transactionExecutor.executeWithoutResult(() -> {
+            List<HisInstance> hisInstances = hisInstanceMapper.selectList(Wrappers.<HisInstance>lambdaQuery()
+                    .eq(HisInstance::getProcessId, processId));
+            if (ObjectUtils.isNotEmpty(hisInstances)) {
+                hisInstances.forEach(t -> {
+                    // 删除活动任务相关信息
+                    taskService.cascadeRemoveByInstanceId(t.getId());
+                    // 删除流程变量
+                    if (null != variableStore) {
+                        variableStore.remove(t.getId());
+                    }
+                    // 删除抄送任务
+                    // ccInstanceMapper.delete(Wrappers.<CCInstance>lambdaQuery().eq(CCInstance::getInstanceId, t.getId()));
 
-        // 删除历史实例
-        hisInstanceMapper.delete(Wrappers.<HisInstance>lambdaQuery().eq(HisInstance::getProcessId, processId));
+                    // 删除代理任务
 
-        // 删除实例
-        instanceMapper.delete(Wrappers.<Instance>lambdaQuery().eq(Instance::getProcessId, processId));
+                });
+            }
+
+            // 删除历史实例
+            hisInstanceMapper.delete(Wrappers.<HisInstance>lambdaQuery().eq(HisInstance::getProcessId, processId));
+
+            // 删除实例
+            instanceMapper.delete(Wrappers.<Instance>lambdaQuery().eq(Instance::getProcessId, processId));
+        });
     }
 
 }
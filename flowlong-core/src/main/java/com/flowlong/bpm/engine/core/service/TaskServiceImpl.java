@@ -15,13 +15,18 @@
 package com.flowlong.bpm.engine.core.service;
 
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.EventDispatcher;
+import com.flowlong.bpm.engine.HistoryWriter;
 import com.flowlong.bpm.engine.TaskAccessStrategy;
 import com.flowlong.bpm.engine.TaskService;
+import com.flowlong.bpm.engine.TransactionExecutor;
+import com.flowlong.bpm.engine.VariableStore;
 import com.flowlong.bpm.engine.assist.Assert;
 import com.flowlong.bpm.engine.assist.DateUtils;
 import com.flowlong.bpm.engine.assist.ObjectUtils;
 import com.flowlong.bpm.engine.core.Execution;
 import com.flowlong.bpm.engine.core.FlowCreator;
+import com.flowlong.bpm.engine.core.FlowLongContext;
 import com.flowlong.bpm.engine.core.enums.PerformType;
 import com.flowlong.bpm.engine.core.enums.TaskState;
 import com.flowlong.bpm.engine.core.enums.TaskType;
@@ -33,6 +38,7 @@ import com.flowlong.bpm.engine.listener.TaskListener;
 import com.flowlong.bpm.engine.model.NodeAssignee;
 import com.flowlong.bpm.engine.model.NodeModel;
 import com.flowlong.bpm.engine.model.ProcessModel;
+import com.flowlong.bpm.engine.scheduling.JobPartition;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -52,23 +58,39 @@ import java.util.stream.Collectors;
  */
 @Service
 public class TaskServiceImpl implements TaskService {
+    /**
+     * 批量超时每批处理的任务数量，控制 IN 条件长度及单批事务大小，每批在独立事务中迁移
+     */
+    private static final int TIMEOUT_BATCH_SIZE = 500;
     private TaskAccessStrategy taskAccessStrategy;
     private ProcessMapper processMapper;
-    private TaskListener taskListener;
+    private List<TaskListener> taskListeners;
     private InstanceMapper instanceMapper;
     private TaskMapper taskMapper;
     private TaskCcMapper taskCcMapper;
     private TaskActorMapper taskActorMapper;
     private HisTaskMapper hisTaskMapper;
     private HisTaskActorMapper hisTaskActorMapper;
-
-    public TaskServiceImpl(@Autowired(required = false) TaskAccessStrategy taskAccessStrategy, @Autowired(required = false) TaskListener taskListener,
+    private HistoryWriter historyWriter;
+    private EventDispatcher eventDispatcher;
+    private VariableStore variableStore;
+    private TransactionExecutor transactionExecutor;
+
+    public TaskServiceImpl(@Autowired(required = false) TaskAccessStrategy taskAccessStrategy, @Autowired(required = false) List<TaskListener> taskListeners,
+                           @Autowired(required = false) HistoryWriter historyWriter,
+                           @Autowired(required = false) TransactionExecutor transactionExecutor,
+                           @Autowired(required = false) EventDispatcher eventDispatcher,
+                           @Autowired(required = false) VariableStore variableStore,
                            ProcessMapper processMapper, InstanceMapper instanceMapper, TaskMapper taskMapper,
                            TaskCcMapper taskCcMapper, TaskActorMapper taskActorMapper, HisTaskMapper hisTaskMapper,
                            HisTaskActorMapper hisTaskActorMapper) {
         this.taskAccessStrategy = taskAccessStrategy;
+        this.historyWriter = historyWriter;
+        this.transactionExecutor = null == transactionExecutor ? TransactionExecutor.NONE : transactionExecutor;
+        this.eventDispatcher = eventDispatcher;
+        this.variableStore = variableStore;
         this.processMapper = processMapper;
-        this.taskListener = taskListener;
+        this.taskListeners = taskListeners;
         this.instanceMapper = instanceMapper;
         this.taskMapper = taskMapper;
         this.taskCcMapper = taskCcMapper;
@@ -98,8 +120,13 @@ public class TaskServiceImpl implements TaskService {
      */
     protected Task executeTask(Long taskId, FlowCreator flowCreator, Map<String, Object> args, TaskState taskState, String event) {
         Task task = taskMapper.getCheckById(taskId);
-        task.setVariable(args);
         Assert.isFalse(isAllowed(task, flowCreator.getCreateId()), "当前参与者 [" + flowCreator.getCreateBy() + "]不允许执行任务[taskId=" + taskId + "]");
+        if (null != variableStore) {
+            // 执行参数按任务作用域写入变量存储
+            variableStore.save(task.getInstanceId(), taskId, args);
+        } else {
+            task.setVariable(args);
+        }
 
         // 迁移 task 信息到 flw_his_task
         HisTask hisTask = HisTask.of(task);
@@ -107,29 +134,83 @@ public class TaskServiceImpl implements TaskService {
         hisTask.setTaskState(taskState);
         hisTask.setCreateId(flowCreator.getCreateId());
         hisTask.setCreateBy(flowCreator.getCreateBy());
-        hisTaskMapper.insert(hisTask);
-
-        // 迁移任务参与者
-        List<TaskActor> actors = taskActorMapper.selectListByTaskId(taskId);
-        if (ObjectUtils.isNotEmpty(actors)) {
-            // 将 task 参与者信息迁移到 flw_his_task_actor
-            actors.forEach(t -> hisTaskActorMapper.insert(HisTaskActor.of(t)));
-            // 移除 flw_task_actor 中 task 参与者信息
+        this.moveToHistory(hisTask);
+
+        // 任务监听器通知
+        this.taskNotify(event, task);
+        return task;
+    }
+
+
+    /**
+     * 迁移任务及参与者到历史表，并删除 flw_task 及 flw_task_actor 中对应记录
+     *
+     * @param hisTask 历史任务
+     */
+    protected void moveToHistory(HisTask hisTask) {
+        final Long taskId = hisTask.getId();
+        if (null != historyWriter) {
+            // 历史任务及参与者交由历史写入器写入，活动数据同步删除
+            List<TaskActor> actors = taskActorMapper.selectListByTaskId(taskId);
+            if (ObjectUtils.isEmpty(actors)) {
+                historyWriter.insertHisTask(hisTask, null);
+            } else {
+                historyWriter.insertHisTask(hisTask, actors.stream().map(HisTaskActor::of).collect(Collectors.toList()));
+                taskActorMapper.deleteByTaskId(taskId);
+            }
+        } else if (FlowLongContext.SET_BASED_MIGRATION) {
+            // 集合迁移 flw_task 到 flw_his_task ，flw_task_actor 到 flw_his_task_actor
+            hisTaskMapper.insertSelectTask(hisTask);
+            hisTaskActorMapper.insertSelectTaskActor(taskId);
             taskActorMapper.deleteByTaskId(taskId);
+        } else {
+            // 迁移 task 信息到 flw_his_task
+            hisTaskMapper.insert(hisTask);
+
+            // 迁移任务参与者
+            List<TaskActor> actors = taskActorMapper.selectListByTaskId(taskId);
+            if (ObjectUtils.isNotEmpty(actors)) {
+                // 将 task 参与者信息迁移到 flw_his_task_actor
+                hisTaskActorMapper.insertBatch(actors.stream().map(HisTaskActor::of).collect(Collectors.toList()));
+                // 移除 flw_task_actor 中 task 参与者信息
+                taskActorMapper.deleteByTaskId(taskId);
+            }
         }
 
         // 删除 flw_task 中指定 task 信息
         taskMapper.deleteById(taskId);
-
-        // 任务监听器通知
-        this.taskNotify(event, task);
-        return task;
     }
 
+    /**
+     * 读取历史数据前写入未完成的历史记录
+     */
+    protected void flushHistory() {
+        if (null != historyWriter) {
+            historyWriter.flush();
+        }
+    }
 
     protected void taskNotify(String event, Task task) {
-        if (null != taskListener) {
-            taskListener.notify(event, task);
+        if (null != eventDispatcher) {
+            // 交由事件分发器通知，发件箱等分发器不依赖本地监听器
+            eventDispatcher.dispatch(task.getInstanceId(), event, task, taskListeners);
+            return;
+        }
+        if (null != taskListeners) {
+            taskListeners.forEach(t -> t.notify(event, task));
+        }
+    }
+
+    protected void taskNotifyBatch(String event, List<Task> tasks) {
+        if (ObjectUtils.isEmpty(tasks)) {
+            return;
+        }
+        if (null != eventDispatcher) {
+            eventDispatcher.dispatchBatch(event, tasks, Task::getInstanceId, taskListeners);
+            return;
+        }
+        if (null != taskListeners) {
+            taskListeners.forEach(t -> t.notifyBatch(event, tasks));
         }
     }
 
@@ -145,6 +226,35 @@ public class TaskServiceImpl implements TaskService {
         this.taskNotify(TaskListener.EVENT_UPDATE, task);
     }
 
+    @Override
+    public void decrementRemindRepeat(List<Task> tasks) {
+        if (ObjectUtils.isEmpty(tasks)) {
+            return;
+        }
+        taskMapper.decrementRemindRepeat(tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        for (Task task : tasks) {
+            Task temp = new Task();
+            temp.setId(task.getId());
+            temp.setRemindRepeat(task.getRemindRepeat() - 1);
+            // 任务监听器通知
+            this.taskNotify(TaskListener.EVENT_UPDATE, temp);
+        }
+    }
+
+    @Override
+    public boolean decrementRemindRepeat(Task task, Date nextRemindTime) {
+        if (taskMapper.decrementRemindRepeat(task.getId(), task.getRemindTime(), nextRemindTime) == 0) {
+            return false;
+        }
+        Task temp = new Task();
+        temp.setId(task.getId());
+        temp.setRemindTime(nextRemindTime);
+        temp.setRemindRepeat(task.getRemindRepeat() - 1);
+        // 任务监听器通知
+        this.taskNotify(TaskListener.EVENT_UPDATE, temp);
+        return true;
+    }
+
     @Override
     public boolean readTask(Long taskId, TaskActor taskActor) {
         if (taskActorMapper.selectCount(Wrappers.<TaskActor>lambdaQuery().eq(TaskActor::getTaskId, taskId)
@@ -167,24 +277,90 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public boolean taskTimeout(Long taskId) {
-        Task task = taskMapper.selectById(taskId);
+        Task task = transactionExecutor.execute(() -> {
+            Task t = taskMapper.selectById(taskId);
+            if (null != t) {
+                // 1，保存任务状态为超时，设置完成时间
+                HisTask hisTask = HisTask.of(t);
+                hisTask.setFinishTime(DateUtils.getCurrentDate());
+                hisTask.setTaskState(TaskState.timeout);
+
+                // 2，迁移任务及参与者到历史表，级联删除任务和对应的任务参与者
+                this.moveToHistory(hisTask);
+            }
+            return t;
+        });
         if (null != task) {
-            // 1，保存任务状态为超时，设置完成时间
-            HisTask hisTask = HisTask.of(task);
-            hisTask.setFinishTime(DateUtils.getCurrentDate());
-            hisTask.setTaskState(TaskState.timeout);
-            hisTaskMapper.insert(hisTask);
-
-            // 2，级联删除任务和对应的任务参与者
-            taskActorMapper.deleteByTaskId(taskId);
-            taskMapper.deleteById(taskId);
-
             // 3，任务监听器通知
             this.taskNotify(TaskListener.EVENT_TIMEOUT, task);
         }
         return true;
     }
 
+    @Override
+    public int taskTimeout(Collection<Long> taskIds) {
+        if (ObjectUtils.isEmpty(taskIds)) {
+            return 0;
+        }
+        List<Long> idList = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        int count = 0;
+        for (int i = 0; i < idList.size(); i += TIMEOUT_BATCH_SIZE) {
+            List<Long> chunkIds = idList.subList(i, Math.min(i + TIMEOUT_BATCH_SIZE, idList.size()));
+            // 每批一个事务，仅处理仍存在的任务，已完成或已超时的任务忽略
+            List<Task> tasks = transactionExecutor.execute(() -> {
+                List<Task> chunkTasks = taskMapper.selectBatchIds(chunkIds);
+                if (ObjectUtils.isNotEmpty(chunkTasks)) {
+                    this.moveToHistoryTimeout(chunkTasks);
+                }
+                return chunkTasks;
+            });
+            if (ObjectUtils.isEmpty(tasks)) {
+                continue;
+            }
+
+            // 任务监听器批量通知
+            this.taskNotifyBatch(TaskListener.EVENT_TIMEOUT, tasks);
+            count += tasks.size();
+        }
+        return count;
+    }
+
+    /**
+     * 批量迁移超时任务及参与者到历史表，并删除 flw_task 及 flw_task_actor 中对应记录
+     *
+     * @param tasks 超时任务列表
+     */
+    protected void moveToHistoryTimeout(List<Task> tasks) {
+        final Date finishTime = DateUtils.getCurrentDate();
+        List<Long> taskIds = tasks.stream().map(Task::getId).collect(Collectors.toList());
+        if (null == historyWriter && FlowLongContext.SET_BASED_MIGRATION) {
+            // 集合迁移 flw_task 到 flw_his_task ，flw_task_actor 到 flw_his_task_actor
+            hisTaskMapper.insertSelectTasks(taskIds, finishTime, TaskState.timeout.getValue());
+            hisTaskActorMapper.insertSelectTaskActors(taskIds);
+        } else {
+            Map<Long, List<HisTaskActor>> actorMap = taskActorMapper.selectList(Wrappers.<TaskActor>lambdaQuery()
+                            .in(TaskActor::getTaskId, taskIds)).stream().map(HisTaskActor::of)
+                    .collect(Collectors.groupingBy(HisTaskActor::getTaskId));
+            List<HisTask> hisTasks = tasks.stream().map(t -> {
+                HisTask hisTask = HisTask.of(t);
+                hisTask.setFinishTime(finishTime);
+                hisTask.setTaskState(TaskState.timeout);
+                return hisTask;
+            }).collect(Collectors.toList());
+            if (null != historyWriter) {
+                // 历史任务及参与者交由历史写入器写入
+                hisTasks.forEach(t -> historyWriter.insertHisTask(t, actorMap.get(t.getId())));
+            } else {
+                hisTaskMapper.insertBatch(hisTasks);
+                if (!actorMap.isEmpty()) {
+                    hisTaskActorMapper.insertBatch(actorMap.values().stream().flatMap(List::stream).collect(Collectors.toList()));
+                }
+            }
+        }
+        taskActorMapper.deleteByTaskIds(taskIds);
+        taskMapper.deleteBatchIds(taskIds);
+    }
+
     /**
      * 根据 任务ID 认领任务，删除其它任务参与者
      */
@@ -255,21 +431,24 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Task resume(Long taskId, TaskActor taskActor) {
-        HisTask histTask = hisTaskMapper.getCheckById(taskId);
-        Assert.isTrue(ObjectUtils.isEmpty(histTask.getCreateBy()) || !Objects.equals(histTask.getCreateBy(), taskActor.getActorId()),
-                "当前参与者[" + taskActor.getActorId() + "]不允许唤醒历史任务[taskId=" + taskId + "]");
-
-        // 流程实例结束情况恢复流程实例
-        Instance instance = instanceMapper.selectById(histTask.getInstanceId());
-        Assert.isNull(instance, "已结束流程任务不支持唤醒");
-
-        // 历史任务恢复
-        Task task = histTask.cloneTask(null);
-        taskMapper.insert(task);
+        this.flushHistory();
+        return transactionExecutor.execute(() -> {
+            HisTask histTask = hisTaskMapper.getCheckById(taskId);
+            Assert.isTrue(ObjectUtils.isEmpty(histTask.getCreateBy()) || !Objects.equals(histTask.getCreateBy(), taskActor.getActorId()),
+                    "当前参与者[" + taskActor.getActorId() + "]不允许唤醒历史任务[taskId=" + taskId + "]");
+
+            // 流程实例结束情况恢复流程实例
+            Instance instance = instanceMapper.selectById(histTask.getInstanceId());
+            Assert.isNull(instance, "已结束流程任务不支持唤醒");
+
+            // 历史任务恢复
+            Task task = histTask.cloneTask(null);
+            taskMapper.insert(task);
 
-        // 分配任务
-        assignTask(task.getInstanceId(), taskId, taskActor);
-        return task;
+            // 分配任务
+            assignTask(task.getInstanceId(), taskId, taskActor);
+            return task;
+        });
     }
 
     /**
@@ -318,7 +497,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     /**
-     * 撤回历史任务
+     * 撤回历史任务，撤回、拿回、驳回在同一事务中删除后续任务并恢复历史任务
      *
      * @param hisTaskId       历史任务ID
      * @param flowCreator     任务创建者
@@ -326,27 +505,30 @@ public class TaskServiceImpl implements TaskService {
      * @return
      */
     protected Optional<Task> undoHisTask(Long hisTaskId, FlowCreator flowCreator, Consumer<HisTask> hisTaskConsumer) {
-        HisTask hisTask = hisTaskMapper.getCheckById(hisTaskId);
-        if (null != hisTaskConsumer) {
-            hisTaskConsumer.accept(hisTask);
-        }
-        // 撤回历史任务
-        Task task = hisTask.undoTask(flowCreator);
-        taskMapper.insert(task);
-        // 撤回任务参与者
-        List<HisTaskActor> hisTaskActors = hisTaskActorMapper.selectListByTaskId(hisTaskId);
-        if (null != hisTaskActors) {
-            hisTaskActors.forEach(t -> {
-                TaskActor taskActor = new TaskActor();
-                taskActor.setTenantId(t.getTenantId());
-                taskActor.setTaskId(task.getId());
-                taskActor.setType(t.getType());
-                taskActor.setActorId(t.getActorId());
-                taskActor.setActorName(t.getActorName());
-                taskActorMapper.insert(taskActor);
-            });
-        }
-        return Optional.ofNullable(task);
+        this.flushHistory();
+        return transactionExecutor.execute(() -> {
+            HisTask hisTask = hisTaskMapper.getCheckById(hisTaskId);
+            if (null != hisTaskConsumer) {
+                hisTaskConsumer.accept(hisTask);
+            }
+            // 撤回历史任务
+            Task task = hisTask.undoTask(flowCreator);
+            taskMapper.insert(task);
+            // 撤回任务参与者
+            List<HisTaskActor> hisTaskActors = hisTaskActorMapper.selectListByTaskId(hisTaskId);
+            if (ObjectUtils.isNotEmpty(hisTaskActors)) {
+                taskActorMapper.insertBatch(hisTaskActors.stream().map(t -> {
+                    TaskActor taskActor = new TaskActor();
+                    taskActor.setTenantId(t.getTenantId());
+                    taskActor.setTaskId(task.getId());
+                    taskActor.setType(t.getType());
+                    taskActor.setActorId(t.getActorId());
+                    taskActor.setActorName(t.getActorName());
+                    return taskActor;
+                }).collect(Collectors.toList()));
+            }
+            return Optional.ofNullable(task);
+        });
     }
 
     /**
@@ -357,10 +539,26 @@ public class TaskServiceImpl implements TaskService {
      * @param taskActor  任务参与者
      */
     protected void assignTask(Long instanceId, Long taskId, TaskActor taskActor) {
+        taskActorMapper.insert(this.resetTaskActor(instanceId, taskId, taskActor));
+    }
+
+    /**
+     * 对指定的任务批量分配参与者
+     *
+     * @param instanceId 实例ID
+     * @param taskId     任务ID
+     * @param taskActors 任务参与者列表
+     */
+    protected void assignTask(Long instanceId, Long taskId, List<TaskActor> taskActors) {
+        taskActorMapper.insertBatch(taskActors.stream().map(t -> this.resetTaskActor(instanceId, taskId, t))
+                .collect(Collectors.toList()));
+    }
+
+    private TaskActor resetTaskActor(Long instanceId, Long taskId, TaskActor taskActor) {
         taskActor.setId(null);
         taskActor.setInstanceId(instanceId);
         taskActor.setTaskId(taskId);
-        taskActorMapper.insert(taskActor);
+        return taskActor;
     }
 
     /**
@@ -388,6 +586,37 @@ public class TaskServiceImpl implements TaskService {
         return taskMapper.selectList(Wrappers.<Task>lambdaQuery().le(Task::getExpireTime, currentDate).or().le(Task::getRemindTime, currentDate));
     }
 
+    /**
+     * 获取指定时间之前超时或者需要提醒的任务，不包含提醒次数已用完的任务
+     *
+     * @param endTime 截止时间
+     * @return List<Task> 任务列表
+     */
+    @Override
+    public List<Task> getTimeoutOrRemindTasks(Date endTime) {
+        return taskMapper.selectList(Wrappers.<Task>lambdaQuery().le(Task::getExpireTime, endTime)
+                .or(w -> w.le(Task::getRemindTime, endTime).gt(Task::getRemindRepeat, 0)));
+    }
+
+    /**
+     * 获取当前节点分区内指定时间之前超时或者需要提醒的任务
+     * 按任务ID的 CRC32 值取模分区，分布均匀且不依赖ID生成规则，与 {@link JobPartition#contains(Long)} 计算一致，
+     * 需数据库支持 CRC32 函数（MySQL、MariaDB 等）
+     *
+     * @param endTime   截止时间
+     * @param partition 节点分区
+     * @return List<Task> 任务列表
+     */
+    @Override
+    public List<Task> getTimeoutOrRemindTasks(Date endTime, JobPartition partition) {
+        if (null == partition || partition.getCount() <= 1) {
+            return this.getTimeoutOrRemindTasks(endTime);
+        }
+        return taskMapper.selectList(Wrappers.<Task>lambdaQuery()
+                .and(w -> w.le(Task::getExpireTime, endTime).or(o -> o.le(Task::getRemindTime, endTime).gt(Task::getRemindRepeat, 0)))
+                .apply("MOD(CRC32(id), {0}) = {1}", partition.getCount(), partition.getIndex()));
+    }
+
     /**
      * 获取任务模型
      *
@@ -462,6 +691,7 @@ public class TaskServiceImpl implements TaskService {
         if (ObjectUtils.isNotEmpty(nodeModel.getNodeUserList())) {
             Long parentTaskId = execution.getTask().getId();
             List<NodeAssignee> nodeUserList = nodeModel.getNodeUserList();
+            List<TaskCc> taskCcList = new ArrayList<>(nodeUserList.size());
             for (NodeAssignee nodeUser : nodeUserList) {
                 TaskCc taskCc = new TaskCc();
                 taskCc.setParentTaskId(execution.getTask().getId());
@@ -476,8 +706,9 @@ public class TaskServiceImpl implements TaskService {
                 taskCc.setActorName(nodeUser.getName());
                 taskCc.setType(0);
                 taskCc.setState(1);
-                taskCcMapper.insert(taskCc);
+                taskCcList.add(taskCc);
             }
+            taskCcMapper.insertBatch(taskCcList);
         }
     }
 
@@ -515,7 +746,7 @@ public class TaskServiceImpl implements TaskService {
             taskMapper.insert(task);
             if (ObjectUtils.isNotEmpty(taskActors)) {
                 // 发起人保存参与者
-                taskActors.forEach(t -> this.assignTask(task.getInstanceId(), task.getId(), t));
+                this.assignTask(task.getInstanceId(), task.getId(), taskActors);
             }
             tasks.add(task);
             return tasks;
@@ -528,7 +759,7 @@ public class TaskServiceImpl implements TaskService {
              * 或签一条任务多个参与者
              */
             taskMapper.insert(task);
-            taskActors.forEach(t -> this.assignTask(task.getInstanceId(), task.getId(), t));
+            this.assignTask(task.getInstanceId(), task.getId(), taskActors);
             tasks.add(task);
 
             // 创建任务监听
@@ -556,19 +787,21 @@ public class TaskServiceImpl implements TaskService {
         }
 
         /**
-         * 会签每个参与者生成一条任务
+         * 会签每个参与者生成一条任务，任务及参与者分别批量写入
          */
-        taskActors.forEach(t -> {
-            Task newTask = task.cloneTask(null);
-            taskMapper.insert(newTask);
-            tasks.add(newTask);
-
-            // 分配参与者
-            this.assignTask(newTask.getInstanceId(), newTask.getId(), t);
+        taskActors.forEach(t -> tasks.add(task.cloneTask(null)));
+        taskMapper.insertBatch(tasks);
+
+        // 分配参与者
+        List<TaskActor> newTaskActors = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task newTask = tasks.get(i);
+            newTaskActors.add(this.resetTaskActor(newTask.getInstanceId(), newTask.getId(), taskActors.get(i)));
+        }
+        taskActorMapper.insertBatch(newTaskActors);
 
-            // 创建任务监听
-            this.taskNotify(TaskListener.EVENT_CREATE, newTask);
-        });
+        // 创建任务监听
+        tasks.forEach(t -> this.taskNotify(TaskListener.EVENT_CREATE, t));
         return tasks;
     }
 
@@ -666,6 +899,7 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public void cascadeRemoveByInstanceId(Long instanceId) {
+        this.flushHistory();
         // 删除历史任务及参与者
         List<HisTask> hisTaskList = hisTaskMapper.selectList(Wrappers.<HisTask>lambdaQuery().select(HisTask::getId).eq(HisTask::getInstanceId, instanceId));
         if (ObjectUtils.isNotEmpty(hisTaskList)) {
@@ -0,0 +1,72 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 事件发件箱实体类，与流程数据同一事务写入，由中继投递给监听器或外部系统
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+@ToString
+@TableName("flw_event_outbox")
+public class EventOutbox implements Serializable {
+    public static final String ENTITY_TASK = "task";
+    public static final String ENTITY_INSTANCE = "instance";
+
+    /**
+     * 主键ID
+     */
+    protected Long id;
+    /**
+     * 流程实例ID
+     */
+    protected Long instanceId;
+    /**
+     * 事件对象类型 task 任务 instance 流程实例
+     */
+    protected String entityType;
+    /**
+     * 事件对象ID
+     */
+    protected Long entityId;
+    /**
+     * 事件
+     */
+    protected String event;
+    /**
+     * 事件对象 JSON
+     */
+    protected String payload;
+    /**
+     * 创建时间
+     */
+    protected Date createTime;
+
+}
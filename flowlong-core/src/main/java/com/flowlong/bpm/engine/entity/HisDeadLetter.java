@@ -0,0 +1,65 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 历史记录死信实体类，异步写入重试后仍失败的历史记录保存至该表，修复后可人工补录
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+@ToString
+@TableName("flw_his_dead_letter")
+public class HisDeadLetter implements Serializable {
+    /**
+     * 主键ID
+     */
+    protected Long id;
+    /**
+     * 写入操作 insertInstance 新增历史实例 updateInstance 更新历史实例 insertTask 新增历史任务及参与者
+     */
+    protected String operation;
+    /**
+     * 历史实例或历史任务ID
+     */
+    protected Long entityId;
+    /**
+     * 历史记录 JSON ，新增历史任务时包含参与者
+     */
+    protected String payload;
+    /**
+     * 最后一次写入失败原因
+     */
+    protected String error;
+    /**
+     * 创建时间
+     */
+    protected Date createTime;
+
+}
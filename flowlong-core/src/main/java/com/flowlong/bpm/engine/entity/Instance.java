@@ -15,12 +15,14 @@
 package com.flowlong.bpm.engine.entity;
 
 import com.baomidou.mybatisplus.annotation.TableName;
-import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.flowlong.bpm.engine.assist.LazyVariable;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.util.Collections;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
 
@@ -59,6 +61,13 @@ public class Instance extends FlowEntity {
      * 变量json
      */
     protected String variable;
+    /**
+     * 变量延迟解析缓存
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient LazyVariable lazyVariable;
     /**
      * 版本
      */
@@ -76,18 +85,42 @@ public class Instance extends FlowEntity {
      */
     protected Date lastUpdateTime;
 
-    @SuppressWarnings("unchecked")
+    protected LazyVariable lazyVariable() {
+        if (null == lazyVariable) {
+            lazyVariable = new LazyVariable();
+            lazyVariable.setJson(this.variable);
+        }
+        return lazyVariable;
+    }
+
+    /**
+     * 变量 Map 写时复制视图，同一实例只解析一次，修改后需调用 {@link #setVariable(Map)} 写回
+     */
+    @JsonIgnore
     public Map<String, Object> getVariableMap() {
-        Map<String, Object> map = FlowLongContext.JSON_HANDLER.fromJson(this.variable, Map.class);
-        if (map == null) return Collections.emptyMap();
-        return map;
+        return this.lazyVariable().getMap();
+    }
+
+    /**
+     * 读取指定变量，未解析时只解码指定变量
+     */
+    public Map<String, Object> getVariableMap(Collection<String> names) {
+        return this.lazyVariable().getMap(names);
+    }
+
+    public String getVariable() {
+        if (null != lazyVariable) {
+            this.variable = lazyVariable.getJson();
+        }
+        return this.variable;
     }
 
     public void setVariable(String variable) {
         this.variable = variable;
+        this.lazyVariable = null;
     }
 
     public void setVariable(Map<String, Object> args) {
-        this.variable = FlowLongContext.JSON_HANDLER.toJson(args);
+        this.lazyVariable().setMap(args);
     }
 }
@@ -27,6 +27,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.Date;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -87,7 +88,8 @@ public class Process extends FlowEntity {
      * 模型解析
      */
     public ProcessModel getProcessModel() {
-        return null == this.content ? null : ProcessModel.parse(this.content);
+        return null == this.content ? null : FlowLongContext.PROCESS_MODEL_CACHE.get(this.id, this.content,
+                () -> ProcessModel.parse(this.content));
     }
 
     /**
@@ -104,7 +106,7 @@ public class Process extends FlowEntity {
             NodeModel executeNode = nodeModel.getChildNode();
             if (null == executeNode) {
                 // 如果当前节点完成，并且该节点为条件节点，找到主干执行节点继续执行
-                executeNode = this.findNextNode(nodeModel);
+                executeNode = processModel.getNextNode(nodeModel);
             }
 
             /**
@@ -119,7 +121,7 @@ public class Process extends FlowEntity {
                  * 执行结束流程处理器
                  */
                 if (null == executeNode.getChildNode() && null == executeNode.getConditionNodes()) {
-                    NodeModel nextNode = this.findNextNode(executeNode);
+                    NodeModel nextNode = processModel.getNextNode(executeNode);
                     if (null == nextNode || Objects.equals(executeNode.getNodeName(), nextNode.getNodeName())) {
                         new EndProcessHandler().handle(flowLongContext, execution);
                     }
@@ -133,22 +135,6 @@ public class Process extends FlowEntity {
         });
     }
 
-    private NodeModel findNextNode(NodeModel nodeModel) {
-        NodeModel parentNode = nodeModel.getParentNode();
-        if (null == parentNode || Objects.equals(0, parentNode.getType())) {
-            // 递归至发起节点，流程结束
-            return null;
-        }
-
-        if (parentNode.isConditionNode()) {
-            // 条件执行节点，返回子节点
-            return parentNode.getChildNode();
-        }
-
-        // 往上继续找下一个执行节点
-        return this.findNextNode(parentNode);
-    }
-
     /**
      * 执行开始模型
      *
@@ -170,11 +156,35 @@ public class Process extends FlowEntity {
      * @param consumer 解析模型消费者
      */
     private void processModelParser(Consumer<ProcessModel> consumer) {
-        if (null != this.content) {
-            consumer.accept(ProcessModel.parse(this.content));
+        ProcessModel processModel = this.getProcessModel();
+        if (null != processModel) {
+            consumer.accept(processModel);
         }
     }
 
+    /**
+     * 复制流程定义
+     *
+     * @return {@link Process}
+     */
+    public Process copy() {
+        Process process = new Process();
+        process.setId(id);
+        process.setTenantId(tenantId);
+        process.setCreateId(createId);
+        process.setCreateBy(createBy);
+        process.setCreateTime(null == createTime ? null : (Date) createTime.clone());
+        process.setName(name);
+        process.setDisplayName(displayName);
+        process.setIcon(icon);
+        process.setType(type);
+        process.setVersion(version);
+        process.setInstanceUrl(instanceUrl);
+        process.setState(state);
+        process.setContent(content);
+        return process;
+    }
+
     /**
      * 流程状态验证
      */
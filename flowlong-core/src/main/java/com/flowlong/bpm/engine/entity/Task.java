@@ -15,16 +15,18 @@
 package com.flowlong.bpm.engine.entity;
 
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonSetter;
 import com.flowlong.bpm.engine.assist.Assert;
 import com.flowlong.bpm.engine.assist.DateUtils;
-import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.assist.LazyVariable;
 import com.flowlong.bpm.engine.core.enums.PerformType;
 import com.flowlong.bpm.engine.core.enums.TaskType;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.util.Collections;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
 import java.util.Objects;
@@ -77,6 +79,13 @@ public class Task extends FlowEntity {
      * 变量json
      */
     protected String variable;
+    /**
+     * 变量延迟解析缓存
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient LazyVariable lazyVariable;
     /**
      * 委托人ID
      */
@@ -110,19 +119,45 @@ public class Task extends FlowEntity {
         return Objects.equals(this.taskType, TaskType.major.getValue());
     }
 
+    protected LazyVariable lazyVariable() {
+        if (null == lazyVariable) {
+            lazyVariable = new LazyVariable();
+            lazyVariable.setJson(this.variable);
+        }
+        return lazyVariable;
+    }
+
+    /**
+     * 变量 Map 写时复制视图，同一任务只解析一次，修改后需调用 {@link #setVariable(Map)} 写回
+     */
     public Map<String, Object> variableMap() {
-        Map<String, Object> map = FlowLongContext.JSON_HANDLER.fromJson(this.variable, Map.class);
-        return null == map ? Collections.emptyMap() : map;
+        return this.lazyVariable().getMap();
+    }
+
+    /**
+     * 读取指定变量，未解析时只解码指定变量
+     */
+    public Map<String, Object> variableMap(Collection<String> names) {
+        return this.lazyVariable().getMap(names);
+    }
+
+    public String getVariable() {
+        if (null != lazyVariable) {
+            this.variable = lazyVariable.getJson();
+        }
+        return this.variable;
     }
 
     public void setVariable(String variable) {
         this.variable = variable;
+        this.lazyVariable = null;
     }
 
     public void setTaskType(TaskType taskType) {
         this.taskType = taskType.getValue();
     }
 
+    @JsonSetter
     public void setTaskType(Integer taskType) {
         Assert.notNull(TaskType.get(taskType), "illegal type [taskType=" + taskType + "]");
         this.taskType = taskType;
@@ -132,13 +167,14 @@ public class Task extends FlowEntity {
         this.performType = performType.getValue();
     }
 
+    @JsonSetter
     public void setPerformType(Integer performType) {
         Assert.notNull(PerformType.get(performType), "illegal type [performType=" + taskType + "]");
         this.performType = performType;
     }
 
     public void setVariable(Map<String, Object> args) {
-        this.variable = FlowLongContext.JSON_HANDLER.toJson(args);
+        this.lazyVariable().setMap(args);
     }
 
     public Task cloneTask(TaskActor taskActor) {
@@ -159,7 +195,11 @@ public class Task extends FlowEntity {
         newTask.setTaskType(taskType);
         newTask.setPerformType(performType);
         newTask.setActionUrl(actionUrl);
-        newTask.setVariable(variable);
+        if (null != lazyVariable) {
+            // 克隆任务共享变量序列化及解析结果
+            newTask.lazyVariable = lazyVariable.copy();
+        }
+        newTask.variable = this.getVariable();
         newTask.setExpireTime(expireTime);
         newTask.setRemindTime(remindTime);
         newTask.setRemindRepeat(remindRepeat);
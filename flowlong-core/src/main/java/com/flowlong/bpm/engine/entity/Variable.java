@@ -0,0 +1,150 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * 流程变量实体类，一个变量一行，按变量名增量更新
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+@ToString
+@TableName("flw_variable")
+public class Variable implements Serializable {
+    /**
+     * 流程实例作用域
+     */
+    public static final long SCOPE_INSTANCE = 0L;
+    public static final String TYPE_NULL = "null";
+    public static final String TYPE_STRING = "string";
+    public static final String TYPE_INTEGER = "integer";
+    public static final String TYPE_LONG = "long";
+    public static final String TYPE_DOUBLE = "double";
+    public static final String TYPE_DECIMAL = "decimal";
+    public static final String TYPE_BOOLEAN = "boolean";
+    public static final String TYPE_JSON = "json";
+
+    /**
+     * 主键ID
+     */
+    protected Long id;
+    /**
+     * 流程实例ID
+     */
+    protected Long instanceId;
+    /**
+     * 作用域ID 0，流程实例 其它为任务ID
+     */
+    protected Long scopeId;
+    /**
+     * 变量名
+     */
+    protected String name;
+    /**
+     * 变量类型
+     */
+    protected String varType;
+    /**
+     * 变量值
+     */
+    protected String varValue;
+    /**
+     * 更新时间
+     */
+    protected Date updateTime;
+
+    public static Variable of(Long instanceId, Long scopeId, String name, Object value) {
+        Variable variable = new Variable();
+        variable.instanceId = instanceId;
+        variable.scopeId = scopeId;
+        variable.name = name;
+        variable.setValue(value);
+        return variable;
+    }
+
+    /**
+     * 按值类型设置变量类型及字符串值
+     */
+    public void setValue(Object value) {
+        if (null == value) {
+            this.varType = TYPE_NULL;
+            this.varValue = null;
+            return;
+        }
+        if (value instanceof String) {
+            this.varType = TYPE_STRING;
+            this.varValue = (String) value;
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            this.varType = TYPE_INTEGER;
+            this.varValue = value.toString();
+        } else if (value instanceof Long) {
+            this.varType = TYPE_LONG;
+            this.varValue = value.toString();
+        } else if (value instanceof Double || value instanceof Float) {
+            this.varType = TYPE_DOUBLE;
+            this.varValue = value.toString();
+        } else if (value instanceof BigDecimal) {
+            this.varType = TYPE_DECIMAL;
+            this.varValue = ((BigDecimal) value).toPlainString();
+        } else if (value instanceof Boolean) {
+            this.varType = TYPE_BOOLEAN;
+            this.varValue = value.toString();
+        } else {
+            this.varType = TYPE_JSON;
+            this.varValue = FlowLongContext.JSON_HANDLER.toJson(value);
+        }
+    }
+
+    /**
+     * 按变量类型解析变量值
+     */
+    public Object getValue() {
+        if (null == varValue) {
+            return null;
+        }
+        switch (varType) {
+            case TYPE_STRING:
+                return varValue;
+            case TYPE_INTEGER:
+                return Integer.valueOf(varValue);
+            case TYPE_LONG:
+                return Long.valueOf(varValue);
+            case TYPE_DOUBLE:
+                return Double.valueOf(varValue);
+            case TYPE_DECIMAL:
+                return new BigDecimal(varValue);
+            case TYPE_BOOLEAN:
+                return Boolean.valueOf(varValue);
+            default:
+                return FlowLongContext.JSON_HANDLER.fromJson(varValue, Object.class);
+        }
+    }
+}
@@ -14,6 +14,10 @@
  */
 package com.flowlong.bpm.engine.handler;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * JSON 解析处理器接口
  *
@@ -44,4 +48,36 @@ public interface JsonHandler {
      */
     <T> T fromJson(String jsonString, Class<T> clazz);
 
+    /**
+     * JSON 字符串转为 Map 对象
+     *
+     * @param jsonString JSON字符串
+     * @return Map 对象
+     */
+    @SuppressWarnings("unchecked")
+    default Map<String, Object> fromJsonMap(String jsonString) {
+        return this.fromJson(jsonString, Map.class);
+    }
+
+    /**
+     * JSON 字符串转为 Map 对象，仅读取指定属性
+     *
+     * @param jsonString JSON字符串
+     * @param keys       读取的属性名
+     * @return Map 对象，不存在的属性不包含在结果中
+     */
+    default Map<String, Object> fromJsonMap(String jsonString, Collection<String> keys) {
+        Map<String, Object> map = this.fromJsonMap(jsonString);
+        if (null == map) {
+            return null;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            if (map.containsKey(key)) {
+                result.put(key, map.get(key));
+            }
+        }
+        return result;
+    }
+
 }
@@ -0,0 +1,70 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.handler;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 流程变量编解码器接口，流程实例、任务、历史任务 variable 字段的读写格式
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public interface VariableCodec {
+
+    /**
+     * 变量编码为字段保存的字符串
+     *
+     * @param variables 变量
+     * @return 编码后的字符串
+     */
+    String encode(Map<String, Object> variables);
+
+    /**
+     * 字段字符串解码为变量，需兼容历史数据中的 JSON 字符串
+     *
+     * @param text 字段字符串
+     * @return 变量
+     */
+    Map<String, Object> decode(String text);
+
+    /**
+     * 字段字符串解码为变量，仅读取指定变量
+     *
+     * @param text  字段字符串
+     * @param names 读取的变量名
+     * @return 变量，不存在的变量名不包含在结果中
+     */
+    default Map<String, Object> decode(String text, Collection<String> names) {
+        Map<String, Object> variables = this.decode(text);
+        if (null == variables) {
+            return null;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : names) {
+            if (variables.containsKey(name)) {
+                result.put(name, variables.get(name));
+            }
+        }
+        return result;
+    }
+
+}
@@ -14,15 +14,31 @@
  */
 package com.flowlong.bpm.engine.handler.impl;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.flowlong.bpm.engine.exception.FlowLongException;
 import com.flowlong.bpm.engine.handler.JsonHandler;
+import com.flowlong.bpm.engine.model.ProcessModel;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Jackson JSON 解析处理器接口
+ * <p>
+ * 共享一个 ObjectMapper ，流程模型、Map 及已使用过的类型预先绑定 ObjectReader 避免每次解析类型。
+ * 类路径存在 jackson-module-blackbird 或 jackson-module-afterburner 时自动注册，加速 Bean 序列化
+ * </p>
  *
  * <p>
  * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
@@ -32,11 +48,49 @@ import com.flowlong.bpm.engine.handler.JsonHandler;
  * @since 1.0
  */
 public class JacksonHandler implements JsonHandler {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper(new JsonFactory());
+    private static final ObjectWriter WRITER = OBJECT_MAPPER.writer();
+    private static final ObjectReader MAP_READER = OBJECT_MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+    });
+    private static final ObjectReader PROCESS_MODEL_READER = OBJECT_MAPPER.readerFor(ProcessModel.class);
+    private static final ObjectReader VALUE_READER = OBJECT_MAPPER.readerFor(Object.class);
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
 
     static {
-        OBJECT_MAPPER.registerModule(new JavaTimeModule());
-        OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        READERS.put(Map.class, MAP_READER);
+        READERS.put(ProcessModel.class, PROCESS_MODEL_READER);
+    }
+
+    /**
+     * 创建统一配置的 ObjectMapper
+     *
+     * @param jsonFactory 数据格式工厂
+     * @return {@link ObjectMapper}
+     */
+    public static ObjectMapper createObjectMapper(JsonFactory jsonFactory) {
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        Module optimizeModule = optimizeModule();
+        if (null != optimizeModule) {
+            objectMapper.registerModule(optimizeModule);
+        }
+        return objectMapper;
+    }
+
+    /**
+     * 字节码优化模块，JDK 11 及以上优先 Blackbird ，未引入依赖时返回 null
+     */
+    private static Module optimizeModule() {
+        for (String className : new String[]{"com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+                "com.fasterxml.jackson.module.afterburner.AfterburnerModule"}) {
+            try {
+                return (Module) Class.forName(className).getConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // 未引入依赖或当前 JDK 不支持
+            }
+        }
+        return null;
     }
 
     @Override
@@ -45,7 +99,7 @@ public class JacksonHandler implements JsonHandler {
             return null;
         }
         try {
-            return OBJECT_MAPPER.writeValueAsString(object);
+            return WRITER.writeValueAsString(object);
         } catch (JsonProcessingException e) {
             throw new FlowLongException(e);
         }
@@ -57,9 +111,69 @@ public class JacksonHandler implements JsonHandler {
             return null;
         }
         try {
-            return OBJECT_MAPPER.readValue(jsonString, clazz);
+            return READERS.computeIfAbsent(clazz, OBJECT_MAPPER::readerFor).readValue(jsonString);
         } catch (JsonProcessingException e) {
             throw new FlowLongException(e);
         }
     }
+
+    @Override
+    public Map<String, Object> fromJsonMap(String jsonString) {
+        if (null == jsonString) {
+            return null;
+        }
+        try {
+            return MAP_READER.readValue(jsonString);
+        } catch (JsonProcessingException e) {
+            throw new FlowLongException(e);
+        }
+    }
+
+    /**
+     * 流式读取指定属性，其它属性值直接跳过不创建对象
+     */
+    @Override
+    public Map<String, Object> fromJsonMap(String jsonString, Collection<String> keys) {
+        if (null == jsonString) {
+            return null;
+        }
+        try (JsonParser parser = VALUE_READER.createParser(jsonString)) {
+            return readMap(VALUE_READER, parser, keys);
+        } catch (IOException e) {
+            throw new FlowLongException(e);
+        }
+    }
+
+    /**
+     * 从解析器读取对象的指定属性
+     *
+     * @param valueReader 属性值读取器
+     * @param parser      解析器
+     * @param keys        读取的属性名
+     * @return Map 对象，内容为 null 时返回 null
+     */
+    public static Map<String, Object> readMap(ObjectReader valueReader, JsonParser parser, Collection<String> keys) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (null == token || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new FlowLongException("Expected a json object but was " + token);
+        }
+        Set<String> names = keys instanceof Set ? (Set<String>) keys : new HashSet<>(keys);
+        Map<String, Object> result = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (names.contains(name)) {
+                result.put(name, valueReader.readValue(parser));
+                if (result.size() == names.size()) {
+                    break;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
 }
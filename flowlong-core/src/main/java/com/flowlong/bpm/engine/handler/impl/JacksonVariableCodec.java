@@ -0,0 +1,241 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.handler.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.exception.FlowLongException;
+import com.flowlong.bpm.engine.handler.VariableCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Jackson 流程变量编解码器，支持 JSON 、Smile 、CBOR 格式及 Deflate 压缩
+ * <p>
+ * 未压缩的 JSON 原样保存，其它编码为 <code>FLV1</code> + 格式 + 压缩方式 + <code>:</code> + Base64 数据，
+ * 无该头部的字段按 JSON 读取，兼容已有数据，切换编码格式后新旧数据均可读取。
+ * JSON 格式由 {@link FlowLongContext#JSON_HANDLER} 处理，与自定义 JSON 处理器保持一致；
+ * Smile 、CBOR 格式始终压缩，避免 Base64 膨胀后大于 JSON
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class JacksonVariableCodec implements VariableCodec {
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_SMILE = "smile";
+    public static final String FORMAT_CBOR = "cbor";
+    /**
+     * 格式头部，JSON 不会以该字符串开头
+     */
+    protected static final String HEADER = "FLV1";
+    protected static final int HEADER_LENGTH = HEADER.length() + 3;
+    private static final char CODE_JSON = 'J';
+    private static final char CODE_SMILE = 'S';
+    private static final char CODE_CBOR = 'C';
+    private static final char COMPRESS_DEFLATE = 'D';
+
+    private final char formatCode;
+    private final int compressThreshold;
+    /**
+     * 二进制格式写入器，JSON 格式为 null
+     */
+    private final ObjectWriter writer;
+    /**
+     * 二进制格式读取器，按需创建
+     */
+    private volatile ObjectReader smileReader;
+    private volatile ObjectReader cborReader;
+
+    public JacksonVariableCodec() {
+        this(new VariableCodecParam());
+    }
+
+    public JacksonVariableCodec(VariableCodecParam variableCodecParam) {
+        String format = variableCodecParam.getFormat();
+        if (FORMAT_SMILE.equalsIgnoreCase(format)) {
+            this.formatCode = CODE_SMILE;
+        } else if (FORMAT_CBOR.equalsIgnoreCase(format)) {
+            this.formatCode = CODE_CBOR;
+        } else if (null == format || FORMAT_JSON.equalsIgnoreCase(format)) {
+            this.formatCode = CODE_JSON;
+        } else {
+            throw new FlowLongException("Unsupported variable codec format: " + format);
+        }
+        this.compressThreshold = variableCodecParam.getCompressThreshold();
+        if (CODE_JSON == formatCode) {
+            this.writer = null;
+        } else {
+            this.writer = JacksonHandler.createObjectMapper(binaryFactory(formatCode)).writer();
+            if (CODE_SMILE == formatCode) {
+                this.smileReader = createReader(binaryFactory(CODE_SMILE));
+            } else {
+                this.cborReader = createReader(binaryFactory(CODE_CBOR));
+            }
+        }
+    }
+
+    protected static ObjectReader createReader(JsonFactory jsonFactory) {
+        return JacksonHandler.createObjectMapper(jsonFactory).readerFor(Map.class);
+    }
+
+    /**
+     * 反射创建二进制格式工厂，未引入 jackson-dataformat 依赖时不影响 JSON 格式使用
+     */
+    protected static JsonFactory binaryFactory(char formatCode) {
+        String className = CODE_SMILE == formatCode ? "com.fasterxml.jackson.dataformat.smile.SmileFactory"
+                : "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+        try {
+            return (JsonFactory) Class.forName(className).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new FlowLongException("Variable codec requires " + className + " on the classpath", e);
+        }
+    }
+
+    @Override
+    public String encode(Map<String, Object> variables) {
+        if (null == variables) {
+            return null;
+        }
+        try {
+            byte[] data;
+            if (CODE_JSON == formatCode) {
+                String json = FlowLongContext.JSON_HANDLER.toJson(variables);
+                if (compressThreshold <= 0) {
+                    return json;
+                }
+                data = json.getBytes(StandardCharsets.UTF_8);
+                if (data.length <= compressThreshold) {
+                    return json;
+                }
+            } else {
+                data = writer.writeValueAsBytes(variables);
+            }
+            return HEADER + formatCode + COMPRESS_DEFLATE + ':' + Base64.getEncoder().encodeToString(deflate(data));
+        } catch (IOException e) {
+            throw new FlowLongException(e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> decode(String text) {
+        if (null == text) {
+            return null;
+        }
+        if (!isEncoded(text)) {
+            return FlowLongContext.JSON_HANDLER.fromJsonMap(text);
+        }
+        try {
+            char code = text.charAt(HEADER.length());
+            if (CODE_JSON == code) {
+                return FlowLongContext.JSON_HANDLER.fromJsonMap(this.readJson(text));
+            }
+            try (InputStream input = this.openStream(text)) {
+                return this.reader(code).readValue(input);
+            }
+        } catch (IOException e) {
+            throw new FlowLongException(e);
+        }
+    }
+
+    /**
+     * 流式读取指定变量，其它变量值直接跳过不创建对象
+     */
+    @Override
+    public Map<String, Object> decode(String text, Collection<String> names) {
+        if (null == text) {
+            return null;
+        }
+        if (!isEncoded(text)) {
+            return FlowLongContext.JSON_HANDLER.fromJsonMap(text, names);
+        }
+        try {
+            char code = text.charAt(HEADER.length());
+            if (CODE_JSON == code) {
+                return FlowLongContext.JSON_HANDLER.fromJsonMap(this.readJson(text), names);
+            }
+            ObjectReader reader = this.reader(code);
+            try (JsonParser parser = reader.createParser(this.openStream(text))) {
+                return JacksonHandler.readMap(reader.forType(Object.class), parser, names);
+            }
+        } catch (IOException e) {
+            throw new FlowLongException(e);
+        }
+    }
+
+    protected static boolean isEncoded(String text) {
+        return text.startsWith(HEADER) && text.length() >= HEADER_LENGTH;
+    }
+
+    protected InputStream openStream(String text) {
+        byte[] data = Base64.getDecoder().decode(text.substring(HEADER_LENGTH));
+        InputStream in = new ByteArrayInputStream(data);
+        return COMPRESS_DEFLATE == text.charAt(HEADER.length() + 1) ? new InflaterInputStream(in) : in;
+    }
+
+    /**
+     * 读取带头部的 JSON 数据
+     */
+    protected String readJson(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream input = this.openStream(text)) {
+            byte[] buffer = new byte[4096];
+            for (int n; (n = input.read(buffer)) > 0; ) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    protected ObjectReader reader(char code) {
+        if (CODE_SMILE == code) {
+            if (null == smileReader) {
+                smileReader = createReader(binaryFactory(CODE_SMILE));
+            }
+            return smileReader;
+        }
+        if (CODE_CBOR == code) {
+            if (null == cborReader) {
+                cborReader = createReader(binaryFactory(CODE_CBOR));
+            }
+            return cborReader;
+        }
+        throw new FlowLongException("Unsupported variable codec format: " + code);
+    }
+
+    protected static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(data);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,42 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.handler.impl;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 流程变量编解码参数
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+public class VariableCodecParam {
+    /**
+     * 编码格式 json smile cbor ，smile cbor 需引入对应 jackson-dataformat 依赖
+     */
+    private String format = JacksonVariableCodec.FORMAT_JSON;
+    /**
+     * JSON 编码后超过该字节数时 Deflate 压缩，小于等于 0 不压缩；smile cbor 格式始终压缩
+     */
+    private int compressThreshold = 0;
+
+}
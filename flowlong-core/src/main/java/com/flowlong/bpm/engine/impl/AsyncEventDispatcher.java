@@ -0,0 +1,216 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.impl;
+
+import com.flowlong.bpm.engine.EventDispatcher;
+import com.flowlong.bpm.engine.TransactionExecutor;
+import com.flowlong.bpm.engine.listener.FlowLongListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 异步事件分发器
+ * <p>
+ * 事件在事务提交后按流程实例ID路由到固定的分发线程，每个线程持有一个有界队列，
+ * 保证同一流程实例的事件按顺序通知；分发线程批量取出事件，连续的同类事件合并调用
+ * {@link FlowLongListener#notifyBatch(String, List)} 通知监听器。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Slf4j
+public class AsyncEventDispatcher implements EventDispatcher, AutoCloseable {
+    private final TransactionExecutor transactionExecutor;
+    private final List<BlockingQueue<Event>> queues;
+    private final List<Thread> workers;
+    private final int batchSize;
+    private volatile boolean running = true;
+
+    public AsyncEventDispatcher(TransactionExecutor transactionExecutor, EventParam eventParam) {
+        this.transactionExecutor = null == transactionExecutor ? TransactionExecutor.NONE : transactionExecutor;
+        this.batchSize = Math.max(1, eventParam.getBatchSize());
+        int threads = Math.max(1, eventParam.getThreads());
+        this.queues = new ArrayList<>(threads);
+        this.workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            BlockingQueue<Event> queue = new ArrayBlockingQueue<>(eventParam.getQueueCapacity());
+            Thread worker = new Thread(() -> this.run(queue), "flowlong-event-dispatcher-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            queues.add(queue);
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public <T> void dispatch(Long instanceId, String event, T entity, List<? extends FlowLongListener<T>> listeners) {
+        if (null == listeners || listeners.isEmpty()) {
+            return;
+        }
+        // 事务提交后入队，监听器不会收到回滚的数据
+        transactionExecutor.afterCommit(() -> this.enqueue(new Event(instanceId, event, entity, listeners)));
+    }
+
+    @Override
+    public <T> void dispatchBatch(String event, List<T> entities, Function<T, Long> instanceId,
+                                  List<? extends FlowLongListener<T>> listeners) {
+        if (null == listeners || listeners.isEmpty() || null == entities || entities.isEmpty()) {
+            return;
+        }
+        List<Event> events = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            events.add(new Event(instanceId.apply(entity), event, entity, listeners));
+        }
+        // 整批注册一次事务提交后回调
+        transactionExecutor.afterCommit(() -> events.forEach(this::enqueue));
+    }
+
+    protected void enqueue(Event event) {
+        if (!running) {
+            this.notifyListeners(event.event, event.listeners, Collections.singletonList(event.entity));
+            return;
+        }
+        int index = null == event.instanceId ? 0 : (int) Math.floorMod(event.instanceId, (long) queues.size());
+        try {
+            // 队列已满时等待，不改变同一流程实例的事件顺序
+            queues.get(index).put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("flowlong event dispatch interrupted, notify synchronously: {}", event.event);
+            this.notifyListeners(event.event, event.listeners, Collections.singletonList(event.entity));
+        }
+    }
+
+    private void run(BlockingQueue<Event> queue) {
+        List<Event> events = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Event first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (null == first) {
+                    continue;
+                }
+                events.add(first);
+                queue.drainTo(events, batchSize - 1);
+                this.deliver(events);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    // 关闭时通知剩余事件
+                    queue.drainTo(events);
+                    this.deliver(events);
+                    break;
+                }
+            } catch (Throwable e) {
+                log.error("flowlong event dispatcher error", e);
+            } finally {
+                events.clear();
+            }
+        }
+    }
+
+    /**
+     * 连续的同类事件（相同监听器及事件名）合并批量通知
+     */
+    protected void deliver(List<Event> events) {
+        int start = 0;
+        for (int i = 1; i <= events.size(); i++) {
+            if (i < events.size() && events.get(i).sameKind(events.get(start))) {
+                continue;
+            }
+            Event head = events.get(start);
+            List<Object> entities = new ArrayList<>(i - start);
+            for (int j = start; j < i; j++) {
+                entities.add(events.get(j).entity);
+            }
+            this.notifyListeners(head.event, head.listeners, entities);
+            start = i;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void notifyListeners(String event, List<? extends FlowLongListener> listeners, List<Object> entities) {
+        for (FlowLongListener listener : listeners) {
+            try {
+                listener.notifyBatch(event, entities);
+            } catch (Throwable e) {
+                log.error("flowlong listener notify failed, event: " + event + ", listener: " + listener.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 停止接收新事件，等待分发线程通知完队列中的事件
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // 分发线程退出后入队或未及时通知的事件，在关闭线程中通知
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < queues.size(); i++) {
+            BlockingQueue<Event> queue = queues.get(i);
+            if (workers.get(i).isAlive()) {
+                // 分发线程仍在通知，不并发通知以免打乱同一流程实例的事件顺序
+                log.warn("flowlong event dispatcher {} not terminated, {} events left", workers.get(i).getName(), queue.size());
+                continue;
+            }
+            queue.drainTo(events);
+            if (!events.isEmpty()) {
+                this.deliver(events);
+                events.clear();
+            }
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    protected static class Event {
+        private final Long instanceId;
+        private final String event;
+        private final Object entity;
+        private final List<? extends FlowLongListener> listeners;
+
+        protected Event(Long instanceId, String event, Object entity, List<? extends FlowLongListener> listeners) {
+            this.instanceId = instanceId;
+            this.event = event;
+            this.entity = entity;
+            this.listeners = listeners;
+        }
+
+        protected boolean sameKind(Event other) {
+            return listeners == other.listeners && event.equals(other.event);
+        }
+    }
+}
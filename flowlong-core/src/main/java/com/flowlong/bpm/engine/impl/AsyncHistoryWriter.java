@@ -0,0 +1,411 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.impl;
+
+import com.flowlong.bpm.engine.HistoryWriter;
+import com.flowlong.bpm.engine.TransactionExecutor;
+import com.flowlong.bpm.engine.assist.DateUtils;
+import com.flowlong.bpm.engine.assist.ObjectUtils;
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.core.mapper.HisDeadLetterMapper;
+import com.flowlong.bpm.engine.core.mapper.HisInstanceMapper;
+import com.flowlong.bpm.engine.core.mapper.HisTaskActorMapper;
+import com.flowlong.bpm.engine.core.mapper.HisTaskMapper;
+import com.flowlong.bpm.engine.entity.FlowEntity;
+import com.flowlong.bpm.engine.entity.HisDeadLetter;
+import com.flowlong.bpm.engine.entity.HisInstance;
+import com.flowlong.bpm.engine.entity.HisTask;
+import com.flowlong.bpm.engine.entity.HisTaskActor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步批量历史记录写入器
+ * <p>
+ * 历史记录在事务提交后进入有界队列，事务回滚时不写入，由后台线程按批次大小或写入间隔批量写入，
+ * 队列已满时调用线程等待 offerTimeout 毫秒，仍无法入队则由调用线程同步写入
+ * </p>
+ * <p>
+ * 每批按历史实例新增、历史实例更新、历史任务、历史任务参与者顺序写入，满足外键依赖；
+ * 写入失败的记录在后续写入间隔重试，超过重试次数保存至 flw_his_dead_letter 死信表。
+ * 历史实例写入失败时，同一流程实例的后续记录跟随该记录重试或保存至死信表，不先于父记录写入
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Slf4j
+public class AsyncHistoryWriter implements HistoryWriter, AutoCloseable {
+    private final TransactionExecutor transactionExecutor;
+    private final HisInstanceMapper hisInstanceMapper;
+    private final HisTaskMapper hisTaskMapper;
+    private final HisTaskActorMapper hisTaskActorMapper;
+    private final HisDeadLetterMapper hisDeadLetterMapper;
+    private final BlockingQueue<Record> queue;
+    /**
+     * 等待重试的失败记录，按失败顺序在新记录之前写入，由 writeLock 保护
+     */
+    private final List<Record> retryRecords = new ArrayList<>();
+    /**
+     * 写入失败等待重试的历史实例记录，按流程实例ID索引，由 writeLock 保护
+     */
+    private final Map<Long, Record> failedInstances = new HashMap<>();
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushInterval;
+    private final long offerTimeout;
+    private final int retry;
+    private final Object signal = new Object();
+    private final Object writeLock = new Object();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public AsyncHistoryWriter(TransactionExecutor transactionExecutor, HisInstanceMapper hisInstanceMapper,
+                              HisTaskMapper hisTaskMapper, HisTaskActorMapper hisTaskActorMapper,
+                              HisDeadLetterMapper hisDeadLetterMapper, HistoryParam historyParam) {
+        this.transactionExecutor = null == transactionExecutor ? TransactionExecutor.NONE : transactionExecutor;
+        this.hisInstanceMapper = hisInstanceMapper;
+        this.hisTaskMapper = hisTaskMapper;
+        this.hisTaskActorMapper = hisTaskActorMapper;
+        this.hisDeadLetterMapper = hisDeadLetterMapper;
+        this.queueCapacity = historyParam.getQueueCapacity();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = historyParam.getBatchSize();
+        this.flushInterval = historyParam.getFlushInterval();
+        this.offerTimeout = historyParam.getOfferTimeout();
+        this.retry = historyParam.getRetry();
+        this.worker = new Thread(this::run, "flowlong-history-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void insertHisInstance(HisInstance hisInstance) {
+        this.enqueueAfterCommit(new Record(Operation.insertInstance, hisInstance, null));
+    }
+
+    @Override
+    public void updateHisInstance(HisInstance hisInstance) {
+        this.enqueueAfterCommit(new Record(Operation.updateInstance, hisInstance, null));
+    }
+
+    @Override
+    public void insertHisTask(HisTask hisTask, List<HisTaskActor> hisTaskActors) {
+        this.enqueueAfterCommit(new Record(Operation.insertTask, hisTask, hisTaskActors));
+    }
+
+    /**
+     * 事务提交后入队，事务回滚的流程数据不产生历史记录
+     */
+    protected void enqueueAfterCommit(Record record) {
+        transactionExecutor.afterCommit(() -> this.enqueue(record));
+    }
+
+    protected void enqueue(Record record) {
+        boolean offered = false;
+        if (running) {
+            try {
+                offered = queue.offer(record, offerTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!offered) {
+            // 队列已满，调用线程先写入队列中已有记录保证顺序，再同步写入当前记录
+            synchronized (writeLock) {
+                this.flush();
+                this.write(Collections.singletonList(record));
+            }
+            return;
+        }
+        if (queue.size() >= batchSize) {
+            synchronized (signal) {
+                signal.notify();
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        synchronized (writeLock) {
+            if (!retryRecords.isEmpty()) {
+                List<Record> records = new ArrayList<>(retryRecords);
+                retryRecords.clear();
+                failedInstances.clear();
+                this.write(records);
+            }
+            List<Record> records = new ArrayList<>(batchSize);
+            while (queue.drainTo(records, batchSize) > 0) {
+                this.write(records);
+                records.clear();
+            }
+        }
+    }
+
+    /**
+     * 等待重试的记录数，包含跟随失败记录的后续记录
+     */
+    public int getRetrySize() {
+        synchronized (writeLock) {
+            return retryRecords.stream().mapToInt(t -> 1 + t.followers.size()).sum();
+        }
+    }
+
+    /**
+     * 后台写入线程，达到批次大小或写入间隔时写入
+     */
+    private void run() {
+        while (running) {
+            try {
+                synchronized (signal) {
+                    if (running && queue.size() < batchSize) {
+                        signal.wait(flushInterval);
+                    }
+                }
+                this.flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                log.error("flowlong history writer error", e);
+            }
+        }
+    }
+
+    /**
+     * 批量写入历史记录，每批在独立事务中写入，批量失败时逐条写入，失败的记录等待重试
+     */
+    protected void write(List<Record> records) {
+        List<Record> writeRecords = new ArrayList<>(records.size());
+        List<Record> batchRecords = new ArrayList<>(records.size());
+        for (Record record : records) {
+            if (!this.follow(record)) {
+                writeRecords.add(record);
+                // 重试记录之后紧跟其后续记录，保持写入顺序
+                batchRecords.add(record);
+                batchRecords.addAll(record.followers);
+            }
+        }
+        if (writeRecords.isEmpty()) {
+            return;
+        }
+        try {
+            this.writeInTransaction(batchRecords);
+            writeRecords.forEach(t -> t.followers.clear());
+        } catch (Throwable e) {
+            log.warn("flowlong history batch write failed, retry one by one", e);
+            writeRecords.forEach(this::writeOne);
+        }
+    }
+
+    /**
+     * 逐条写入，记录写入成功后再写入跟随的后续记录，失败时后续记录继续跟随
+     */
+    protected void writeOne(Record record) {
+        if (this.follow(record)) {
+            return;
+        }
+        try {
+            this.writeInTransaction(Collections.singletonList(record));
+        } catch (Throwable t) {
+            this.writeFailed(record, t);
+            return;
+        }
+        List<Record> followers = new ArrayList<>(record.followers);
+        record.followers.clear();
+        followers.forEach(this::writeOne);
+    }
+
+    /**
+     * 所属流程实例的历史实例记录写入失败时，记录跟随失败记录等待重试，不计入写入失败次数
+     *
+     * @return true 已跟随失败记录
+     */
+    protected boolean follow(Record record) {
+        Record failed = failedInstances.get(record.instanceId());
+        if (null == failed) {
+            return false;
+        }
+        failed.followers.add(record);
+        return true;
+    }
+
+    /**
+     * 单条记录写入失败，未超过重试次数时等待下次写入重试，否则与后续记录一起保存至死信表
+     */
+    protected void writeFailed(Record record, Throwable e) {
+        record.attempts++;
+        if (record.attempts <= retry) {
+            log.warn("flowlong history write failed, attempt {}: {}", record.attempts, record.entity, e);
+            this.retryLater(record);
+            return;
+        }
+        try {
+            transactionExecutor.executeRequiresNew(() -> {
+                this.saveDeadLetter(record, e);
+                record.followers.forEach(t -> this.saveDeadLetter(t, e));
+                return null;
+            });
+            log.error("flowlong history write failed after {} attempts, saved to dead letter with {} followers: {}",
+                    record.attempts, record.followers.size(), record.entity, e);
+            record.followers.clear();
+        } catch (Throwable t) {
+            // 死信表同样无法写入（数据库不可用），保留记录继续重试
+            if (retryRecords.size() < queueCapacity) {
+                log.error("flowlong history dead letter write failed, keep retrying: {}", record.entity, t);
+                this.retryLater(record);
+            } else {
+                log.error("flowlong history retry queue is full, record lost: {}", this.toPayload(record), t);
+                record.followers.forEach(f -> log.error("flowlong history retry queue is full, record lost: {}", this.toPayload(f)));
+            }
+        }
+    }
+
+    /**
+     * 记录等待下次写入重试，历史实例记录的同一流程实例后续记录跟随该记录
+     */
+    protected void retryLater(Record record) {
+        retryRecords.add(record);
+        if (record.operation != Operation.insertTask && null != record.instanceId()) {
+            failedInstances.putIfAbsent(record.instanceId(), record);
+        }
+    }
+
+    /**
+     * 保存写入失败的历史记录至死信表
+     */
+    protected void saveDeadLetter(Record record, Throwable e) {
+        if (null == hisDeadLetterMapper) {
+            throw new IllegalStateException("HisDeadLetterMapper not configured", e);
+        }
+        HisDeadLetter hisDeadLetter = new HisDeadLetter();
+        hisDeadLetter.setOperation(record.operation.name());
+        hisDeadLetter.setEntityId(((FlowEntity) record.entity).getId());
+        hisDeadLetter.setPayload(this.toPayload(record));
+        String error = String.valueOf(e.getMessage());
+        hisDeadLetter.setError(error.length() > 500 ? error.substring(0, 500) : error);
+        hisDeadLetter.setCreateTime(DateUtils.getCurrentDate());
+        hisDeadLetterMapper.insert(hisDeadLetter);
+    }
+
+    protected String toPayload(Record record) {
+        if (ObjectUtils.isEmpty(record.hisTaskActors)) {
+            return FlowLongContext.JSON_HANDLER.toJson(record.entity);
+        }
+        Map<String, Object> payload = new HashMap<>(4);
+        payload.put("hisTask", record.entity);
+        payload.put("hisTaskActors", record.hisTaskActors);
+        return FlowLongContext.JSON_HANDLER.toJson(payload);
+    }
+
+    /**
+     * 新事务中写入，事务提交回调中同步写入时不加入已提交的事务
+     */
+    protected void writeInTransaction(List<Record> records) {
+        transactionExecutor.executeRequiresNew(() -> {
+            this.writeBatch(records);
+            return null;
+        });
+    }
+
+    protected void writeBatch(List<Record> records) {
+        List<HisInstance> insertInstances = new ArrayList<>();
+        List<HisInstance> updateInstances = new ArrayList<>();
+        List<HisTask> insertTasks = new ArrayList<>();
+        List<HisTaskActor> insertTaskActors = new ArrayList<>();
+        for (Record record : records) {
+            if (record.operation == Operation.insertInstance) {
+                insertInstances.add((HisInstance) record.entity);
+            } else if (record.operation == Operation.updateInstance) {
+                updateInstances.add((HisInstance) record.entity);
+            } else {
+                insertTasks.add((HisTask) record.entity);
+                if (ObjectUtils.isNotEmpty(record.hisTaskActors)) {
+                    insertTaskActors.addAll(record.hisTaskActors);
+                }
+            }
+        }
+        if (!insertInstances.isEmpty()) {
+            hisInstanceMapper.insertBatch(insertInstances);
+        }
+        updateInstances.forEach(hisInstanceMapper::updateById);
+        if (!insertTasks.isEmpty()) {
+            hisTaskMapper.insertBatch(insertTasks);
+        }
+        if (!insertTaskActors.isEmpty()) {
+            hisTaskActorMapper.insertBatch(insertTaskActors);
+        }
+    }
+
+    /**
+     * 停止后台线程并写入剩余记录
+     */
+    @Override
+    public void close() {
+        running = false;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        try {
+            worker.join(flushInterval * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flush();
+    }
+
+    protected enum Operation {
+        insertInstance, updateInstance, insertTask
+    }
+
+    protected static class Record {
+        private final Operation operation;
+        private final Object entity;
+        private final List<HisTaskActor> hisTaskActors;
+        /**
+         * 写入失败次数
+         */
+        private int attempts;
+        /**
+         * 跟随本记录写入的同一流程实例后续记录
+         */
+        private final List<Record> followers = new ArrayList<>();
+
+        Record(Operation operation, Object entity, List<HisTaskActor> hisTaskActors) {
+            this.operation = operation;
+            this.entity = entity;
+            this.hisTaskActors = hisTaskActors;
+        }
+
+        /**
+         * 所属流程实例ID
+         */
+        Long instanceId() {
+            return operation == Operation.insertTask ? ((HisTask) entity).getInstanceId() : ((HisInstance) entity).getId();
+        }
+    }
+}
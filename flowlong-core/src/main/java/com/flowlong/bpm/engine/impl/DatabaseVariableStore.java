@@ -0,0 +1,86 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.flowlong.bpm.engine.VariableStore;
+import com.flowlong.bpm.engine.assist.ObjectUtils;
+import com.flowlong.bpm.engine.core.mapper.VariableMapper;
+import com.flowlong.bpm.engine.entity.Variable;
+
+import java.util.*;
+
+/**
+ * 数据库流程变量存储，变量保存在 flw_variable 表，一个变量一行
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class DatabaseVariableStore implements VariableStore {
+    private final VariableMapper variableMapper;
+
+    public DatabaseVariableStore(VariableMapper variableMapper) {
+        this.variableMapper = variableMapper;
+    }
+
+    @Override
+    public void save(Long instanceId, Long scopeId, Map<String, Object> variables) {
+        if (ObjectUtils.isEmpty(variables)) {
+            return;
+        }
+        Date now = new Date();
+        List<Variable> list = new ArrayList<>(variables.size());
+        for (Map.Entry<String, Object> entry : variables.entrySet()) {
+            Variable variable = Variable.of(instanceId, scopeId, entry.getKey(), entry.getValue());
+            // 唯一键冲突时更新已有变量，主键保持不变
+            variable.setId(IdWorker.getId());
+            variable.setUpdateTime(now);
+            list.add(variable);
+        }
+        variableMapper.upsertBatch(list);
+    }
+
+    @Override
+    public Map<String, Object> get(Long instanceId, Long scopeId, Collection<String> names) {
+        Map<String, Object> map = this.batchGet(Collections.singletonList(instanceId), scopeId, names).get(instanceId);
+        return null == map ? new HashMap<>() : map;
+    }
+
+    @Override
+    public Map<Long, Map<String, Object>> batchGet(Collection<Long> instanceIds, Long scopeId, Collection<String> names) {
+        Map<Long, Map<String, Object>> result = new HashMap<>();
+        if (ObjectUtils.isEmpty(instanceIds) || (null != names && names.isEmpty())) {
+            return result;
+        }
+        for (Variable variable : variableMapper.selectByNames(instanceIds, scopeId, names)) {
+            result.computeIfAbsent(variable.getInstanceId(), k -> new HashMap<>()).put(variable.getName(), variable.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean exists(Long instanceId, Long scopeId) {
+        return variableMapper.existsByScope(instanceId, scopeId);
+    }
+
+    @Override
+    public void remove(Long instanceId) {
+        variableMapper.deleteByInstanceId(instanceId);
+    }
+}
@@ -0,0 +1,62 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.impl;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 异步事件分发参数
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+public class EventParam {
+    /**
+     * 是否开启异步事件分发
+     */
+    private boolean async = false;
+    /**
+     * 分发线程数，同一流程实例的事件固定由同一线程分发
+     */
+    private int threads = 2;
+    /**
+     * 每个分发线程的队列容量，队列已满时调用线程等待
+     */
+    private int queueCapacity = 4096;
+    /**
+     * 每批通知事件数
+     */
+    private int batchSize = 100;
+    /**
+     * 是否使用事务发件箱，事件与流程数据同一事务写入 flw_event_outbox 后由中继投递，不能与异步事件分发同时开启
+     */
+    private boolean outbox = false;
+    /**
+     * 发件箱中继投递间隔，单位毫秒
+     */
+    private long relayInterval = 1000;
+    /**
+     * 发件箱中继每批读取事件数
+     */
+    private int relayBatchSize = 500;
+
+}
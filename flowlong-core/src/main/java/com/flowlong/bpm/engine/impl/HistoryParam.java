@@ -0,0 +1,58 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.impl;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 异步历史写入参数
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+public class HistoryParam {
+    /**
+     * 是否开启异步写入历史记录
+     */
+    private boolean async = false;
+    /**
+     * 队列容量
+     */
+    private int queueCapacity = 10000;
+    /**
+     * 每批写入记录数
+     */
+    private int batchSize = 200;
+    /**
+     * 写入间隔，单位毫秒
+     */
+    private long flushInterval = 500;
+    /**
+     * 队列已满等待时间，单位毫秒，超时后调用线程同步写入
+     */
+    private long offerTimeout = 100;
+    /**
+     * 写入失败重试次数，每个写入间隔重试一次，仍失败时保存至 flw_his_dead_letter 死信表
+     */
+    private int retry = 3;
+
+}
@@ -0,0 +1,83 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.impl;
+
+import com.flowlong.bpm.engine.EventSink;
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.entity.EventOutbox;
+import com.flowlong.bpm.engine.entity.HisInstance;
+import com.flowlong.bpm.engine.entity.Task;
+import com.flowlong.bpm.engine.listener.InstanceListener;
+import com.flowlong.bpm.engine.listener.TaskListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 发件箱事件投递到任务、流程实例监听器，连续的同类事件合并调用 notifyBatch
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class ListenerEventSink implements EventSink {
+    private final List<TaskListener> taskListeners;
+    private final InstanceListener instanceListener;
+
+    public ListenerEventSink(List<TaskListener> taskListeners, InstanceListener instanceListener) {
+        this.taskListeners = taskListeners;
+        this.instanceListener = instanceListener;
+    }
+
+    @Override
+    public void publish(List<EventOutbox> events) {
+        int start = 0;
+        for (int i = 1; i <= events.size(); i++) {
+            EventOutbox head = events.get(start);
+            if (i < events.size() && Objects.equals(head.getEntityType(), events.get(i).getEntityType())
+                    && Objects.equals(head.getEvent(), events.get(i).getEvent())) {
+                continue;
+            }
+            List<EventOutbox> run = events.subList(start, i);
+            if (EventOutbox.ENTITY_TASK.equals(head.getEntityType())) {
+                if (null != taskListeners && !taskListeners.isEmpty()) {
+                    List<Task> tasks = this.fromJson(run, Task.class);
+                    taskListeners.forEach(t -> t.notifyBatch(head.getEvent(), tasks));
+                }
+            } else if (null != instanceListener) {
+                instanceListener.notifyBatch(head.getEvent(), this.fromJson(run, HisInstance.class));
+            }
+            start = i;
+        }
+    }
+
+    /**
+     * 事件对象 JSON 转换为实体，去除空值属性避免触发实体 setter 的非空校验
+     */
+    protected <T> List<T> fromJson(List<EventOutbox> events, Class<T> clazz) {
+        List<T> list = new ArrayList<>(events.size());
+        for (EventOutbox event : events) {
+            Map<String, Object> map = FlowLongContext.JSON_HANDLER.fromJsonMap(event.getPayload());
+            map.values().removeIf(Objects::isNull);
+            list.add(FlowLongContext.JSON_HANDLER.fromJson(FlowLongContext.JSON_HANDLER.toJson(map), clazz));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,79 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.impl;
+
+import com.flowlong.bpm.engine.EventDispatcher;
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.core.mapper.EventOutboxMapper;
+import com.flowlong.bpm.engine.entity.EventOutbox;
+import com.flowlong.bpm.engine.entity.FlowEntity;
+import com.flowlong.bpm.engine.entity.Task;
+import com.flowlong.bpm.engine.listener.FlowLongListener;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 发件箱事件分发器
+ * <p>
+ * 事件写入 flw_event_outbox ，与任务、流程实例数据在同一事务中提交，由 {@link OutboxRelay} 投递
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+public class OutboxEventDispatcher implements EventDispatcher {
+    private final EventOutboxMapper eventOutboxMapper;
+
+    public OutboxEventDispatcher(EventOutboxMapper eventOutboxMapper) {
+        this.eventOutboxMapper = eventOutboxMapper;
+    }
+
+    @Override
+    public <T> void dispatch(Long instanceId, String event, T entity, List<? extends FlowLongListener<T>> listeners) {
+        eventOutboxMapper.insert(this.eventOutbox(instanceId, event, entity, new Date()));
+    }
+
+    @Override
+    public <T> void dispatchBatch(String event, List<T> entities, Function<T, Long> instanceId,
+                                  List<? extends FlowLongListener<T>> listeners) {
+        if (null == entities || entities.isEmpty()) {
+            return;
+        }
+        Date now = new Date();
+        List<EventOutbox> eventOutboxList = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            eventOutboxList.add(this.eventOutbox(instanceId.apply(entity), event, entity, now));
+        }
+        eventOutboxMapper.insertBatch(eventOutboxList);
+    }
+
+    protected EventOutbox eventOutbox(Long instanceId, String event, Object entity, Date createTime) {
+        EventOutbox eventOutbox = new EventOutbox();
+        eventOutbox.setInstanceId(instanceId);
+        eventOutbox.setEntityType(entity instanceof Task ? EventOutbox.ENTITY_TASK : EventOutbox.ENTITY_INSTANCE);
+        eventOutbox.setEntityId(((FlowEntity) entity).getId());
+        eventOutbox.setEvent(event);
+        eventOutbox.setPayload(FlowLongContext.JSON_HANDLER.toJson(entity));
+        eventOutbox.setCreateTime(createTime);
+        return eventOutbox;
+    }
+}
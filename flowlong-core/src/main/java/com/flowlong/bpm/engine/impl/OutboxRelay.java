@@ -0,0 +1,127 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.impl;
+
+import com.flowlong.bpm.engine.EventSink;
+import com.flowlong.bpm.engine.core.mapper.EventOutboxMapper;
+import com.flowlong.bpm.engine.entity.EventOutbox;
+import com.flowlong.bpm.engine.scheduling.JobLock;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 发件箱中继
+ * <p>
+ * 定时按主键游标分批读取 flw_event_outbox 中的事件，投递成功后删除；投递失败时停止本轮，
+ * 剩余事件保留到下一轮按原顺序重新投递。每轮从最小主键开始读取，延迟提交的事件不会被跳过。
+ * 多节点部署时使用任务锁保证同一时刻只有一个节点投递。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Slf4j
+public class OutboxRelay implements AutoCloseable {
+    private final EventOutboxMapper eventOutboxMapper;
+    private final EventSink eventSink;
+    private final JobLock jobLock;
+    private final int batchSize;
+    private final long relayInterval;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param jobLock 任务锁，多节点部署时传入数据库锁，单节点可为 null
+     */
+    public OutboxRelay(EventOutboxMapper eventOutboxMapper, EventSink eventSink, JobLock jobLock, EventParam eventParam) {
+        this.eventOutboxMapper = eventOutboxMapper;
+        this.eventSink = eventSink;
+        this.jobLock = jobLock;
+        this.batchSize = Math.max(1, eventParam.getRelayBatchSize());
+        this.relayInterval = eventParam.getRelayInterval();
+    }
+
+    /**
+     * 启动定时投递
+     */
+    public synchronized void start() {
+        if (null == scheduler) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "flowlong-outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::relay, relayInterval, relayInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 投递发件箱中的事件
+     *
+     * @return 投递成功的事件数量
+     */
+    public int relay() {
+        if (null != jobLock && !jobLock.tryLock()) {
+            // 其它节点正在投递
+            return 0;
+        }
+        int count = 0;
+        try {
+            Long lastId = null;
+            List<EventOutbox> events;
+            do {
+                events = eventOutboxMapper.selectNextBatch(lastId, batchSize);
+                if (events.isEmpty()) {
+                    break;
+                }
+                eventSink.publish(events);
+                List<Long> ids = events.stream().map(EventOutbox::getId).collect(Collectors.toList());
+                eventOutboxMapper.deleteBatchIds(ids);
+                count += events.size();
+                lastId = ids.get(ids.size() - 1);
+            } while (events.size() >= batchSize);
+        } catch (Throwable e) {
+            log.error("flowlong outbox relay failed, events will be redelivered", e);
+        } finally {
+            if (null != jobLock) {
+                jobLock.unlock();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (null != scheduler) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+        if (jobLock instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) jobLock).close();
+            } catch (Exception e) {
+                log.warn("flowlong outbox relay lock close failed", e);
+            }
+        }
+    }
+}
@@ -14,6 +14,8 @@
  */
 package com.flowlong.bpm.engine.listener;
 
+import java.util.List;
+
 /**
  * 流程引擎监听接口
  *
@@ -36,4 +38,14 @@ public interface FlowLongListener<T> {
 
     void notify(String event, T t);
 
+    /**
+     * 批量事件通知，默认逐个调用 {@link #notify(String, Object)} ，可重写实现一次性处理
+     *
+     * @param event 事件
+     * @param list  事件对象列表
+     */
+    default void notifyBatch(String event, List<T> list) {
+        list.forEach(t -> this.notify(event, t));
+    }
+
 }
@@ -5,11 +5,14 @@
  */
 package com.flowlong.bpm.engine.model;
 
+import com.flowlong.bpm.engine.Expression;
 import com.flowlong.bpm.engine.assist.ObjectUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +50,54 @@ public class ConditionNode {
      * 子节点
      */
     private NodeModel childNode;
+    /**
+     * 预编译条件，模型解析时构建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile ConditionPredicate conditionPredicate;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile boolean compiled;
+
+    /**
+     * 编译节点条件
+     */
+    public void compile() {
+        this.conditionPredicate = ConditionPredicate.compile(this.conditionList, this.conditionMode);
+        this.compiled = true;
+    }
+
+    /**
+     * 是否需要 SpEL 表达式引擎处理条件
+     */
+    public boolean requiresExpression() {
+        if (!compiled) {
+            this.compile();
+        }
+        return null == conditionPredicate && ObjectUtils.isNotEmpty(this.conditionList);
+    }
+
+    /**
+     * 判断条件是否成立，无条件默认成立
+     *
+     * @param expression 表达式引擎，不支持预编译条件时使用
+     * @param args       执行参数
+     * @return true 条件成立
+     */
+    public boolean evaluate(Expression expression, Map<String, Object> args) {
+        if (!compiled) {
+            this.compile();
+        }
+        if (null != conditionPredicate) {
+            return conditionPredicate.test(args);
+        }
+        final String expr = this.getExpr();
+        if (null == expr) {
+            return true;
+        }
+        return expression.eval(Boolean.class, expr, args);
+    }
 
     /**
      * 字符串 SpEL 表达式条件
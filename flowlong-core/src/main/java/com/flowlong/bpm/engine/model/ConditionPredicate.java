@@ -0,0 +1,205 @@
+/*
+ * 爱组搭 http://aizuda.com 低代码组件化开发平台
+ * ------------------------------------------
+ * 受知识产权保护，请勿删除版权申明
+ */
+package com.flowlong.bpm.engine.model;
+
+import com.flowlong.bpm.engine.core.StoreVariableMap;
+import com.flowlong.bpm.engine.exception.FlowLongException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * 爱组搭 http://aizuda.com
+ * ----------------------------------------
+ * JSON BPM 预编译条件
+ * <p>
+ * 模型解析时将 {@link NodeExpression} 列表编译为比较条件，直接基于参数 Map 判断，
+ * 比较规则与 SpEL 保持一致，不支持的操作符或常量返回 null 由 SpEL 处理
+ * </p>
+ *
+ * @author 青苗
+ * @since 2023-03-17
+ */
+public class ConditionPredicate {
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("-?\\d+(\\.\\d+)?");
+    /**
+     * 参数名，属性导航、索引等字段交由 SpEL 处理
+     */
+    private static final Pattern FIELD_PATTERN = Pattern.compile("[A-Za-z_$][\\w$]*");
+    /**
+     * 比较条件列表
+     */
+    private final List<Comparison> comparisons;
+    /**
+     * 条件引用的参数名，按需加载变量时一次加载
+     */
+    private final List<String> fields;
+    /**
+     * 条件关系 true 且 false 或
+     */
+    private final boolean and;
+
+    private ConditionPredicate(List<Comparison> comparisons, boolean and) {
+        this.comparisons = comparisons;
+        this.and = and;
+        this.fields = new ArrayList<>(comparisons.size());
+        for (Comparison comparison : comparisons) {
+            if (!fields.contains(comparison.field)) {
+                fields.add(comparison.field);
+            }
+        }
+    }
+
+    /**
+     * 编译节点条件
+     *
+     * @param conditionList 节点条件表达式列表
+     * @param conditionMode 条件关系 0，且 1，或
+     * @return 不支持编译返回 null
+     */
+    public static ConditionPredicate compile(List<NodeExpression> conditionList, Integer conditionMode) {
+        if (null == conditionList || conditionList.isEmpty() || null == conditionMode) {
+            return null;
+        }
+        List<Comparison> comparisons = new ArrayList<>(conditionList.size());
+        for (NodeExpression nodeExpression : conditionList) {
+            Comparison comparison = Comparison.of(nodeExpression);
+            if (null == comparison) {
+                return null;
+            }
+            comparisons.add(comparison);
+        }
+        return new ConditionPredicate(comparisons, 0 == conditionMode);
+    }
+
+    /**
+     * 根据参数判断条件是否成立
+     *
+     * @param args 执行参数
+     * @return true 条件成立
+     */
+    public boolean test(Map<String, Object> args) {
+        if (args instanceof StoreVariableMap) {
+            ((StoreVariableMap) args).prefetch(fields);
+        }
+        for (Comparison comparison : comparisons) {
+            boolean result = comparison.test(args);
+            if (and != result) {
+                return result;
+            }
+        }
+        return and;
+    }
+
+    private enum Operator {
+        eq("=="), ne("!="), gt(">"), ge(">="), lt("<"), le("<=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class Comparison {
+        private final String field;
+        private final Operator operator;
+        private final Object value;
+
+        Comparison(String field, Operator operator, Object value) {
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        static Comparison of(NodeExpression nodeExpression) {
+            String field = nodeExpression.getField();
+            Operator operator = Operator.of(null == nodeExpression.getOperator() ? null : nodeExpression.getOperator().trim());
+            String text = nodeExpression.getValue();
+            if (null == field || null == operator || null == text) {
+                return null;
+            }
+            if (!FIELD_PATTERN.matcher(field).matches()) {
+                return null;
+            }
+            text = text.trim();
+            Object value;
+            if (NUMBER_PATTERN.matcher(text).matches()) {
+                value = new BigDecimal(text);
+            } else if (text.length() > 1 && (text.startsWith("'") && text.endsWith("'")
+                    || text.startsWith("\"") && text.endsWith("\""))) {
+                value = text.substring(1, text.length() - 1);
+            } else if ("true".equals(text) || "false".equals(text)) {
+                value = Boolean.valueOf(text);
+            } else if ("null".equals(text)) {
+                value = null;
+            } else {
+                // 属性引用、方法调用等交由 SpEL 处理
+                return null;
+            }
+            return new Comparison(field, operator, value);
+        }
+
+        boolean test(Map<String, Object> args) {
+            Object arg = args.get(field);
+            if (arg instanceof Number && !(arg instanceof BigDecimal)) {
+                arg = new BigDecimal(arg.toString());
+            }
+            if (operator == Operator.eq) {
+                return equalTo(arg);
+            }
+            if (operator == Operator.ne) {
+                return !equalTo(arg);
+            }
+            int result = compareTo(arg);
+            switch (operator) {
+                case gt:
+                    return result > 0;
+                case ge:
+                    return result >= 0;
+                case lt:
+                    return result < 0;
+                default:
+                    return result <= 0;
+            }
+        }
+
+        private boolean equalTo(Object arg) {
+            if (arg instanceof BigDecimal && value instanceof BigDecimal) {
+                return ((BigDecimal) arg).compareTo((BigDecimal) value) == 0;
+            }
+            return Objects.equals(arg, value);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private int compareTo(Object arg) {
+            // 与 SpEL 一致 null 小于任何值
+            if (null == arg) {
+                return null == value ? 0 : -1;
+            }
+            if (null == value) {
+                return 1;
+            }
+            if (arg instanceof Comparable && arg.getClass() == value.getClass()) {
+                return ((Comparable) arg).compareTo(value);
+            }
+            throw new FlowLongException("cannot compare [" + field + "=" + arg + "] " + operator.symbol + " " + value);
+        }
+    }
+}
@@ -121,19 +121,18 @@ public class NodeModel implements ModelInstance {
             Map<String, Object> args = execution.getArgs();
             Assert.illegalArgument(ObjectUtils.isEmpty(args), "Execution parameter cannot be empty");
             Expression expression = flowLongContext.getExpression();
-            Assert.isNull(expression, "Interface Expression not implemented");
+            if (conditionNodes.stream().anyMatch(ConditionNode::requiresExpression)) {
+                Assert.isNull(expression, "Interface Expression not implemented");
+            }
             conditionNodes.stream().sorted(Comparator.comparing(ConditionNode::getPriorityLevel))
                     .filter(t -> {
                         // 执行条件分支
-                        final String expr = t.getExpr();
-                        boolean result = true;
-                        if (null != expr) {
-                            try {
-                                result = expression.eval(Boolean.class, expr, args);
-                            } catch (Throwable e) {
-                                result = false;
-                                e.printStackTrace();
-                            }
+                        boolean result;
+                        try {
+                            result = t.evaluate(expression, args);
+                        } catch (Throwable e) {
+                            result = false;
+                            e.printStackTrace();
                         }
                         return result;
                     }).findFirst().ifPresent(conditionNode -> {
@@ -174,7 +173,10 @@ public class NodeModel implements ModelInstance {
             for (ConditionNode conditionNode : conditionNodes) {
                 NodeModel conditionChildNode = conditionNode.getChildNode();
                 if (null != conditionChildNode) {
-                    return conditionChildNode.getNode(nodeName);
+                    NodeModel nodeModel = conditionChildNode.getNode(nodeName);
+                    if (null != nodeModel) {
+                        return nodeModel;
+                    }
                 }
             }
         }
@@ -7,10 +7,14 @@ package com.flowlong.bpm.engine.model;
 
 import com.flowlong.bpm.engine.assist.Assert;
 import com.flowlong.bpm.engine.core.FlowLongContext;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * 爱组搭 http://aizuda.com
@@ -35,6 +39,18 @@ public class ProcessModel {
      * 节点信息
      */
     private NodeModel nodeConfig;
+    /**
+     * 节点名称索引，模型解析时构建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, NodeModel> nodeMap;
+    /**
+     * 节点名称 -> 当前节点完成后主干执行节点，模型解析时构建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, NodeModel> nextNodeMap;
 
     /**
      * 获取process定义的指定节点名称的节点模型
@@ -43,9 +59,25 @@ public class ProcessModel {
      * @return {@link NodeModel}
      */
     public NodeModel getNode(String nodeName) {
+        if (null != nodeMap) {
+            return nodeMap.get(nodeName);
+        }
         return null == nodeConfig ? null : nodeConfig.getNode(nodeName);
     }
 
+    /**
+     * 获取指定节点所在分支结束后，主干继续执行的节点
+     *
+     * @param nodeModel 节点模型
+     * @return {@link NodeModel}
+     */
+    public NodeModel getNextNode(NodeModel nodeModel) {
+        if (null != nextNodeMap && nodeMap.get(nodeModel.getNodeName()) == nodeModel) {
+            return nextNodeMap.get(nodeModel.getNodeName());
+        }
+        return findNextNode(nodeModel);
+    }
+
     /**
      * 流程文件字节码解析为流程模型
      *
@@ -55,9 +87,62 @@ public class ProcessModel {
         ProcessModel processModel = FlowLongContext.JSON_HANDLER.fromJson(content, ProcessModel.class);
         Assert.isNull(processModel, "process model json parser error");
         processModel.buildParentNode(processModel.getNodeConfig());
+        processModel.buildNodeIndex();
         return processModel;
     }
 
+    /**
+     * 构建节点名称索引及主干执行节点
+     */
+    protected void buildNodeIndex() {
+        Map<String, NodeModel> nodeMap = new HashMap<>();
+        Map<String, NodeModel> nextNodeMap = new HashMap<>();
+        this.buildNodeIndex(nodeConfig, nodeMap, nextNodeMap);
+        this.nodeMap = nodeMap;
+        this.nextNodeMap = nextNodeMap;
+    }
+
+    private void buildNodeIndex(NodeModel nodeModel, Map<String, NodeModel> nodeMap, Map<String, NodeModel> nextNodeMap) {
+        if (null == nodeModel) {
+            return;
+        }
+        if (null == nodeMap.putIfAbsent(nodeModel.getNodeName(), nodeModel)) {
+            NodeModel nextNode = findNextNode(nodeModel);
+            if (null != nextNode) {
+                nextNodeMap.put(nodeModel.getNodeName(), nextNode);
+            }
+        }
+        List<ConditionNode> conditionNodes = nodeModel.getConditionNodes();
+        if (null != conditionNodes) {
+            for (ConditionNode conditionNode : conditionNodes) {
+                this.buildNodeIndex(conditionNode.getChildNode(), nodeMap, nextNodeMap);
+            }
+        }
+        this.buildNodeIndex(nodeModel.getChildNode(), nodeMap, nextNodeMap);
+    }
+
+    /**
+     * 向上查找条件分支结束后主干继续执行的节点
+     *
+     * @param nodeModel 节点模型
+     * @return {@link NodeModel}
+     */
+    protected static NodeModel findNextNode(NodeModel nodeModel) {
+        NodeModel parentNode = nodeModel.getParentNode();
+        if (null == parentNode || Objects.equals(0, parentNode.getType())) {
+            // 递归至发起节点，流程结束
+            return null;
+        }
+
+        if (parentNode.isConditionNode()) {
+            // 条件执行节点，返回子节点
+            return parentNode.getChildNode();
+        }
+
+        // 往上继续找下一个执行节点
+        return findNextNode(parentNode);
+    }
+
     /**
      * 构建父节点
      *
@@ -67,6 +152,8 @@ public class ProcessModel {
         List<ConditionNode> conditionNodes = rootNode.getConditionNodes();
         if (null != conditionNodes) {
             for (ConditionNode conditionNode : conditionNodes) {
+                // 预编译节点条件
+                conditionNode.compile();
                 NodeModel conditionChildNode = conditionNode.getChildNode();
                 if (null != conditionChildNode) {
                     conditionChildNode.setParentNode(rootNode);
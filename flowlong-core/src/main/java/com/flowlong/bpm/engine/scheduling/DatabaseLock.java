@@ -0,0 +1,171 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.scheduling;
+
+import com.flowlong.bpm.engine.core.mapper.JobLockMapper;
+import com.flowlong.bpm.engine.exception.FlowLongException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于流程引擎数据库的租约锁
+ * <p>
+ * 锁记录 flw_job_lock 保存持有节点及租约过期时间，持有期间后台心跳续期，节点宕机租约过期后其它节点可获取。
+ * 开启分区时各节点在 flw_job_node 登记心跳，按存活节点排序计算分区，各节点只处理自身分区任务
+ * </p>
+ * <p>
+ * 租约及心跳时间以数据库时间为准，不受各应用服务器时钟偏差影响
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Slf4j
+public class DatabaseLock implements JobLock, AutoCloseable {
+    private final JobLockMapper jobLockMapper;
+    private final LockParam lockParam;
+    private final String nodeId;
+    private final long leaseTime;
+    private final long leaseMillis;
+    private final ScheduledExecutorService heartbeat;
+    /**
+     * 当前节点是否持有锁
+     */
+    private volatile boolean held;
+    /**
+     * 当前节点分区
+     */
+    private volatile JobPartition partition;
+
+    public DatabaseLock(JobLockMapper jobLockMapper, LockParam lockParam) {
+        this.jobLockMapper = jobLockMapper;
+        this.lockParam = lockParam;
+        this.nodeId = null != lockParam.getNodeId() ? lockParam.getNodeId() : ManagementFactory.getRuntimeMXBean().getName()
+                + ":" + ThreadLocalRandom.current().nextInt(10000);
+        this.leaseTime = lockParam.getLeaseTime();
+        this.leaseMillis = leaseTime * 1000;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "flowlong-lock-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, leaseMillis / 3);
+        this.heartbeat.scheduleWithFixedDelay(this::heartbeat, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 心跳，续期持有的锁，开启分区时登记节点并刷新分区
+     */
+    protected void heartbeat() {
+        try {
+            if (held && jobLockMapper.updateLease(lockParam.getLockName(), nodeId, leaseTime) == 0) {
+                // 租约已被其它节点获取
+                held = false;
+            }
+            if (lockParam.isPartition()) {
+                if (jobLockMapper.updateHeartbeat(nodeId) == 0) {
+                    jobLockMapper.insertNode(nodeId);
+                }
+                List<String> nodeIds = jobLockMapper.selectAliveNodeIds(leaseTime);
+                int index = nodeIds.indexOf(nodeId);
+                this.partition = index < 0 ? null : new JobPartition(index, nodeIds.size());
+                jobLockMapper.deleteDeadNodes(leaseTime * 10);
+            }
+        } catch (Throwable e) {
+            log.error("flowlong lock heartbeat error", e);
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        try {
+            if (jobLockMapper.updateLease(lockParam.getLockName(), nodeId, leaseTime) > 0
+                    || jobLockMapper.insertLease(lockParam.getLockName(), nodeId, leaseTime) > 0) {
+                held = true;
+                return true;
+            }
+        } catch (DuplicateKeyException e) {
+            // 主键冲突，其它节点已持有锁
+            if (log.isDebugEnabled()) {
+                log.debug("flowlong lock [{}] is held by other node", lockParam.getLockName(), e);
+            }
+        } catch (RuntimeException e) {
+            log.error("flowlong lock [{}] acquire error", lockParam.getLockName(), e);
+        }
+        return false;
+    }
+
+    /**
+     * 进入锁，未获得锁时等待重试
+     */
+    @Override
+    public void lock() {
+        while (!this.tryLock()) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(Math.min(1000, leaseMillis / 3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FlowLongException("flowlong lock interrupted", e);
+            }
+        }
+    }
+
+    @Override
+    public void unlock() {
+        if (held) {
+            held = false;
+            jobLockMapper.releaseLease(lockParam.getLockName(), nodeId);
+        }
+    }
+
+    /**
+     * 开启分区时返回当前节点分区，节点未完成登记前返回 null 按租约锁处理
+     */
+    @Override
+    public JobPartition partition() {
+        return lockParam.isPartition() ? partition : null;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 停止心跳，释放锁并注销节点
+     */
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        try {
+            this.unlock();
+            if (lockParam.isPartition()) {
+                jobLockMapper.deleteNode(nodeId);
+            }
+        } catch (Throwable e) {
+            log.error("flowlong lock close error", e);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.scheduling;
+
+import com.flowlong.bpm.engine.TaskService;
+import com.flowlong.bpm.engine.assist.DateUtils;
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.entity.Task;
+import com.flowlong.bpm.engine.listener.TaskListener;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 任务期限调度器
+ * <p>
+ * 按时间窗口加载即将到期的任务提醒、超时期限至内存延迟队列，到期时准确触发，
+ * 替代定时轮询全部超时任务。作为任务监听器监听任务创建、更新、完成事件保持队列与任务表同步。
+ * 到期的提醒、超时由 {@link RemindExecutor} 有界并发执行，单个阻塞的提醒接口不影响其它任务
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Slf4j
+@Getter
+@Setter
+public class DeadlineScheduler implements TaskListener, AutoCloseable {
+    /**
+     * 流程引擎上下文
+     */
+    private FlowLongContext context;
+    /**
+     * 任务提醒接口
+     */
+    private TaskReminder taskReminder;
+    /**
+     * 任务锁，可注入分布式锁实现
+     */
+    private JobLock jobLock;
+    /**
+     * 提醒参数
+     */
+    private RemindParam remindParam;
+    /**
+     * 提醒、超时执行器，未设置时启动调度创建，停止调度时关闭
+     */
+    private RemindExecutor remindExecutor;
+    /**
+     * 到期队列
+     */
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    /**
+     * 任务当前有效的提醒期限，队列中被替换或取消的期限到期时忽略
+     */
+    private final Map<Long, Deadline> remindDeadlines = new ConcurrentHashMap<>();
+    /**
+     * 任务当前有效的超时期限
+     */
+    private final Map<Long, Deadline> timeoutDeadlines = new ConcurrentHashMap<>();
+    /**
+     * 已加载时间窗口截止时间
+     */
+    private volatile long horizon;
+    private volatile boolean running;
+    private ScheduledExecutorService loader;
+    private Thread dispatcher;
+
+    /**
+     * 启动时间窗口加载及到期分发线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (null == remindParam) {
+            remindParam = new RemindParam();
+        }
+        if (null == remindExecutor) {
+            remindExecutor = new RemindExecutor(remindParam);
+        }
+        running = true;
+        long window = remindParam.getWindow();
+        loader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "flowlong-deadline-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 提前半个窗口加载下一窗口，避免窗口边界任务延迟触发
+        loader.scheduleWithFixedDelay(this::loadWindow, 0, Math.max(1, window / 2), TimeUnit.SECONDS);
+        dispatcher = new Thread(this::dispatch, "flowlong-deadline-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * 加载当前时间窗口内到期的任务
+     */
+    protected void loadWindow() {
+        try {
+            long end = System.currentTimeMillis() + remindParam.getWindow() * 1000;
+            // 分区模式只加载当前节点分区任务
+            List<Task> tasks = context.getTaskService().getTimeoutOrRemindTasks(new Date(end), jobLock.partition());
+            tasks.forEach(t -> this.schedule(t, false));
+            horizon = end;
+        } catch (Throwable e) {
+            log.error("flowlong deadline load error", e);
+        }
+    }
+
+    /**
+     * 将任务提醒、超时期限加入到期队列
+     *
+     * @param task    任务对象
+     * @param replace true 替换已调度的不同期限 false 已调度时保留原期限
+     */
+    public void schedule(Task task, boolean replace) {
+        Date remindTime = task.getRemindTime();
+        if (null != remindTime && (null == task.getRemindRepeat() || task.getRemindRepeat() > 0)) {
+            this.offer(remindDeadlines, new Deadline(task.getId(), remindTime.getTime(), false), replace);
+        }
+        Date expireTime = task.getExpireTime();
+        if (null != expireTime) {
+            this.offer(timeoutDeadlines, new Deadline(task.getId(), expireTime.getTime(), true), replace);
+        }
+    }
+
+    private void offer(Map<Long, Deadline> deadlines, Deadline deadline, boolean replace) {
+        Deadline current = deadlines.compute(deadline.taskId, (k, old) -> null == old
+                || (replace && old.dueTime != deadline.dueTime) ? deadline : old);
+        if (current == deadline) {
+            queue.offer(deadline);
+        }
+    }
+
+    /**
+     * 取消任务的提醒、超时期限
+     *
+     * @param taskId 任务ID
+     */
+    public void cancel(Long taskId) {
+        remindDeadlines.remove(taskId);
+        timeoutDeadlines.remove(taskId);
+    }
+
+    /**
+     * 任务事件同步到期队列
+     * 新建及更新期限的任务在已加载时间窗口内时立即调度，其余由窗口加载，任务结束时取消。
+     * 分区模式只调度当前节点分区的任务，其它分区任务由所属节点窗口加载
+     */
+    @Override
+    public void notify(String event, Task task) {
+        if (null == task || null == task.getId()) {
+            return;
+        }
+        if (EVENT_CREATE.equals(event) || EVENT_UPDATE.equals(event)) {
+            JobPartition partition = jobLock.partition();
+            if (null != partition && !partition.contains(task.getId())) {
+                return;
+            }
+            if (this.withinHorizon(task.getRemindTime()) || this.withinHorizon(task.getExpireTime())) {
+                this.schedule(task, EVENT_UPDATE.equals(event));
+            }
+        } else if (!EVENT_ASSIGNMENT.equals(event)) {
+            this.cancel(task.getId());
+        }
+    }
+
+    private boolean withinHorizon(Date date) {
+        return null != date && date.getTime() <= horizon;
+    }
+
+    /**
+     * 到期分发，取出全部到期期限交由提醒执行器并发执行提醒或超时处理
+     */
+    protected void dispatch() {
+        while (running) {
+            List<Deadline> dueDeadlines = new ArrayList<>();
+            try {
+                dueDeadlines.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(dueDeadlines);
+            // 同一任务可能同时到期提醒及超时，按类型分别执行
+            Map<Long, Runnable> timeoutItems = new LinkedHashMap<>();
+            Map<Long, Runnable> remindItems = new LinkedHashMap<>();
+            // 当前节点分区内的任务只由本节点处理无需加锁，节点增减后已不属于本分区的任务加锁处理
+            JobPartition partition = jobLock.partition();
+            boolean locked = false;
+            for (Deadline deadline : dueDeadlines) {
+                Map<Long, Deadline> deadlines = deadline.timeout ? timeoutDeadlines : remindDeadlines;
+                if (!deadlines.remove(deadline.taskId, deadline)) {
+                    // 已取消或被新期限替换
+                    continue;
+                }
+                if (deadline.timeout) {
+                    timeoutItems.put(deadline.taskId, () -> this.timeout(deadline.taskId));
+                } else {
+                    remindItems.put(deadline.taskId, () -> this.remind(deadline.taskId));
+                }
+                locked |= null == partition || !partition.contains(deadline.taskId);
+            }
+            if (timeoutItems.isEmpty() && remindItems.isEmpty()) {
+                continue;
+            }
+            // 分发线程持有锁，执行器线程并发处理本批期限
+            if (locked) {
+                jobLock.lock();
+            }
+            try {
+                this.invokeAll(timeoutItems);
+                this.invokeAll(remindItems);
+            } catch (Throwable e) {
+                log.error("flowlong deadline dispatch error", e);
+            } finally {
+                if (locked) {
+                    jobLock.unlock();
+                }
+            }
+        }
+    }
+
+    private void invokeAll(Map<Long, Runnable> items) {
+        if (items.isEmpty() || !running) {
+            return;
+        }
+        List<Long> failedIds = remindExecutor.invokeAll(items);
+        if (!failedIds.isEmpty()) {
+            log.error("flowlong deadline dispatch failed, taskIds={}", failedIds);
+        }
+    }
+
+    /**
+     * 任务超时，重新读取任务确认超时时间未变更
+     */
+    protected void timeout(Long taskId) {
+        TaskService taskService = context.getTaskService();
+        Task task = context.getQueryService().getTask(taskId);
+        if (null == task || null == task.getExpireTime()) {
+            return;
+        }
+        if (DateUtils.after(task.getExpireTime(), DateUtils.getCurrentDate())) {
+            // 超时时间已延后，重新调度
+            this.offer(timeoutDeadlines, new Deadline(taskId, task.getExpireTime().getTime(), true), true);
+            return;
+        }
+        taskService.taskTimeout(taskId);
+    }
+
+    /**
+     * 任务提醒，剩余提醒次数大于 0 时按重复提醒间隔再次调度
+     * <p>
+     * 以读取到的提醒时间作为栅栏条件减少提醒次数并写入下次提醒时间，多节点加载同一任务时只有更新成功的节点提醒
+     * </p>
+     */
+    protected void remind(Long taskId) {
+        Task task = context.getQueryService().getTask(taskId);
+        if (null == task || null == task.getRemindRepeat() || task.getRemindRepeat() <= 0) {
+            return;
+        }
+        if (DateUtils.after(task.getRemindTime(), DateUtils.getCurrentDate())) {
+            // 提醒时间已延后，重新调度
+            this.offer(remindDeadlines, new Deadline(taskId, task.getRemindTime().getTime(), false), true);
+            return;
+        }
+        // 1，条件更新提醒次数减去 1 次，未更新表示其它节点已提醒
+        Date nextRemindTime = new Date(System.currentTimeMillis() + remindParam.getRepeatInterval() * 1000);
+        if (!context.getTaskService().decrementRemindRepeat(task, nextRemindTime)) {
+            return;
+        }
+
+        // 2，调用提醒接口
+        taskReminder.remind(context, task.getInstanceId(), taskId);
+
+        // 3，重复提醒
+        if (task.getRemindRepeat() > 1) {
+            this.offer(remindDeadlines, new Deadline(taskId, nextRemindTime.getTime(), false), true);
+        }
+    }
+
+    /**
+     * 停止调度线程
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (null != loader) {
+            loader.shutdownNow();
+        }
+        if (null != dispatcher) {
+            dispatcher.interrupt();
+        }
+        if (null != remindExecutor) {
+            remindExecutor.close();
+            remindExecutor = null;
+        }
+        queue.clear();
+        remindDeadlines.clear();
+        timeoutDeadlines.clear();
+    }
+
+    /**
+     * 任务期限
+     */
+    @Getter
+    public static class Deadline implements Delayed {
+        private final Long taskId;
+        private final long dueTime;
+        private final boolean timeout;
+
+        Deadline(Long taskId, long dueTime, boolean timeout) {
+            this.taskId = taskId;
+            this.dueTime = dueTime;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(dueTime, ((Deadline) o).dueTime);
+        }
+    }
+}
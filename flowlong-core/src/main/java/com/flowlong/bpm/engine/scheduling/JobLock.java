@@ -37,4 +37,23 @@ public interface JobLock {
      * 解除锁
      */
     void unlock();
+
+    /**
+     * 尝试进入锁，未获得锁立即返回
+     *
+     * @return true 获得锁
+     */
+    default boolean tryLock() {
+        this.lock();
+        return true;
+    }
+
+    /**
+     * 当前节点分区，多节点按任务ID分区处理时各节点只处理自身分区任务且无需加锁
+     *
+     * @return 节点分区，null 表示不分区
+     */
+    default JobPartition partition() {
+        return null;
+    }
 }
@@ -0,0 +1,70 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.scheduling;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * 任务节点分区
+ * <p>
+ * 按任务ID十进制字符串的 CRC32 值对存活节点数取模分区，与数据库 MOD(CRC32(id), count) 计算结果一致，不依赖ID生成规则
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+public class JobPartition {
+    /**
+     * 当前节点分区序号，从 0 开始
+     */
+    private final int index;
+    /**
+     * 存活节点数
+     */
+    private final int count;
+
+    public JobPartition(int index, int count) {
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * 任务是否属于当前节点分区
+     *
+     * @param taskId 任务ID
+     * @return true 属于当前节点分区
+     */
+    public boolean contains(Long taskId) {
+        if (count <= 1) {
+            return true;
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(String.valueOf(taskId).getBytes(StandardCharsets.US_ASCII));
+        return crc32.getValue() % count == index;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -54,4 +54,9 @@ public class LocalLock implements JobLock {
     public void unlock() {
         getLocalLock().unlock();
     }
+
+    @Override
+    public boolean tryLock() {
+        return getLocalLock().tryLock();
+    }
 }
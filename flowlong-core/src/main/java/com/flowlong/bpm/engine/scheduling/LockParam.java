@@ -0,0 +1,54 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.scheduling;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 任务锁参数
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Getter
+@Setter
+public class LockParam {
+    /**
+     * 是否使用数据库租约锁，多节点部署时开启
+     */
+    private boolean database = false;
+    /**
+     * 是否按任务ID分区，各存活节点只处理自身分区任务
+     */
+    private boolean partition = false;
+    /**
+     * 节点ID，默认 进程ID@主机名:随机数
+     */
+    private String nodeId;
+    /**
+     * 锁名称
+     */
+    private String lockName = "flowlong-remind";
+    /**
+     * 租约时间，单位秒，超过租约时间未续期的锁及节点视为失效
+     */
+    private long leaseTime = 30;
+
+}
@@ -0,0 +1,155 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flowlong.bpm.engine.scheduling;
+
+import com.flowlong.bpm.engine.assist.ThreadUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 提醒、超时任务执行器
+ * <p>
+ * 使用有界并发执行各任务项，单个提醒接口阻塞不会拖慢其它任务的超时处理；
+ * 每项开始执行后超过 itemTimeout 将被中断，执行失败或超时的任务项按 retry 次数重试。
+ * JDK 21 及以上默认使用虚拟线程，否则使用固定大小线程池。
+ * </p>
+ *
+ * <p>
+ * 尊重知识产权，CV 请保留版权，爱组搭 http://aizuda.com 出品，不允许非法使用，后果自负
+ * </p>
+ *
+ * @author hubin
+ * @since 1.0
+ */
+@Slf4j
+public class RemindExecutor implements AutoCloseable {
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService watchdog;
+    /**
+     * 并发许可，限制同时执行的任务项数量
+     */
+    private final Semaphore permits;
+    private final long itemTimeout;
+    private final int retry;
+
+    public RemindExecutor(RemindParam remindParam) {
+        int poolSize = Math.max(1, remindParam.getPoolSize());
+        this.permits = new Semaphore(poolSize);
+        this.itemTimeout = remindParam.getItemTimeout();
+        this.retry = Math.max(0, remindParam.getRetry());
+        ExecutorService virtualExecutor = remindParam.isVirtualThreads() ? ThreadUtils.newVirtualThreadExecutor() : null;
+        this.executorService = null != virtualExecutor ? virtualExecutor
+                : Executors.newFixedThreadPool(poolSize, ThreadUtils.daemonThreadFactory("flowlong-remind-"));
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, ThreadUtils.daemonThreadFactory("flowlong-remind-watchdog-"));
+        timer.setRemoveOnCancelPolicy(true);
+        this.watchdog = timer;
+    }
+
+    /**
+     * 并发执行任务项，失败或超时的任务项重试，返回最终未成功的任务ID
+     *
+     * @param items 任务ID与执行内容
+     * @return 未成功的任务ID列表
+     */
+    public List<Long> invokeAll(Map<Long, Runnable> items) {
+        List<Long> failedIds = new ArrayList<>();
+        Map<Long, Runnable> pending = items;
+        for (int attempt = 0; attempt <= retry && !pending.isEmpty(); attempt++) {
+            Map<Long, Item> submitted = new LinkedHashMap<>();
+            Map<Long, Runnable> retryItems = new LinkedHashMap<>();
+            try {
+                for (Map.Entry<Long, Runnable> entry : pending.entrySet()) {
+                    submitted.put(entry.getKey(), this.submit(entry.getValue()));
+                }
+                for (Map.Entry<Long, Item> entry : submitted.entrySet()) {
+                    Long taskId = entry.getKey();
+                    try {
+                        entry.getValue().future.get();
+                    } catch (CancellationException e) {
+                        log.warn("Remind item timeout, taskId: {}, attempt: {}", taskId, attempt + 1);
+                        retryItems.put(taskId, pending.get(taskId));
+                    } catch (ExecutionException e) {
+                        log.warn("Remind item failed, taskId: " + taskId + ", attempt: " + (attempt + 1), e.getCause());
+                        retryItems.put(taskId, pending.get(taskId));
+                    } finally {
+                        entry.getValue().cancelWatchdog();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                submitted.values().forEach(t -> t.future.cancel(true));
+                failedIds.addAll(pending.keySet());
+                return failedIds;
+            }
+            pending = retryItems;
+        }
+        failedIds.addAll(pending.keySet());
+        return failedIds;
+    }
+
+    private Item submit(Runnable runnable) throws InterruptedException {
+        permits.acquire();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        Item item = new Item();
+        item.future = new FutureTask<>(() -> {
+            if (itemTimeout > 0) {
+                // 开始执行时计时，超时中断执行，同时归还许可，避免阻塞的任务项长期占用并发额度
+                item.timer = watchdog.schedule(() -> {
+                    if (item.future.cancel(true)) {
+                        release.run();
+                    }
+                }, itemTimeout, TimeUnit.SECONDS);
+            }
+            try {
+                runnable.run();
+            } finally {
+                item.cancelWatchdog();
+                release.run();
+            }
+        }, null);
+        try {
+            executorService.execute(item.future);
+        } catch (RejectedExecutionException e) {
+            release.run();
+            throw e;
+        }
+        return item;
+    }
+
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+        executorService.shutdownNow();
+    }
+
+    private static class Item {
+        private FutureTask<Void> future;
+        private volatile ScheduledFuture<?> timer;
+
+        private void cancelWatchdog() {
+            if (null != timer) {
+                timer.cancel(false);
+            }
+        }
+    }
+}
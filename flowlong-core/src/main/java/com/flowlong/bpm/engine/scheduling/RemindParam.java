@@ -42,5 +42,33 @@ public class RemindParam {
      * 工作时间设置，格式为 8:00-18:00
      */
     private String workTime;
+    /**
+     * 是否使用任务期限调度器，按时间窗口加载任务期限并在到期时准确触发提醒、超时
+     */
+    private boolean deadline = false;
+    /**
+     * 任务期限调度器时间窗口，单位秒
+     */
+    private long window = 60;
+    /**
+     * 重复提醒间隔，单位秒
+     */
+    private long repeatInterval = 5;
+    /**
+     * 提醒、超时任务并发处理数量
+     */
+    private int poolSize = 8;
+    /**
+     * 单个任务处理超时时间，单位秒，小于等于 0 不限制
+     */
+    private long itemTimeout = 30;
+    /**
+     * 任务处理失败重试次数
+     */
+    private int retry = 1;
+    /**
+     * JDK 21 及以上是否使用虚拟线程
+     */
+    private boolean virtualThreads = true;
 
 }
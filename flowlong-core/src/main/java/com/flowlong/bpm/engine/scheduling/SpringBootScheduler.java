@@ -7,12 +7,12 @@ import com.flowlong.bpm.engine.core.FlowLongContext;
 import com.flowlong.bpm.engine.entity.Task;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.scheduling.support.CronTrigger;
 
-import java.util.Date;
-import java.util.List;
+import java.util.*;
 
 
 /**
@@ -27,7 +27,8 @@ import java.util.List;
  */
 @Getter
 @Setter
-public class SpringBootScheduler implements SchedulingConfigurer {
+@Slf4j
+public class SpringBootScheduler implements SchedulingConfigurer, AutoCloseable {
     /**
      * 流程引擎上下文
      */
@@ -44,46 +45,100 @@ public class SpringBootScheduler implements SchedulingConfigurer {
      * 提醒参数
      */
     private RemindParam remindParam;
+    /**
+     * 提醒、超时任务执行器
+     */
+    private volatile RemindExecutor remindExecutor;
 
     /**
      * 流程提醒处理
      */
     public void remind() {
+        JobPartition partition = jobLock.partition();
+        if (null != partition) {
+            // 分区模式各节点处理自身分区任务，无需加锁
+            this.remind(context.getTaskService().getTimeoutOrRemindTasks(DateUtils.getCurrentDate(), partition));
+            return;
+        }
+        if (!jobLock.tryLock()) {
+            // 其它节点或线程正在处理
+            return;
+        }
         try {
-            jobLock.lock();
-            TaskService taskService = context.getTaskService();
-            List<Task> taskList = taskService.getTimeoutOrRemindTasks();
-            if (ObjectUtils.isNotEmpty(taskList)) {
-                Date currentDate = DateUtils.getCurrentDate();
-                for (Task task : taskList) {
-                    if (null != task.getRemindTime() && DateUtils.after(task.getRemindTime(), currentDate)) {
-                        /**
-                         * 任务提醒
-                         */
-                        try {
-                            if (task.getRemindRepeat() > 0) {
-                                // 1，更新提醒次数减去 1 次
-                                Task temp = new Task();
-                                temp.setId(task.getId());
-                                temp.setRemindRepeat(task.getRemindRepeat() - 1);
-                                taskService.updateTaskById(temp);
+            this.remind(context.getTaskService().getTimeoutOrRemindTasks());
+        } finally {
+            jobLock.unlock();
+        }
+    }
 
-                                // 2，调用提醒接口
-                                taskReminder.remind(context, task.getInstanceId(), task.getId());
-                            }
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    } else {
-                        /**
-                         * 任务超时
-                         */
-                        taskService.taskTimeout(task.getId());
-                    }
+    /**
+     * 处理超时或者需要提醒的任务
+     * <p>
+     * 提醒次数一次批量更新，提醒接口调用交由有界执行器并发执行，超时任务批量处理
+     * </p>
+     *
+     * @param taskList 任务列表
+     */
+    protected void remind(List<Task> taskList) {
+        if (ObjectUtils.isEmpty(taskList)) {
+            return;
+        }
+        TaskService taskService = context.getTaskService();
+        Date currentDate = DateUtils.getCurrentDate();
+        List<Task> remindTasks = new ArrayList<>();
+        Map<Long, Runnable> remindItems = new LinkedHashMap<>();
+        List<Long> timeoutIds = new ArrayList<>();
+        for (Task task : taskList) {
+            if (null == task.getExpireTime() || DateUtils.after(task.getExpireTime(), currentDate)) {
+                /**
+                 * 任务提醒，未到期望完成时间
+                 */
+                if (null != task.getRemindRepeat() && task.getRemindRepeat() > 0) {
+                    remindTasks.add(task);
+                    remindItems.put(task.getId(), () -> taskReminder.remind(context, task.getInstanceId(), task.getId()));
                 }
+            } else {
+                /**
+                 * 任务超时
+                 */
+                timeoutIds.add(task.getId());
             }
-        } finally {
-            jobLock.unlock();
+        }
+
+        // 1，超时任务分批集合迁移
+        if (!timeoutIds.isEmpty()) {
+            try {
+                taskService.taskTimeout(timeoutIds);
+            } catch (Exception e) {
+                log.error("Timeout tasks failed, taskIds: " + timeoutIds, e);
+            }
+        }
+
+        // 2，更新提醒次数减去 1 次
+        taskService.decrementRemindRepeat(remindTasks);
+
+        // 3，调用提醒接口
+        List<Long> failedIds = this.getRemindExecutor().invokeAll(remindItems);
+        if (!failedIds.isEmpty()) {
+            log.error("Remind tasks failed, taskIds: {}", failedIds);
+        }
+    }
+
+    protected RemindExecutor getRemindExecutor() {
+        if (null == remindExecutor) {
+            synchronized (this) {
+                if (null == remindExecutor) {
+                    remindExecutor = new RemindExecutor(remindParam);
+                }
+            }
+        }
+        return remindExecutor;
+    }
+
+    @Override
+    public void close() {
+        if (null != remindExecutor) {
+            remindExecutor.close();
         }
     }
 
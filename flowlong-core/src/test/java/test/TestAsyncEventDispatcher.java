@@ -0,0 +1,93 @@
+package test;
+
+import com.flowlong.bpm.engine.TransactionExecutor;
+import com.flowlong.bpm.engine.entity.Task;
+import com.flowlong.bpm.engine.impl.AsyncEventDispatcher;
+import com.flowlong.bpm.engine.impl.EventParam;
+import com.flowlong.bpm.engine.listener.TaskListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class TestAsyncEventDispatcher {
+
+    @Test
+    public void test() {
+        Map<Long, List<Long>> received = new ConcurrentHashMap<>();
+        AtomicInteger batches = new AtomicInteger();
+        TaskListener taskListener = new TaskListener() {
+            @Override
+            public void notify(String event, Task task) {
+                received.computeIfAbsent(task.getInstanceId(), k -> Collections.synchronizedList(new ArrayList<>())).add(task.getId());
+            }
+
+            @Override
+            public void notifyBatch(String event, List<Task> list) {
+                batches.incrementAndGet();
+                TaskListener.super.notifyBatch(event, list);
+            }
+        };
+        List<TaskListener> listeners = Collections.singletonList(taskListener);
+
+        EventParam eventParam = new EventParam();
+        eventParam.setThreads(3);
+        eventParam.setQueueCapacity(16);
+        int instances = 5;
+        int events = 200;
+        try (AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(TransactionExecutor.NONE, eventParam)) {
+            for (long id = 0; id < events; id++) {
+                Task task = new Task();
+                task.setId(id);
+                task.setInstanceId(id % instances);
+                dispatcher.dispatch(task.getInstanceId(), TaskListener.EVENT_CREATE, task, listeners);
+            }
+        }
+
+        // 关闭时通知完剩余事件，同一流程实例的事件按分发顺序通知
+        for (long instanceId = 0; instanceId < instances; instanceId++) {
+            List<Long> taskIds = received.get(instanceId);
+            Assertions.assertEquals(events / instances, taskIds.size());
+            for (int i = 1; i < taskIds.size(); i++) {
+                Assertions.assertTrue(taskIds.get(i - 1) < taskIds.get(i));
+            }
+        }
+        Assertions.assertTrue(batches.get() <= events);
+    }
+
+    @Test
+    public void testDispatchBatch() {
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        List<TaskListener> listeners = Collections.singletonList((event, task) -> received.add(task.getId()));
+        AtomicInteger callbacks = new AtomicInteger();
+        TransactionExecutor transactionExecutor = new TransactionExecutor() {
+            @Override
+            public <T> T execute(Supplier<T> action) {
+                return action.get();
+            }
+
+            @Override
+            public void afterCommit(Runnable action) {
+                callbacks.incrementAndGet();
+                action.run();
+            }
+        };
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 0; id < 10; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setInstanceId(1L);
+            tasks.add(task);
+        }
+        try (AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(transactionExecutor, new EventParam())) {
+            dispatcher.dispatchBatch(TaskListener.EVENT_TIMEOUT, tasks, Task::getInstanceId, listeners);
+        }
+
+        // 整批只注册一次事务提交后回调，事件按列表顺序通知
+        Assertions.assertEquals(1, callbacks.get());
+        Assertions.assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), received);
+    }
+}
@@ -0,0 +1,112 @@
+package test;
+
+import com.flowlong.bpm.engine.FlowLongEngine;
+import com.flowlong.bpm.engine.core.AsyncFlowLongEngine;
+import com.flowlong.bpm.engine.core.FlowCreator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestAsyncFlowLongEngine {
+    private final FlowCreator flowCreator = FlowCreator.of("test001", "测试001");
+
+    @Test
+    public void testSameInstance() throws Exception {
+        List<Long> executed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        FlowLongEngine engine = this.engine(taskId -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            // 先提交的操作执行更久，串行时仍按提交顺序完成
+            sleep(40 - taskId * 10);
+            executed.add(taskId);
+            running.decrementAndGet();
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (AsyncFlowLongEngine asyncEngine = new AsyncFlowLongEngine(engine, executorService)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (long taskId = 1; taskId <= 3; taskId++) {
+                futures.add(asyncEngine.executeTask(100L, taskId, flowCreator));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L), executed);
+        Assertions.assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    public void testDifferentInstance() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        FlowLongEngine engine = this.engine(taskId -> {
+            if (taskId == 1L) {
+                // 等待其它流程实例的操作开始，串行执行时将超时失败
+                try {
+                    Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                started.countDown();
+            }
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (AsyncFlowLongEngine asyncEngine = new AsyncFlowLongEngine(engine, executorService)) {
+            CompletableFuture<Void> first = asyncEngine.executeTask(100L, 1L, flowCreator);
+            CompletableFuture<Void> second = asyncEngine.executeTask(200L, 2L, flowCreator);
+            CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+        List<Long> executed = Collections.synchronizedList(new ArrayList<>());
+        FlowLongEngine engine = this.engine(executed::add);
+        Executor rejectExecutor = r -> {
+            throw new RejectedExecutionException("executor is full");
+        };
+        try (AsyncFlowLongEngine asyncEngine = new AsyncFlowLongEngine(engine, rejectExecutor)) {
+            // 执行器拒绝时快速失败，不阻塞调用线程
+            CompletableFuture<Void> future = asyncEngine.executeTask(100L, 1L, flowCreator);
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+
+            // 被拒绝的操作不阻塞同一流程实例的后续操作
+            CompletableFuture<Void> next = asyncEngine.executeTask(100L, 2L, flowCreator);
+            Assertions.assertThrows(ExecutionException.class, () -> next.get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertTrue(executed.isEmpty());
+    }
+
+    private FlowLongEngine engine(TaskAction taskAction) {
+        return (FlowLongEngine) Proxy.newProxyInstance(FlowLongEngine.class.getClassLoader(), new Class<?>[]{FlowLongEngine.class},
+                (proxy, method, args) -> {
+                    if ("executeTask".equals(method.getName())) {
+                        taskAction.execute((Long) args[0]);
+                    }
+                    return null;
+                });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface TaskAction {
+        void execute(Long taskId);
+    }
+}
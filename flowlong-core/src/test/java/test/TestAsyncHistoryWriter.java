@@ -0,0 +1,252 @@
+package test;
+
+import com.flowlong.bpm.engine.TransactionExecutor;
+import com.flowlong.bpm.engine.core.mapper.HisDeadLetterMapper;
+import com.flowlong.bpm.engine.core.mapper.HisInstanceMapper;
+import com.flowlong.bpm.engine.core.mapper.HisTaskActorMapper;
+import com.flowlong.bpm.engine.core.mapper.HisTaskMapper;
+import com.flowlong.bpm.engine.entity.FlowEntity;
+import com.flowlong.bpm.engine.entity.HisDeadLetter;
+import com.flowlong.bpm.engine.entity.HisInstance;
+import com.flowlong.bpm.engine.entity.HisTask;
+import com.flowlong.bpm.engine.entity.HisTaskActor;
+import com.flowlong.bpm.engine.entity.TaskActor;
+import com.flowlong.bpm.engine.impl.AsyncHistoryWriter;
+import com.flowlong.bpm.engine.impl.HistoryParam;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class TestAsyncHistoryWriter {
+    private final List<String> writes = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> writeThreads = Collections.synchronizedList(new ArrayList<>());
+    private final List<HisDeadLetter> deadLetters = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger instanceFailures = new AtomicInteger();
+    private final AtomicInteger taskFailures = new AtomicInteger();
+
+    @Test
+    public void testFlush() {
+        try (AsyncHistoryWriter writer = this.writer(TransactionExecutor.NONE, this.historyParam())) {
+            writer.insertHisTask(this.hisTask(2L), Collections.singletonList(this.hisTaskActor(3L)));
+            writer.updateHisInstance(this.hisInstance(1L));
+            writer.insertHisInstance(this.hisInstance(1L));
+            Assertions.assertTrue(writes.isEmpty());
+
+            // 同一批按历史实例新增、更新、历史任务、参与者顺序写入
+            writer.flush();
+            Assertions.assertEquals(Arrays.asList("instance:1", "instance-update:1", "task:2", "actor:3"), writes);
+        }
+    }
+
+    @Test
+    public void testAfterCommit() {
+        List<Runnable> afterCommits = new ArrayList<>();
+        TransactionExecutor transactionExecutor = new TransactionExecutor() {
+            @Override
+            public <T> T execute(Supplier<T> action) {
+                return action.get();
+            }
+
+            @Override
+            public void afterCommit(Runnable action) {
+                afterCommits.add(action);
+            }
+        };
+        try (AsyncHistoryWriter writer = this.writer(transactionExecutor, this.historyParam())) {
+            writer.insertHisTask(this.hisTask(1L), null);
+
+            // 事务回滚，提交回调不执行，不写入历史记录
+            afterCommits.clear();
+            writer.flush();
+            Assertions.assertTrue(writes.isEmpty());
+
+            // 事务提交后写入
+            writer.insertHisTask(this.hisTask(2L), null);
+            afterCommits.forEach(Runnable::run);
+            writer.flush();
+            Assertions.assertEquals(Collections.singletonList("task:2"), writes);
+        }
+    }
+
+    @Test
+    public void testBackPressure() {
+        HistoryParam historyParam = this.historyParam();
+        historyParam.setQueueCapacity(2);
+        historyParam.setOfferTimeout(10);
+        try (AsyncHistoryWriter writer = this.writer(TransactionExecutor.NONE, historyParam)) {
+            for (long id = 1; id <= 5; id++) {
+                writer.insertHisTask(this.hisTask(id), null);
+            }
+            // 队列已满时调用线程先写入已入队记录，再同步写入当前记录
+            Assertions.assertEquals(Arrays.asList("task:1", "task:2", "task:3"), writes);
+            Assertions.assertTrue(writeThreads.stream().allMatch(t -> t.equals(Thread.currentThread().getName())));
+
+            writer.flush();
+            Assertions.assertEquals(Arrays.asList("task:1", "task:2", "task:3", "task:4", "task:5"), writes);
+        }
+    }
+
+    @Test
+    public void testRetry() {
+        try (AsyncHistoryWriter writer = this.writer(TransactionExecutor.NONE, this.historyParam())) {
+            // 批量及逐条写入均失败，等待下次写入重试
+            taskFailures.set(2);
+            writer.insertHisTask(this.hisTask(1L), null);
+            writer.flush();
+            Assertions.assertTrue(writes.isEmpty());
+            Assertions.assertEquals(1, writer.getRetrySize());
+
+            writer.flush();
+            Assertions.assertEquals(Collections.singletonList("task:1"), writes);
+            Assertions.assertEquals(0, writer.getRetrySize());
+            Assertions.assertTrue(deadLetters.isEmpty());
+        }
+    }
+
+    @Test
+    public void testDeadLetter() {
+        HistoryParam historyParam = this.historyParam();
+        historyParam.setRetry(2);
+        try (AsyncHistoryWriter writer = this.writer(TransactionExecutor.NONE, historyParam)) {
+            taskFailures.set(Integer.MAX_VALUE);
+            writer.insertHisTask(this.hisTask(1L), Collections.singletonList(this.hisTaskActor(3L)));
+            writer.flush();
+            writer.flush();
+            Assertions.assertEquals(1, writer.getRetrySize());
+            Assertions.assertTrue(deadLetters.isEmpty());
+
+            // 超过重试次数保存至死信表
+            writer.flush();
+            Assertions.assertEquals(0, writer.getRetrySize());
+            Assertions.assertEquals(1, deadLetters.size());
+            HisDeadLetter deadLetter = deadLetters.get(0);
+            Assertions.assertEquals("insertTask", deadLetter.getOperation());
+            Assertions.assertEquals(1L, deadLetter.getEntityId());
+            Assertions.assertTrue(deadLetter.getPayload().contains("hisTaskActors"));
+            Assertions.assertEquals("write failed", deadLetter.getError());
+            Assertions.assertTrue(writes.isEmpty());
+        }
+    }
+
+    @Test
+    public void testFollowParent() {
+        try (AsyncHistoryWriter writer = this.writer(TransactionExecutor.NONE, this.historyParam())) {
+            // 历史实例写入失败，同一实例的历史任务跟随等待重试，不先于历史实例写入
+            instanceFailures.set(4);
+            writer.insertHisInstance(this.hisInstance(1L));
+            writer.insertHisTask(this.hisTask(2L), Collections.singletonList(this.hisTaskActor(3L)));
+            writer.flush();
+            Assertions.assertTrue(writes.isEmpty());
+            Assertions.assertEquals(2, writer.getRetrySize());
+
+            // 历史实例重试仍失败，后续入队的同一实例记录同样跟随
+            writer.insertHisTask(this.hisTask(4L), null);
+            writer.flush();
+            Assertions.assertTrue(writes.isEmpty());
+            Assertions.assertEquals(3, writer.getRetrySize());
+
+            writer.flush();
+            Assertions.assertEquals(Arrays.asList("instance:1", "task:2", "task:4", "actor:3"), writes);
+            Assertions.assertEquals(0, writer.getRetrySize());
+            Assertions.assertTrue(deadLetters.isEmpty());
+        }
+    }
+
+    @Test
+    public void testFollowParentDeadLetter() {
+        HistoryParam historyParam = this.historyParam();
+        historyParam.setRetry(1);
+        try (AsyncHistoryWriter writer = this.writer(TransactionExecutor.NONE, historyParam)) {
+            instanceFailures.set(Integer.MAX_VALUE);
+            writer.insertHisInstance(this.hisInstance(1L));
+            writer.insertHisTask(this.hisTask(2L), null);
+            writer.flush();
+            Assertions.assertEquals(2, writer.getRetrySize());
+
+            // 历史实例超过重试次数，历史任务与其一起保存至死信表
+            writer.flush();
+            Assertions.assertEquals(0, writer.getRetrySize());
+            Assertions.assertEquals(Arrays.asList("insertInstance", "insertTask"), deadLetters.stream()
+                    .map(HisDeadLetter::getOperation).collect(Collectors.toList()));
+            Assertions.assertTrue(writes.isEmpty());
+        }
+    }
+
+    private HistoryParam historyParam() {
+        HistoryParam historyParam = new HistoryParam();
+        historyParam.setQueueCapacity(100);
+        historyParam.setBatchSize(100);
+        // 后台线程不主动写入，由测试调用 flush
+        historyParam.setFlushInterval(60000);
+        return historyParam;
+    }
+
+    private AsyncHistoryWriter writer(TransactionExecutor transactionExecutor, HistoryParam historyParam) {
+        return new AsyncHistoryWriter(transactionExecutor, this.mapper(HisInstanceMapper.class, "instance", instanceFailures),
+                this.mapper(HisTaskMapper.class, "task", taskFailures), this.mapper(HisTaskActorMapper.class, "actor", null),
+                this.mapper(HisDeadLetterMapper.class, "deadLetter", null), historyParam);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T mapper(Class<T> type, String name, AtomicInteger failures) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "insertBatch":
+                    if (null != failures && failures.getAndDecrement() > 0) {
+                        throw new IllegalStateException("write failed");
+                    }
+                    for (Object entity : (List<?>) args[0]) {
+                        writes.add(name + ":" + id(entity));
+                    }
+                    writeThreads.add(Thread.currentThread().getName());
+                    return true;
+                case "updateById":
+                    writes.add(name + "-update:" + id(args[0]));
+                    return 1;
+                case "insert":
+                    deadLetters.add((HisDeadLetter) args[0]);
+                    return 1;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return name;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static Long id(Object entity) {
+        return entity instanceof TaskActor ? ((TaskActor) entity).getId() : ((FlowEntity) entity).getId();
+    }
+
+    private HisInstance hisInstance(Long id) {
+        HisInstance hisInstance = new HisInstance();
+        hisInstance.setId(id);
+        return hisInstance;
+    }
+
+    private HisTask hisTask(Long id) {
+        HisTask hisTask = new HisTask();
+        hisTask.setId(id);
+        hisTask.setInstanceId(1L);
+        return hisTask;
+    }
+
+    private HisTaskActor hisTaskActor(Long id) {
+        HisTaskActor hisTaskActor = new HisTaskActor();
+        hisTaskActor.setId(id);
+        hisTaskActor.setTaskId(2L);
+        return hisTaskActor;
+    }
+}
@@ -0,0 +1,121 @@
+package test;
+
+import com.flowlong.bpm.engine.VariableStore;
+import com.flowlong.bpm.engine.core.SpelExpression;
+import com.flowlong.bpm.engine.core.StoreVariableMap;
+import com.flowlong.bpm.engine.model.ConditionNode;
+import com.flowlong.bpm.engine.model.NodeExpression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestConditionPredicate {
+
+    private static NodeExpression nodeExpression(String field, String operator, String value) {
+        NodeExpression nodeExpression = new NodeExpression();
+        nodeExpression.setField(field);
+        nodeExpression.setOperator(operator);
+        nodeExpression.setValue(value);
+        return nodeExpression;
+    }
+
+    @Test
+    public void test() {
+        ConditionNode conditionNode = new ConditionNode();
+        conditionNode.setConditionMode(0);
+        conditionNode.setConditionList(Arrays.asList(nodeExpression("day", ">=", "7"),
+                nodeExpression("name", "==", "'flowlong'")));
+        conditionNode.compile();
+        Assertions.assertFalse(conditionNode.requiresExpression());
+
+        SpelExpression expression = new SpelExpression();
+        Map<String, Object> args = new HashMap<>();
+        args.put("day", 7L);
+        args.put("name", "flowlong");
+        Assertions.assertTrue(conditionNode.evaluate(null, args));
+        Assertions.assertEquals(expression.eval(Boolean.class, conditionNode.getExpr(), args), conditionNode.evaluate(null, args));
+        args.put("day", 6.5);
+        Assertions.assertFalse(conditionNode.evaluate(null, args));
+        Assertions.assertEquals(expression.eval(Boolean.class, conditionNode.getExpr(), args), conditionNode.evaluate(null, args));
+
+        // 或条件
+        conditionNode.setConditionMode(1);
+        conditionNode.compile();
+        Assertions.assertTrue(conditionNode.evaluate(null, args));
+        args.remove("name");
+        Assertions.assertFalse(conditionNode.evaluate(null, args));
+    }
+
+    @Test
+    public void testFallback() {
+        ConditionNode conditionNode = new ConditionNode();
+        conditionNode.setConditionMode(0);
+        conditionNode.setConditionList(Arrays.asList(nodeExpression("name", ".equals", "('flowlong')")));
+        Assertions.assertTrue(conditionNode.requiresExpression());
+        Map<String, Object> args = new HashMap<>();
+        args.put("name", "flowlong");
+        Assertions.assertTrue(conditionNode.evaluate(new SpelExpression(), args));
+    }
+
+    @Test
+    public void testNestedField() {
+        // 属性导航字段不预编译，由 SpEL 读取对象属性
+        ConditionNode conditionNode = new ConditionNode();
+        conditionNode.setConditionMode(0);
+        conditionNode.setConditionList(Arrays.asList(nodeExpression("user.age", ">=", "18")));
+        Assertions.assertTrue(conditionNode.requiresExpression());
+        Map<String, Object> args = new HashMap<>();
+        args.put("user", new User(20));
+        Assertions.assertTrue(conditionNode.evaluate(new SpelExpression(), args));
+        args.put("user", new User(16));
+        Assertions.assertFalse(conditionNode.evaluate(new SpelExpression(), args));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPrefetch() {
+        ConditionNode conditionNode = new ConditionNode();
+        conditionNode.setConditionMode(0);
+        conditionNode.setConditionList(Arrays.asList(nodeExpression("day", ">=", "7"),
+                nodeExpression("name", "==", "'flowlong'")));
+        conditionNode.compile();
+        Assertions.assertFalse(conditionNode.requiresExpression());
+
+        // 预编译条件一次加载引用的全部变量
+        List<Collection<String>> loads = new ArrayList<>();
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("day", 8);
+        stored.put("name", "flowlong");
+        VariableStore variableStore = (VariableStore) Proxy.newProxyInstance(VariableStore.class.getClassLoader(),
+                new Class<?>[]{VariableStore.class}, (proxy, method, args) -> {
+                    if ("get".equals(method.getName())) {
+                        loads.add(new ArrayList<>((Collection<String>) args[2]));
+                        return new HashMap<>(stored);
+                    }
+                    return null;
+                });
+        Map<String, Object> args = new StoreVariableMap(new HashMap<>(), 1L, variableStore, Collections.emptyMap());
+        Assertions.assertTrue(conditionNode.evaluate(null, args));
+        Assertions.assertEquals(Collections.singletonList(Arrays.asList("day", "name")), loads);
+    }
+
+    public static class User {
+        private final int age;
+
+        public User(int age) {
+            this.age = age;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package test;
+
+import com.flowlong.bpm.engine.core.mapper.JobLockMapper;
+import com.flowlong.bpm.engine.scheduling.DatabaseLock;
+import com.flowlong.bpm.engine.scheduling.JobPartition;
+import com.flowlong.bpm.engine.scheduling.LockParam;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class TestDatabaseLock {
+    private static final long LEASE_MILLIS = 30000;
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+    private final MemoryJobLockMapper jobLockMapper = new MemoryJobLockMapper();
+
+    @Test
+    public void testLease() {
+        try (Lock node1 = new Lock("node1", false); Lock node2 = new Lock("node2", false)) {
+            Assertions.assertTrue(node1.tryLock());
+            Assertions.assertFalse(node2.tryLock());
+
+            // 持有节点重入续期
+            Assertions.assertTrue(node1.tryLock());
+
+            // 释放后其它节点可获取
+            node1.unlock();
+            clock.incrementAndGet();
+            Assertions.assertTrue(node2.tryLock());
+            Assertions.assertFalse(node1.tryLock());
+        }
+    }
+
+    @Test
+    public void testHeartbeat() {
+        try (Lock node1 = new Lock("node1", false); Lock node2 = new Lock("node2", false)) {
+            Assertions.assertTrue(node1.tryLock());
+
+            // 心跳续期，超过首次租约时间仍由持有节点持有
+            clock.addAndGet(LEASE_MILLIS - 1000);
+            node1.beat();
+            clock.addAndGet(LEASE_MILLIS - 1000);
+            Assertions.assertFalse(node2.tryLock());
+            Assertions.assertEquals("node1", jobLockMapper.owner);
+        }
+    }
+
+    @Test
+    public void testTakeover() {
+        try (Lock node1 = new Lock("node1", false); Lock node2 = new Lock("node2", false)) {
+            Assertions.assertTrue(node1.tryLock());
+
+            // 持有节点停止心跳，租约过期后其它节点接管
+            clock.addAndGet(LEASE_MILLIS + 1000);
+            Assertions.assertTrue(node2.tryLock());
+            Assertions.assertEquals("node2", jobLockMapper.owner);
+
+            // 原持有节点心跳发现租约已被接管，解锁不影响新持有节点
+            node1.beat();
+            node1.unlock();
+            Assertions.assertEquals("node2", jobLockMapper.owner);
+            Assertions.assertTrue(jobLockMapper.expireTime > clock.get());
+            Assertions.assertFalse(node1.tryLock());
+        }
+    }
+
+    @Test
+    public void testPartition() {
+        try (Lock node1 = new Lock("node1", true); Lock node2 = new Lock("node2", true)) {
+            node1.beat();
+            node2.beat();
+            node1.beat();
+            Assertions.assertEquals("0/2", node1.partition().toString());
+            Assertions.assertEquals("1/2", node2.partition().toString());
+
+            // 与 MySQL CRC32('1') = 2212294583 取模结果一致
+            Assertions.assertTrue(node2.partition().contains(1L));
+            Assertions.assertFalse(node1.partition().contains(1L));
+
+            // 节点心跳超时后剩余节点接管全部分区
+            clock.addAndGet(LEASE_MILLIS + 1000);
+            node2.beat();
+            JobPartition partition = node2.partition();
+            Assertions.assertEquals("0/1", partition.toString());
+            Assertions.assertTrue(partition.contains(1L));
+        }
+    }
+
+    private LockParam lockParam(String nodeId, boolean partition) {
+        LockParam lockParam = new LockParam();
+        lockParam.setNodeId(nodeId);
+        lockParam.setPartition(partition);
+        lockParam.setLeaseTime(LEASE_MILLIS / 1000);
+        return lockParam;
+    }
+
+    /**
+     * 后台心跳不执行的数据库锁
+     */
+    private class Lock extends DatabaseLock {
+
+        Lock(String nodeId, boolean partition) {
+            super(jobLockMapper, lockParam(nodeId, partition));
+        }
+
+        /**
+         * 后台心跳不执行，由测试推进时钟后调用 {@link #beat()}
+         */
+        @Override
+        protected void heartbeat() {
+        }
+
+        void beat() {
+            super.heartbeat();
+        }
+    }
+
+    /**
+     * 内存锁记录及节点心跳，测试时钟模拟数据库时间
+     */
+    private class MemoryJobLockMapper implements JobLockMapper {
+        private String owner;
+        private long expireTime;
+        private final Map<String, Long> nodes = new ConcurrentHashMap<>();
+
+        @Override
+        public synchronized int updateLease(String lockName, String owner, long leaseTime) {
+            if (null == this.owner || !(owner.equals(this.owner) || this.expireTime < clock.get())) {
+                return 0;
+            }
+            this.owner = owner;
+            this.expireTime = clock.get() + leaseTime * 1000;
+            return 1;
+        }
+
+        @Override
+        public synchronized int insertLease(String lockName, String owner, long leaseTime) {
+            if (null != this.owner) {
+                throw new DuplicateKeyException("Duplicate entry " + lockName);
+            }
+            this.owner = owner;
+            this.expireTime = clock.get() + leaseTime * 1000;
+            return 1;
+        }
+
+        @Override
+        public synchronized int releaseLease(String lockName, String owner) {
+            if (!owner.equals(this.owner)) {
+                return 0;
+            }
+            this.expireTime = clock.get();
+            return 1;
+        }
+
+        @Override
+        public int updateHeartbeat(String nodeId) {
+            return null == nodes.computeIfPresent(nodeId, (k, v) -> clock.get()) ? 0 : 1;
+        }
+
+        @Override
+        public int insertNode(String nodeId) {
+            nodes.put(nodeId, clock.get());
+            return 1;
+        }
+
+        @Override
+        public List<String> selectAliveNodeIds(long aliveTime) {
+            long aliveMillis = clock.get() - aliveTime * 1000;
+            return nodes.entrySet().stream().filter(e -> e.getValue() > aliveMillis)
+                    .map(Map.Entry::getKey).sorted().collect(Collectors.toList());
+        }
+
+        @Override
+        public int deleteNode(String nodeId) {
+            return null == nodes.remove(nodeId) ? 0 : 1;
+        }
+
+        @Override
+        public int deleteDeadNodes(long deadTime) {
+            long deadMillis = clock.get() - deadTime * 1000;
+            int size = nodes.size();
+            nodes.values().removeIf(t -> t < deadMillis);
+            return size - nodes.size();
+        }
+    }
+}
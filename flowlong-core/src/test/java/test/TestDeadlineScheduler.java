@@ -0,0 +1,245 @@
+package test;
+
+import com.flowlong.bpm.engine.QueryService;
+import com.flowlong.bpm.engine.TaskService;
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.entity.Task;
+import com.flowlong.bpm.engine.listener.TaskListener;
+import com.flowlong.bpm.engine.scheduling.DeadlineScheduler;
+import com.flowlong.bpm.engine.scheduling.JobPartition;
+import com.flowlong.bpm.engine.scheduling.LocalLock;
+import com.flowlong.bpm.engine.scheduling.RemindParam;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDeadlineScheduler {
+    private final List<Task> windowTasks = new ArrayList<>();
+    private final List<Long> reminded = new ArrayList<>();
+    /**
+     * 模拟任务表记录，提醒时间及剩余提醒次数
+     */
+    private Date remindTime;
+    private final AtomicInteger remindRepeat = new AtomicInteger();
+
+    @Test
+    public void testLoadWindow() {
+        long now = System.currentTimeMillis();
+        windowTasks.add(this.task(1L, new Date(now + 10000), 2, null));
+        windowTasks.add(this.task(2L, null, 0, new Date(now + 20000)));
+        // 提醒次数已用完只调度超时
+        windowTasks.add(this.task(3L, new Date(now + 10000), 0, new Date(now + 30000)));
+        Scheduler scheduler = this.scheduler();
+        scheduler.loadWindow();
+        Assertions.assertEquals(now + 10000, scheduler.getRemindDeadlines().get(1L).getDueTime());
+        Assertions.assertFalse(scheduler.getRemindDeadlines().containsKey(3L));
+        Assertions.assertEquals(now + 20000, scheduler.getTimeoutDeadlines().get(2L).getDueTime());
+        Assertions.assertTrue(scheduler.getTimeoutDeadlines().get(3L).isTimeout());
+        Assertions.assertEquals(3, scheduler.getQueue().size());
+        Assertions.assertTrue(scheduler.getHorizon() >= now + 60000);
+
+        // 重复加载窗口不重复入队
+        scheduler.loadWindow();
+        Assertions.assertEquals(3, scheduler.getQueue().size());
+    }
+
+    @Test
+    public void testCancel() {
+        long now = System.currentTimeMillis();
+        windowTasks.add(this.task(1L, new Date(now + 10000), 1, new Date(now + 20000)));
+        Scheduler scheduler = this.scheduler();
+        scheduler.loadWindow();
+        Assertions.assertTrue(scheduler.getRemindDeadlines().containsKey(1L));
+
+        // 指派不影响期限
+        scheduler.notify(TaskListener.EVENT_ASSIGNMENT, this.task(1L, null, 0, null));
+        Assertions.assertTrue(scheduler.getRemindDeadlines().containsKey(1L));
+
+        // 任务完成取消提醒、超时期限
+        scheduler.notify(TaskListener.EVENT_COMPLETE, this.task(1L, null, 0, null));
+        Assertions.assertTrue(scheduler.getRemindDeadlines().isEmpty());
+        Assertions.assertTrue(scheduler.getTimeoutDeadlines().isEmpty());
+    }
+
+    @Test
+    public void testReschedule() {
+        long now = System.currentTimeMillis();
+        windowTasks.add(this.task(1L, new Date(now + 10000), 1, null));
+        Scheduler scheduler = this.scheduler();
+        scheduler.loadWindow();
+
+        // 重复创建事件保留原期限
+        scheduler.notify(TaskListener.EVENT_CREATE, this.task(1L, new Date(now + 15000), 1, null));
+        Assertions.assertEquals(now + 10000, scheduler.getRemindDeadlines().get(1L).getDueTime());
+
+        // 更新事件替换为新期限
+        scheduler.notify(TaskListener.EVENT_UPDATE, this.task(1L, new Date(now + 20000), 1, null));
+        Assertions.assertEquals(now + 20000, scheduler.getRemindDeadlines().get(1L).getDueTime());
+
+        // 窗口外的新任务由后续窗口加载
+        scheduler.notify(TaskListener.EVENT_CREATE, this.task(2L, new Date(now + 3600000), 1, null));
+        Assertions.assertFalse(scheduler.getRemindDeadlines().containsKey(2L));
+    }
+
+    @Test
+    public void testPartition() {
+        Scheduler scheduler = this.scheduler();
+        scheduler.setJobLock(new LocalLock() {
+
+            @Override
+            public JobPartition partition() {
+                return new JobPartition(0, 2);
+            }
+        });
+        scheduler.loadWindow();
+
+        // 其它节点分区的任务不调度，CRC32('1') % 2 = 1
+        long now = System.currentTimeMillis();
+        scheduler.notify(TaskListener.EVENT_CREATE, this.task(1L, new Date(now + 10000), 1, null));
+        Assertions.assertTrue(scheduler.getRemindDeadlines().isEmpty());
+    }
+
+    @Test
+    public void testRemindFence() {
+        remindTime = new Date(System.currentTimeMillis() - 1000);
+        remindRepeat.set(2);
+        // 两个节点加载了同一任务，读取到相同的提醒时间
+        Task snapshot = this.task(1L, remindTime, 2, null);
+        Scheduler node1 = this.scheduler(snapshot);
+        Scheduler node2 = this.scheduler(snapshot);
+        node1.remind(1L);
+        node2.remind(1L);
+
+        // 只有条件更新成功的节点提醒并调度下次提醒
+        Assertions.assertEquals(Arrays.asList(1L), reminded);
+        Assertions.assertEquals(1, remindRepeat.get());
+        Assertions.assertEquals(remindTime.getTime(), node1.getRemindDeadlines().get(1L).getDueTime());
+        Assertions.assertFalse(node2.getRemindDeadlines().containsKey(1L));
+    }
+
+    @Test
+    public void testDispatch() throws Exception {
+        long now = System.currentTimeMillis();
+        windowTasks.add(this.task(1L, new Date(now - 1000), 1, null));
+        windowTasks.add(this.task(2L, new Date(now - 1000), 1, null));
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch reminded2 = new CountDownLatch(1);
+        FlowLongContext context = new FlowLongContext();
+        context.setTaskService(this.proxy(TaskService.class, (method, args) -> {
+            switch (method) {
+                case "getTimeoutOrRemindTasks":
+                    return new ArrayList<>(windowTasks);
+                case "decrementRemindRepeat":
+                    return true;
+                default:
+                    return null;
+            }
+        }));
+        context.setQueryService(this.proxy(QueryService.class, (method, args) -> "getTask".equals(method)
+                ? windowTasks.stream().filter(t -> t.getId().equals(args[0])).findFirst().orElse(null) : null));
+        RemindParam remindParam = new RemindParam();
+        remindParam.setPoolSize(2);
+        try (Scheduler scheduler = new Scheduler()) {
+            scheduler.setContext(context);
+            scheduler.setJobLock(new LocalLock());
+            scheduler.setRemindParam(remindParam);
+            scheduler.setTaskReminder((ctx, instanceId, taskId) -> {
+                if (taskId == 1L) {
+                    try {
+                        blocked.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else {
+                    reminded2.countDown();
+                }
+            });
+            // 启动前加载窗口，两个提醒在同一批次分发
+            scheduler.loadWindow();
+            scheduler.start();
+
+            // 阻塞的提醒接口不影响同批次其它任务提醒
+            Assertions.assertTrue(reminded2.await(3, TimeUnit.SECONDS));
+            blocked.countDown();
+        }
+    }
+
+    private Scheduler scheduler() {
+        return this.scheduler(null);
+    }
+
+    private Scheduler scheduler(Task snapshot) {
+        FlowLongContext context = new FlowLongContext();
+        context.setTaskService(this.proxy(TaskService.class, (method, args) -> {
+            switch (method) {
+                case "getTimeoutOrRemindTasks":
+                    return new ArrayList<>(windowTasks);
+                case "decrementRemindRepeat":
+                    return this.decrementRemindRepeat((Task) args[0], (Date) args[1]);
+                default:
+                    return null;
+            }
+        }));
+        context.setQueryService(this.proxy(QueryService.class, (method, args) -> "getTask".equals(method) ? snapshot : null));
+        Scheduler scheduler = new Scheduler();
+        scheduler.setContext(context);
+        scheduler.setJobLock(new LocalLock());
+        scheduler.setRemindParam(new RemindParam());
+        scheduler.setTaskReminder((ctx, instanceId, taskId) -> reminded.add(taskId));
+        return scheduler;
+    }
+
+    private synchronized boolean decrementRemindRepeat(Task task, Date nextRemindTime) {
+        if (!Objects.equals(remindTime, task.getRemindTime()) || remindRepeat.get() <= 0) {
+            return false;
+        }
+        remindRepeat.decrementAndGet();
+        remindTime = nextRemindTime;
+        return true;
+    }
+
+    private Task task(Long id, Date remindTime, int remindRepeat, Date expireTime) {
+        Task task = new Task();
+        task.setId(id);
+        task.setInstanceId(100L);
+        task.setRemindTime(remindTime);
+        task.setRemindRepeat(remindRepeat);
+        task.setExpireTime(expireTime);
+        return task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.invoke(method.getName(), args));
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    /**
+     * 不启动调度线程，直接调用窗口加载及提醒
+     */
+    private static class Scheduler extends DeadlineScheduler {
+
+        @Override
+        protected void loadWindow() {
+            super.loadWindow();
+        }
+
+        @Override
+        protected void remind(Long taskId) {
+            super.remind(taskId);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package test;
+
+import com.flowlong.bpm.engine.core.enums.PerformType;
+import com.flowlong.bpm.engine.core.enums.TaskType;
+import com.flowlong.bpm.engine.entity.Instance;
+import com.flowlong.bpm.engine.entity.Task;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestLazyVariable {
+
+    @Test
+    public void testInstance() {
+        Instance instance = new Instance();
+        instance.setVariable("{\"day\":8,\"name\":\"flowlong\"}");
+        Map<String, Object> view = instance.getVariableMap();
+        Assertions.assertEquals(8, view.get("day"));
+
+        // 修改视图不影响实例变量
+        view.put("day", 10);
+        Assertions.assertEquals(8, instance.getVariableMap().get("day"));
+        Assertions.assertEquals("{\"day\":8,\"name\":\"flowlong\"}", instance.getVariable());
+
+        // 写回后序列化
+        instance.setVariable(view);
+        Assertions.assertEquals(10, instance.getVariableMap().get("day"));
+        Assertions.assertTrue(instance.getVariable().contains("\"day\":10"));
+
+        Assertions.assertTrue(new Instance().getVariableMap().isEmpty());
+    }
+
+    @Test
+    public void testTask() {
+        Map<String, Object> args = new HashMap<>();
+        args.put("day", 8);
+        Task task = new Task();
+        task.setTaskType(TaskType.major);
+        task.setPerformType(PerformType.unknown);
+        task.setVariable(args);
+        // 参数快照，后续修改不影响任务变量
+        args.put("day", 10);
+        Task newTask = task.cloneTask("1", "test");
+        Assertions.assertEquals(8, newTask.variableMap().get("day"));
+        Assertions.assertEquals(task.getVariable(), newTask.getVariable());
+    }
+}
@@ -0,0 +1,79 @@
+package test;
+
+import com.flowlong.bpm.engine.cache.ProcessCache;
+import com.flowlong.bpm.engine.entity.Process;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestProcessCache {
+
+    private static Process process(Long id, String name, Integer version) {
+        Process process = new Process();
+        process.setId(id);
+        process.setName(name);
+        process.setVersion(version);
+        process.setType("请假");
+        return process;
+    }
+
+    @Test
+    public void testIndex() {
+        ProcessCache cache = new ProcessCache(16);
+        cache.putLatest(process(1L, "leave", 1));
+        cache.putLatest(process(2L, "leave", 2));
+        Assertions.assertEquals(2L, cache.get("leave", null).getId());
+        Assertions.assertEquals(1L, cache.get("leave", 1).getId());
+        Assertions.assertEquals(2, cache.get(2L).getVersion());
+
+        // 旧版本重新缓存不覆盖最新版本
+        cache.put(process(1L, "leave", 1));
+        Assertions.assertEquals(2L, cache.get("leave", null).getId());
+
+        // 移除最新版本，同时移除名称索引
+        cache.remove(2L);
+        Assertions.assertNull(cache.get(2L));
+        Assertions.assertNull(cache.get("leave", 2));
+        Assertions.assertNull(cache.get("leave", null));
+        Assertions.assertNotNull(cache.get("leave", 1));
+    }
+
+    @Test
+    public void testCopy() {
+        ProcessCache cache = new ProcessCache(16);
+        Process process = process(1L, "leave", 1);
+        cache.putLatest(process);
+
+        // 修改缓存入参及返回对象不影响缓存
+        process.setType("changed");
+        Process cached = cache.get(1L);
+        cached.setType("changed");
+        Assertions.assertNotSame(cached, cache.get(1L));
+        Assertions.assertEquals("请假", cache.get(1L).getType());
+        Assertions.assertEquals("请假", cache.get("leave", null).getType());
+    }
+
+    @Test
+    public void testExpire() {
+        AtomicLong now = new AtomicLong(1000L);
+        ProcessCache cache = new ProcessCache(1, 100L) {
+            @Override
+            protected long currentTimeMillis() {
+                return now.get();
+            }
+        };
+        cache.putLatest(process(1L, "leave", 1));
+        now.addAndGet(99L);
+        Assertions.assertNotNull(cache.get("leave", null));
+
+        // 超过有效期失效，其它节点部署的最新版本重新加载
+        now.addAndGet(1L);
+        Assertions.assertNull(cache.get("leave", null));
+
+        // 容量已满时先清理过期条目
+        cache.putLatest(process(2L, "leave", 2));
+        Assertions.assertEquals(2L, cache.get("leave", null).getId());
+        Assertions.assertNull(cache.get(1L));
+    }
+}
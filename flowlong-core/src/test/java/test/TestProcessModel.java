@@ -0,0 +1,27 @@
+package test;
+
+import com.flowlong.bpm.engine.assist.StreamUtils;
+import com.flowlong.bpm.engine.model.NodeModel;
+import com.flowlong.bpm.engine.model.ProcessModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestProcessModel {
+
+    @Test
+    public void testGetNode() {
+        ProcessModel processModel = StreamUtils.readBytes(StreamUtils.getResourceAsStream("test/countersign.json"), ProcessModel::parse);
+        Assertions.assertEquals("发起人", processModel.getNode("发起人").getNodeName());
+
+        // 第二个条件分支节点
+        NodeModel nodeModel = processModel.getNode("默认主管审批");
+        Assertions.assertNotNull(nodeModel);
+        Assertions.assertSame(nodeModel, processModel.getNodeConfig().getNode("默认主管审批"));
+        Assertions.assertNull(processModel.getNode("不存在节点"));
+
+        // 条件分支结束后的主干节点
+        Assertions.assertEquals("抄送人", processModel.getNextNode(nodeModel).getNodeName());
+        Assertions.assertEquals("抄送人", processModel.getNextNode(processModel.getNode("7天领导审批")).getNodeName());
+        Assertions.assertNull(processModel.getNextNode(processModel.getNode("发起人")));
+    }
+}
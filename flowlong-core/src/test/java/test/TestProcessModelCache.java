@@ -0,0 +1,56 @@
+package test;
+
+import com.flowlong.bpm.engine.cache.CacheStats;
+import com.flowlong.bpm.engine.cache.ProcessModelCache;
+import com.flowlong.bpm.engine.model.ProcessModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestProcessModelCache {
+
+    @Test
+    public void test() {
+        ProcessModelCache cache = new ProcessModelCache(2);
+        AtomicInteger parseCount = new AtomicInteger();
+        ProcessModel model = cache.get(1L, "v1", () -> {
+            parseCount.incrementAndGet();
+            return new ProcessModel();
+        });
+        Assertions.assertSame(model, cache.get(1L, new String("v1"), ProcessModel::new));
+        Assertions.assertEquals(1, parseCount.get());
+
+        // 模型内容变更重新解析
+        Assertions.assertNotSame(model, cache.get(1L, "v2", ProcessModel::new));
+
+        // 超出容量淘汰
+        cache.get(2L, "v1", ProcessModel::new);
+        cache.get(3L, "v1", ProcessModel::new);
+        CacheStats stats = cache.stats();
+        Assertions.assertEquals(1, stats.getHitCount());
+        Assertions.assertEquals(4, stats.getMissCount());
+        Assertions.assertEquals(1, stats.getEvictionCount());
+        Assertions.assertEquals(2, stats.getSize());
+
+        // 移除缓存
+        cache.remove(3L);
+        Assertions.assertEquals(1, cache.stats().getSize());
+    }
+
+    @Test
+    public void testRedeployStaleReader() {
+        ProcessModelCache cache = new ProcessModelCache(8);
+        ProcessModel oldModel = new ProcessModel();
+        ProcessModel newModel = new ProcessModel();
+        cache.get(1L, "old", () -> oldModel);
+
+        // 重新部署后移除缓存，持有旧流程定义的读取方回填旧模型
+        cache.remove(1L);
+        Assertions.assertSame(oldModel, cache.get(1L, "old", () -> oldModel));
+
+        // 版本号不变，新内容仍然重新解析，不会读取到回填的旧模型
+        Assertions.assertSame(newModel, cache.get(1L, "new", () -> newModel));
+        Assertions.assertSame(newModel, cache.get(1L, "new", ProcessModel::new));
+    }
+}
@@ -0,0 +1,50 @@
+package test;
+
+import com.flowlong.bpm.engine.scheduling.RemindExecutor;
+import com.flowlong.bpm.engine.scheduling.RemindParam;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestRemindExecutor {
+
+    @Test
+    public void test() throws Exception {
+        RemindParam remindParam = new RemindParam();
+        remindParam.setPoolSize(2);
+        remindParam.setItemTimeout(1);
+        remindParam.setRetry(1);
+        try (RemindExecutor executor = new RemindExecutor(remindParam)) {
+            AtomicInteger attempts = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(3);
+            Map<Long, Runnable> items = new LinkedHashMap<>();
+            // 首次失败，重试成功
+            items.put(1L, () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("remind failed");
+                }
+                done.countDown();
+            });
+            // 阻塞超时，不影响其它任务项
+            items.put(2L, () -> {
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            items.put(3L, done::countDown);
+            items.put(4L, done::countDown);
+            List<Long> failedIds = executor.invokeAll(items);
+            Assertions.assertEquals(Collections.singletonList(2L), failedIds);
+            Assertions.assertEquals(2, attempts.get());
+            Assertions.assertEquals(0, done.getCount());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package test;
 import com.flowlong.bpm.engine.core.SpelExpression;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,4 +18,34 @@ public class TestSpelExpression {
         args.put("day", 8);
         Assertions.assertTrue(expression.eval(Boolean.class, "#day>7", args));
     }
+
+    @Test
+    public void testCompiled() {
+        SpelExpression expression = new SpelExpression(SpelCompilerMode.MIXED, true);
+        Map<String, Object> args = new HashMap<>();
+        args.put("day", 8);
+        args.put("name", "flowlong");
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(expression.eval(Boolean.class, "#day>7 && #name.equals('flowlong')", args));
+        }
+        args.put("day", 3);
+        Assertions.assertFalse(expression.eval(Boolean.class, "#day>7 && #name.equals('flowlong')", args));
+    }
+
+    @Test
+    public void testContext() {
+        Map<String, Object> args = new HashMap<>();
+        args.put("day", 8);
+        // 默认完整上下文支持类型引用
+        SpelExpression expression = new SpelExpression();
+        Assertions.assertTrue(expression.eval(Boolean.class, "T(java.lang.Math).max(#day, 1) == 8", args));
+
+        // 受限上下文需显式开启
+        SpelExpression simpleExpression = new SpelExpression(SpelCompilerMode.OFF, true);
+        Assertions.assertThrows(Exception.class, () -> simpleExpression.eval(Boolean.class, "T(java.lang.Math).max(#day, 1) == 8", args));
+
+        // 复用上下文不保留上次求值的变量
+        Assertions.assertTrue(expression.eval(Boolean.class, "#day>7", args));
+        Assertions.assertTrue(expression.eval(Boolean.class, "#day == null", new HashMap<>()));
+    }
 }
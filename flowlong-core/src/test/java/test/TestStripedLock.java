@@ -0,0 +1,89 @@
+package test;
+
+import com.flowlong.bpm.engine.assist.StripedLock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+public class TestStripedLock {
+    private int counter;
+
+    @Test
+    public void testSameKey() throws Exception {
+        StripedLock stripedLock = new StripedLock(16);
+        Assertions.assertSame(stripedLock.get(1L), stripedLock.get(Long.valueOf(1L)));
+
+        // 相同键值串行执行，非原子自增不丢失
+        int threads = 8;
+        int times = 10000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < times; j++) {
+                        Lock lock = stripedLock.get(1L);
+                        lock.lock();
+                        try {
+                            counter++;
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(threads * times, counter);
+    }
+
+    @Test
+    public void testDifferentKey() throws Exception {
+        StripedLock stripedLock = new StripedLock(16);
+        Lock lock = stripedLock.get(1L);
+        lock.lock();
+        try {
+            // 不同分段的键值不被阻塞
+            ExecutorService executorService = Executors.newSingleThreadExecutor();
+            try {
+                Assertions.assertTrue(executorService.submit(() -> {
+                    Lock other = stripedLock.get(2L);
+                    boolean locked = other.tryLock(1, TimeUnit.SECONDS);
+                    if (locked) {
+                        other.unlock();
+                    }
+                    return locked;
+                }).get());
+                Assertions.assertFalse(executorService.submit(() -> stripedLock.get(1L).tryLock()).get());
+            } finally {
+                executorService.shutdown();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    public void testStripes() {
+        // 分段数量向上取整为 2 的幂，超出分段数的键值共享分段
+        StripedLock stripedLock = new StripedLock(3);
+        Assertions.assertSame(stripedLock.get(1L), stripedLock.get(5L));
+        Assertions.assertNotSame(stripedLock.get(1L), stripedLock.get(2L));
+    }
+}
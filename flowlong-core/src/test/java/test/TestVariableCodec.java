@@ -0,0 +1,93 @@
+package test;
+
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.handler.JsonHandler;
+import com.flowlong.bpm.engine.handler.VariableCodec;
+import com.flowlong.bpm.engine.handler.impl.JacksonHandler;
+import com.flowlong.bpm.engine.handler.impl.JacksonVariableCodec;
+import com.flowlong.bpm.engine.handler.impl.VariableCodecParam;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 流程变量编解码兼容及按变量名解码
+ */
+public class TestVariableCodec {
+
+    @Test
+    public void testCompatible() {
+        VariableCodecParam param = new VariableCodecParam();
+        param.setCompressThreshold(64);
+        VariableCodec codec = new JacksonVariableCodec(param);
+        Map<String, Object> small = Collections.singletonMap("day", 8);
+        // 小变量保持 JSON 原样保存
+        Assertions.assertEquals("{\"day\":8}", codec.encode(small));
+        // 已有 JSON 数据可直接读取
+        Assertions.assertEquals(8, codec.decode("{\"day\":8}").get("day"));
+
+        Map<String, Object> large = form(200);
+        String encoded = codec.encode(large);
+        Assertions.assertTrue(encoded.startsWith("FLV1JD:"));
+        Assertions.assertEquals(large, codec.decode(encoded));
+        // 默认编解码器可读取压缩数据
+        Assertions.assertEquals(large, new JacksonVariableCodec().decode(encoded));
+    }
+
+    @Test
+    public void testDecodeNames() {
+        VariableCodecParam param = new VariableCodecParam();
+        param.setCompressThreshold(64);
+        VariableCodec codec = new JacksonVariableCodec(param);
+        Map<String, Object> large = form(200);
+        List<String> names = Arrays.asList("field2", "field9", "absent");
+        for (String text : Arrays.asList(new JacksonVariableCodec().encode(large), codec.encode(large))) {
+            Map<String, Object> variables = codec.decode(text, names);
+            Assertions.assertEquals(2, variables.size());
+            Assertions.assertEquals(large.get("field2"), variables.get("field2"));
+            Assertions.assertEquals(large.get("field9"), variables.get("field9"));
+        }
+    }
+
+    @Test
+    public void testJsonHandler() {
+        // JSON 格式交由全局 JSON 处理器编解码
+        AtomicInteger calls = new AtomicInteger();
+        JsonHandler jacksonHandler = new JacksonHandler();
+        JsonHandler jsonHandler = FlowLongContext.JSON_HANDLER;
+        FlowLongContext.JSON_HANDLER = new JsonHandler() {
+            @Override
+            public String toJson(Object object) {
+                calls.incrementAndGet();
+                return jacksonHandler.toJson(object);
+            }
+
+            @Override
+            public <T> T fromJson(String jsonString, Class<T> clazz) {
+                calls.incrementAndGet();
+                return jacksonHandler.fromJson(jsonString, clazz);
+            }
+        };
+        try {
+            VariableCodec codec = new JacksonVariableCodec();
+            Map<String, Object> small = Collections.singletonMap("day", 8);
+            Assertions.assertEquals(small, codec.decode(codec.encode(small)));
+            Assertions.assertEquals(2, calls.get());
+        } finally {
+            FlowLongContext.JSON_HANDLER = jsonHandler;
+        }
+    }
+
+    /**
+     * 模拟表单数据
+     */
+    private static Map<String, Object> form(int fields) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (int i = 0; i < fields; i++) {
+            variables.put("field" + i, i % 3 == 0 ? "表单字段内容" + i : i % 3 == 1 ? i : Arrays.asList("a" + i, "b" + i));
+        }
+        return variables;
+    }
+}
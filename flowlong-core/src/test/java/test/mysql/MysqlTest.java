@@ -18,11 +18,17 @@ import com.flowlong.bpm.engine.QueryService;
 import com.flowlong.bpm.engine.core.FlowCreator;
 import com.flowlong.bpm.engine.entity.Task;
 import com.flowlong.bpm.engine.entity.TaskActor;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.InterceptorChain;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import test.TestFlowLong;
 
+import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -36,6 +42,21 @@ public class MysqlTest extends TestFlowLong {
 
     protected FlowCreator testCreator = FlowCreator.of(testUser1, "测试001");
     protected FlowCreator test3Creator = FlowCreator.of(testUser3, "测试003");
+    @Autowired
+    protected SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 移除测试添加的拦截器，拦截器链不提供移除方法，反射移除避免影响其它测试
+     *
+     * @param interceptor 拦截器
+     */
+    protected void removeInterceptor(Interceptor interceptor) throws Exception {
+        Field chainField = Configuration.class.getDeclaredField("interceptorChain");
+        chainField.setAccessible(true);
+        Field interceptorsField = InterceptorChain.class.getDeclaredField("interceptors");
+        interceptorsField.setAccessible(true);
+        ((List<?>) interceptorsField.get(chainField.get(sqlSessionFactory.getConfiguration()))).remove(interceptor);
+    }
 
     /**
      * 执行当前活跃用户
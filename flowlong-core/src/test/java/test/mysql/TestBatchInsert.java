@@ -0,0 +1,145 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.mysql;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.core.mapper.MapperHelper;
+import com.flowlong.bpm.engine.core.mapper.TaskCcMapper;
+import com.flowlong.bpm.engine.entity.TaskCc;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试批量插入，多行 VALUES 一条语句完成插入
+ *
+ * @author hubin
+ */
+public class TestBatchInsert extends MysqlTest {
+    private static final Long INSTANCE_ID = -6L;
+    private static final int SIZE = 50;
+    private final StatementCounter statementCounter = new StatementCounter();
+
+    @Autowired
+    private TaskCcMapper taskCcMapper;
+
+    @BeforeEach
+    public void before() {
+        sqlSessionFactory.getConfiguration().addInterceptor(statementCounter);
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        this.removeInterceptor(statementCounter);
+        taskCcMapper.delete(Wrappers.<TaskCc>lambdaQuery().eq(TaskCc::getInstanceId, INSTANCE_ID));
+    }
+
+    @Test
+    public void test() {
+        List<TaskCc> taskCcList = this.buildTaskCcList();
+        // 未设置状态使用表默认值
+        taskCcList.get(0).setState(null);
+
+        statementCounter.count.set(0);
+        Assertions.assertTrue(taskCcMapper.insertBatch(taskCcList));
+        Assertions.assertEquals(1, statementCounter.count.get());
+
+        // 插入前分配主键
+        Assertions.assertTrue(taskCcList.stream().allMatch(t -> null != t.getId()));
+        Assertions.assertEquals(SIZE, taskCcList.stream().map(TaskCc::getId).distinct().count());
+
+        List<TaskCc> savedList = taskCcMapper.selectList(Wrappers.<TaskCc>lambdaQuery()
+                .eq(TaskCc::getInstanceId, INSTANCE_ID));
+        Assertions.assertEquals(SIZE, savedList.size());
+        Assertions.assertTrue(savedList.stream().allMatch(t -> Objects.equals(1, t.getState())));
+        Assertions.assertTrue(savedList.stream().anyMatch(t -> Objects.equals("test" + (SIZE - 1), t.getActorId())));
+
+        // 单条记录直接插入
+        statementCounter.count.set(0);
+        Assertions.assertTrue(taskCcMapper.insertBatch(this.buildTaskCcList().subList(0, 1)));
+        Assertions.assertEquals(1, statementCounter.count.get());
+        Assertions.assertEquals(SIZE + 1, taskCcMapper.selectCount(Wrappers.<TaskCc>lambdaQuery()
+                .eq(TaskCc::getInstanceId, INSTANCE_ID)));
+
+        // 空列表不执行语句
+        statementCounter.count.set(0);
+        Assertions.assertFalse(taskCcMapper.insertBatch(Collections.emptyList()));
+        Assertions.assertEquals(0, statementCounter.count.get());
+    }
+
+    @Test
+    public void testBatchSize() {
+        // 超出单条语句最大记录数分批插入
+        int size = MapperHelper.BATCH_SIZE + 1;
+        statementCounter.count.set(0);
+        Assertions.assertTrue(taskCcMapper.insertBatch(this.buildTaskCcList(size)));
+        Assertions.assertEquals(2, statementCounter.count.get());
+        Assertions.assertEquals(size, taskCcMapper.selectCount(Wrappers.<TaskCc>lambdaQuery()
+                .eq(TaskCc::getInstanceId, INSTANCE_ID)));
+    }
+
+    private List<TaskCc> buildTaskCcList() {
+        return this.buildTaskCcList(SIZE);
+    }
+
+    private List<TaskCc> buildTaskCcList(int size) {
+        List<TaskCc> taskCcList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskCc taskCc = new TaskCc();
+            taskCc.setInstanceId(INSTANCE_ID);
+            taskCc.setParentTaskId(0L);
+            taskCc.setTaskName("抄送人");
+            taskCc.setDisplayName("抄送人");
+            taskCc.setActorId("test" + i);
+            taskCc.setActorName("测试" + i);
+            taskCc.setType(0);
+            taskCc.setState(1);
+            taskCc.setCreateId(testUser1);
+            taskCc.setCreateBy("测试001");
+            taskCc.setCreateTime(new Date());
+            taskCcList.add(taskCc);
+        }
+        return taskCcList;
+    }
+
+    /**
+     * 统计发送到数据库的语句数量
+     */
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    static class StatementCounter implements Interceptor {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            count.incrementAndGet();
+            return invocation.proceed();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.mysql;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.core.enums.TaskType;
+import com.flowlong.bpm.engine.core.mapper.EventOutboxMapper;
+import com.flowlong.bpm.engine.entity.EventOutbox;
+import com.flowlong.bpm.engine.entity.Task;
+import com.flowlong.bpm.engine.impl.EventParam;
+import com.flowlong.bpm.engine.impl.ListenerEventSink;
+import com.flowlong.bpm.engine.impl.OutboxEventDispatcher;
+import com.flowlong.bpm.engine.impl.OutboxRelay;
+import com.flowlong.bpm.engine.listener.TaskListener;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 测试事务发件箱写入及中继投递
+ *
+ * @author hubin
+ */
+@Slf4j
+public class TestEventOutbox extends MysqlTest {
+    private static final Long INSTANCE_ID = -8L;
+
+    @Autowired
+    private EventOutboxMapper eventOutboxMapper;
+
+    @AfterEach
+    public void after() {
+        eventOutboxMapper.delete(Wrappers.<EventOutbox>lambdaQuery().eq(EventOutbox::getInstanceId, INSTANCE_ID));
+    }
+
+    @Test
+    public void test() {
+        List<Long> received = new ArrayList<>();
+        List<TaskListener> taskListeners = Collections.singletonList((event, task) -> received.add(task.getId()));
+        OutboxEventDispatcher dispatcher = new OutboxEventDispatcher(eventOutboxMapper);
+        for (long i = 1; i <= 5; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setInstanceId(INSTANCE_ID);
+            task.setTaskName("发件箱");
+            task.setTaskType(TaskType.major);
+            task.setCreateTime(new Date());
+            dispatcher.dispatch(INSTANCE_ID, TaskListener.EVENT_CREATE, task, taskListeners);
+        }
+
+        EventParam eventParam = new EventParam();
+        eventParam.setRelayBatchSize(2);
+        try (OutboxRelay outboxRelay = new OutboxRelay(eventOutboxMapper, new ListenerEventSink(taskListeners, null), null, eventParam)) {
+            // 投递后删除，按写入顺序通知
+            Assertions.assertEquals(5, outboxRelay.relay());
+        }
+        Assertions.assertEquals(0, eventOutboxMapper.selectCount(Wrappers.<EventOutbox>lambdaQuery().eq(EventOutbox::getInstanceId, INSTANCE_ID)));
+        Assertions.assertEquals(5, received.size());
+        for (int i = 1; i < received.size(); i++) {
+            Assertions.assertTrue(received.get(i - 1) < received.get(i));
+        }
+    }
+}
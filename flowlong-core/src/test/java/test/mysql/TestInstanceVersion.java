@@ -0,0 +1,137 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.mysql;
+
+import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.entity.Instance;
+import com.flowlong.bpm.engine.exception.FlowLongConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试流程实例版本号乐观更新
+ *
+ * @author hubin
+ */
+@Slf4j
+public class TestInstanceVersion extends MysqlTest {
+
+    @BeforeEach
+    public void before() {
+        processId = this.deployByResource("test/countersign.json", testCreator);
+    }
+
+    @Test
+    public void test() throws Exception {
+        Map<String, Object> args = new HashMap<>();
+        args.put("day", 8);
+        args.put("assignee", testUser1);
+        Instance instance = flowLongEngine.startInstanceById(processId, testCreator, args).get();
+
+        // 直接更新不校验版本号，版本号递增
+        flowLongEngine.runtimeService().addVariable(instance.getId(), Collections.singletonMap("first", 1));
+        Integer version = flowLongEngine.queryService().getInstance(instance.getId()).getVersion();
+        Instance temp = new Instance();
+        temp.setId(instance.getId());
+        temp.setLastUpdateBy(testUser1);
+        flowLongEngine.runtimeService().updateInstance(temp);
+        Assertions.assertEquals(version + 1, flowLongEngine.queryService().getInstance(instance.getId()).getVersion());
+
+        // 读取后实例被其它线程并发修改并独立提交，版本冲突重新读取修改
+        AtomicInteger attempts = new AtomicInteger();
+        flowLongEngine.runtimeService().updateInstance(instance.getId(), t -> {
+            if (attempts.incrementAndGet() == 1) {
+                this.concurrentUpdate(temp);
+            }
+            t.setLastUpdateBy(testUser2);
+        });
+        Assertions.assertEquals(2, attempts.get());
+        Instance updated = flowLongEngine.queryService().getInstance(instance.getId());
+        Assertions.assertEquals(testUser2, updated.getLastUpdateBy());
+        // 直接更新、并发更新、重试更新各递增一次
+        Assertions.assertEquals(version + 3, updated.getVersion());
+
+        // 超过重试次数抛出版本冲突
+        this.retryConflict(instance.getId(), temp);
+
+        // 并发添加变量不丢失
+        int threads = 8;
+        int retry = FlowLongContext.INSTANCE_UPDATE_RETRY;
+        FlowLongContext.INSTANCE_UPDATE_RETRY = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final String key = "key" + i;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    flowLongEngine.runtimeService().addVariable(instance.getId(), Collections.singletonMap(key, key));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            FlowLongContext.INSTANCE_UPDATE_RETRY = retry;
+            executorService.shutdown();
+        }
+        Map<String, Object> variableMap = flowLongEngine.queryService().getInstance(instance.getId()).getVariableMap();
+        for (int i = 0; i < threads; i++) {
+            Assertions.assertEquals("key" + i, variableMap.get("key" + i));
+        }
+        Assertions.assertEquals(1, variableMap.get("first"));
+    }
+
+    private void retryConflict(Long instanceId, Instance temp) {
+        int retry = FlowLongContext.INSTANCE_UPDATE_RETRY;
+        FlowLongContext.INSTANCE_UPDATE_RETRY = 0;
+        try {
+            Assertions.assertThrows(FlowLongConflictException.class, () -> flowLongEngine.runtimeService()
+                    .updateInstance(instanceId, t -> this.concurrentUpdate(temp)));
+        } finally {
+            FlowLongContext.INSTANCE_UPDATE_RETRY = retry;
+        }
+    }
+
+    /**
+     * 在其它线程中更新流程实例，不加入当前线程事务，独立提交
+     */
+    private void concurrentUpdate(Instance temp) {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            executorService.submit(() -> flowLongEngine.runtimeService().updateInstance(temp)).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
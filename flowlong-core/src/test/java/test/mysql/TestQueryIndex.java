@@ -0,0 +1,170 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.mysql;
+
+import com.flowlong.bpm.engine.QueryService;
+import com.flowlong.bpm.engine.core.TaskQuery;
+import com.flowlong.bpm.engine.core.mapper.EventOutboxMapper;
+import com.flowlong.bpm.engine.scheduling.JobPartition;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 测试引擎查询索引，EXPLAIN 执行计划为全表扫描且无可用索引时失败，
+ * 分页查询出现全表扫描或文件排序时失败
+ *
+ * @author hubin
+ */
+@Slf4j
+public class TestQueryIndex extends MysqlTest {
+
+    /**
+     * 引擎 Mapper 发出的查询条件
+     */
+    private static final String[] QUERIES = {
+            // 流程定义
+            "SELECT * FROM flw_process WHERE name = 'process' AND version = 1",
+            "SELECT * FROM flw_process WHERE name = 'process' ORDER BY version DESC",
+            // 流程实例
+            "SELECT * FROM flw_instance WHERE process_id = 1",
+            "SELECT * FROM flw_his_instance WHERE process_id = 1",
+            // 活动任务
+            "SELECT * FROM flw_task WHERE instance_id = 1",
+            "SELECT * FROM flw_task WHERE instance_id = 1 AND task_name = 'task'",
+            "SELECT * FROM flw_task WHERE instance_id = 1 AND task_name IN ('task1', 'task2')",
+            "SELECT * FROM flw_task WHERE parent_task_id = 1",
+            "SELECT * FROM flw_task WHERE parent_task_id IN (1, 2)",
+            "SELECT * FROM flw_task WHERE expire_time <= NOW() OR remind_time <= NOW()",
+            // 任务参与者
+            "SELECT * FROM flw_task_actor WHERE task_id = 1",
+            "SELECT * FROM flw_task_actor WHERE task_id = 1 AND actor_id = 'test001'",
+            "SELECT * FROM flw_task_actor WHERE actor_id = 'test001'",
+            "SELECT * FROM flw_task_actor WHERE instance_id = 1",
+            // 历史任务
+            "SELECT * FROM flw_his_task WHERE instance_id = 1 ORDER BY create_time DESC",
+            "SELECT * FROM flw_his_task WHERE instance_id = 1 AND task_name = 'task' AND parent_task_id = 1",
+            "SELECT * FROM flw_his_task_actor WHERE task_id = 1",
+            "SELECT * FROM flw_his_task_actor WHERE actor_id = 'test001'",
+            // 抄送任务
+            "SELECT * FROM flw_task_cc WHERE instance_id = 1",
+            "SELECT * FROM flw_task_cc WHERE parent_task_id = 1",
+            "SELECT * FROM flw_task_cc WHERE actor_id = 'test001' AND state = 1"
+    };
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EventOutboxMapper eventOutboxMapper;
+    private final ExplainInterceptor explainInterceptor = new ExplainInterceptor();
+
+    @AfterEach
+    public void after() throws Exception {
+        this.removeInterceptor(explainInterceptor);
+    }
+
+    @Test
+    public void test() throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : QUERIES) {
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    this.check(sql, rs, fullScans);
+                }
+            }
+        }
+        fullScans.forEach(t -> log.error("full table scan: {}", t));
+        Assertions.assertTrue(fullScans.isEmpty(), "full table scan: " + fullScans);
+    }
+
+    @Test
+    public void testMapperQuery() {
+        // EXPLAIN 引擎 Mapper 实际发出的语句及参数
+        sqlSessionFactory.getConfiguration().addInterceptor(explainInterceptor);
+        QueryService queryService = flowLongEngine.queryService();
+        TaskQuery taskQuery = TaskQuery.ofUser(testUser1).role("admin").tenantId("tenant").searchCount(true);
+        queryService.getTodoTasks(taskQuery);
+        queryService.getDoneTasks(taskQuery);
+        taskQuery.cursor(new Date(), Long.MAX_VALUE);
+        queryService.getTodoTasks(taskQuery);
+        queryService.getDoneTasks(taskQuery);
+        flowLongEngine.taskService().getTimeoutOrRemindTasks(new Date(), new JobPartition(0, 2));
+        eventOutboxMapper.selectNextBatch(null, 100);
+        eventOutboxMapper.selectNextBatch(1L, 100);
+
+        Assertions.assertTrue(explainInterceptor.count >= 11, "explained " + explainInterceptor.count);
+        explainInterceptor.failures.forEach(t -> log.error("bad query plan: {}", t));
+        Assertions.assertTrue(explainInterceptor.failures.isEmpty(), "bad query plan: " + explainInterceptor.failures);
+    }
+
+    /**
+     * 检查执行计划，分页查询不允许全表扫描及文件排序，其它查询不允许无可用索引的全表扫描
+     */
+    private void check(String sql, ResultSet rs, List<String> failures) throws Exception {
+        boolean paged = sql.contains("ORDER BY") && sql.contains("LIMIT");
+        while (rs.next()) {
+            String type = rs.getString("type");
+            String extra = rs.getString("Extra");
+            if (paged && ("ALL".equals(type) || null != extra && extra.contains("Using filesort"))) {
+                failures.add("[" + rs.getString("table") + " " + type + " " + extra + "] " + sql);
+            } else if ("ALL".equals(type) && null == rs.getString("possible_keys")) {
+                // 小表优化器可能选择全表扫描，无可用索引才判定为缺失索引
+                failures.add("[" + rs.getString("table") + " " + type + "] " + sql);
+            }
+        }
+    }
+
+    /**
+     * 在语句预编译前使用相同连接及参数执行 EXPLAIN
+     */
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    class ExplainInterceptor implements Interceptor {
+        private final List<String> failures = new ArrayList<>();
+        private int count;
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
+            String sql = statementHandler.getBoundSql().getSql().replaceAll("\\s+", " ").trim();
+            if (sql.toUpperCase().startsWith("SELECT")) {
+                Connection connection = (Connection) invocation.getArgs()[0];
+                try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+                    statementHandler.getParameterHandler().setParameters(ps);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        check(sql, rs, failures);
+                    }
+                }
+                count++;
+            }
+            return invocation.proceed();
+        }
+    }
+}
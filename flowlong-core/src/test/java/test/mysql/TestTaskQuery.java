@@ -0,0 +1,77 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.mysql;
+
+import com.flowlong.bpm.engine.QueryService;
+import com.flowlong.bpm.engine.core.TaskPage;
+import com.flowlong.bpm.engine.core.TaskQuery;
+import com.flowlong.bpm.engine.entity.HisTask;
+import com.flowlong.bpm.engine.entity.Task;
+import com.flowlong.bpm.engine.exception.FlowLongException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 测试参与者待办、已办任务游标分页查询
+ *
+ * @author hubin
+ */
+public class TestTaskQuery extends MysqlTest {
+
+    @BeforeEach
+    public void before() {
+        processId = this.deployByResource("test/orSign.json", testCreator);
+    }
+
+    @Test
+    public void test() {
+        // 启动两个流程实例，发起后进入领导或签审批
+        for (int i = 0; i < 2; i++) {
+            flowLongEngine.startInstanceById(processId, testCreator)
+                    .ifPresent(instance -> this.executeActiveTasks(instance.getId(), testCreator));
+        }
+
+        QueryService queryService = flowLongEngine.queryService();
+        TaskQuery taskQuery = TaskQuery.ofUser(testUser1).size(1).searchCount(true);
+        TaskPage<Task> taskPage = queryService.getTodoTasks(taskQuery);
+        Assertions.assertEquals(1, taskPage.getRecords().size());
+        Assertions.assertTrue(taskPage.isHasMore());
+        Assertions.assertTrue(taskPage.getTotal() >= 2);
+
+        // 游标翻页，记录不重复
+        Set<Long> taskIds = new HashSet<>();
+        while (!taskPage.getRecords().isEmpty()) {
+            taskPage.getRecords().forEach(t -> Assertions.assertTrue(taskIds.add(t.getId())));
+            if (!taskPage.isHasMore()) {
+                break;
+            }
+            taskPage = queryService.getTodoTasks(taskQuery.cursor(taskPage.getNextCreateTime(), taskPage.getNextId()));
+        }
+        Assertions.assertEquals(taskIds.size(), queryService.getTodoTasks(TaskQuery.ofUser(testUser1)
+                .searchCount(true)).getTotal());
+
+        // 发起人已办任务
+        TaskPage<HisTask> hisTaskPage = queryService.getDoneTasks(TaskQuery.ofUser(testUser1).size(10));
+        Assertions.assertNotNull(hisTaskPage.getRecords());
+
+        // 每页记录数超出上限
+        Assertions.assertThrows(FlowLongException.class, () -> queryService.getTodoTasks(TaskQuery.ofUser(testUser1)
+                .size(TaskQuery.MAX_SIZE + 1)));
+    }
+}
@@ -0,0 +1,102 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.mysql;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.flowlong.bpm.engine.core.enums.PerformType;
+import com.flowlong.bpm.engine.core.enums.TaskState;
+import com.flowlong.bpm.engine.core.enums.TaskType;
+import com.flowlong.bpm.engine.core.mapper.*;
+import com.flowlong.bpm.engine.entity.*;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 测试批量任务超时，分批集合迁移任务及参与者到历史表
+ *
+ * @author hubin
+ */
+@Slf4j
+public class TestTaskTimeout extends MysqlTest {
+    private static final Long INSTANCE_ID = -7L;
+    private static final int SIZE = 1200;
+
+    @Autowired
+    private TaskMapper taskMapper;
+    @Autowired
+    private TaskActorMapper taskActorMapper;
+    @Autowired
+    private HisTaskMapper hisTaskMapper;
+    @Autowired
+    private HisTaskActorMapper hisTaskActorMapper;
+
+    @AfterEach
+    public void after() {
+        taskActorMapper.delete(Wrappers.<TaskActor>lambdaQuery().eq(TaskActor::getInstanceId, INSTANCE_ID));
+        taskMapper.delete(Wrappers.<Task>lambdaQuery().eq(Task::getInstanceId, INSTANCE_ID));
+        hisTaskActorMapper.delete(Wrappers.<HisTaskActor>lambdaQuery().eq(HisTaskActor::getInstanceId, INSTANCE_ID));
+        hisTaskMapper.delete(Wrappers.<HisTask>lambdaQuery().eq(HisTask::getInstanceId, INSTANCE_ID));
+    }
+
+    @Test
+    public void test() {
+        List<Task> tasks = new ArrayList<>(SIZE);
+        List<TaskActor> taskActors = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            Task task = new Task();
+            task.setInstanceId(INSTANCE_ID);
+            task.setTaskName("超时任务");
+            task.setDisplayName("超时任务" + i);
+            task.setTaskType(TaskType.major);
+            task.setPerformType(PerformType.sort);
+            task.setCreateId(testUser1);
+            task.setCreateBy("测试001");
+            task.setCreateTime(new Date());
+            tasks.add(task);
+        }
+        taskMapper.insertBatch(tasks);
+        for (Task task : tasks) {
+            TaskActor taskActor = new TaskActor();
+            taskActor.setInstanceId(INSTANCE_ID);
+            taskActor.setTaskId(task.getId());
+            taskActor.setActorId(testUser1);
+            taskActor.setActorName("测试001");
+            taskActor.setType(0);
+            taskActors.add(taskActor);
+        }
+        taskActorMapper.insertBatch(taskActors);
+
+        List<Long> taskIds = new ArrayList<>(SIZE);
+        tasks.forEach(t -> taskIds.add(t.getId()));
+        long start = System.currentTimeMillis();
+        Assertions.assertEquals(SIZE, flowLongEngine.taskService().taskTimeout(taskIds));
+        log.info("timeout {} tasks: {}ms", SIZE, System.currentTimeMillis() - start);
+
+        // 已迁移的任务再次超时忽略
+        Assertions.assertEquals(0, flowLongEngine.taskService().taskTimeout(taskIds));
+        Assertions.assertEquals(0, taskMapper.selectCount(Wrappers.<Task>lambdaQuery().eq(Task::getInstanceId, INSTANCE_ID)));
+        Assertions.assertEquals(0, taskActorMapper.selectCount(Wrappers.<TaskActor>lambdaQuery().eq(TaskActor::getInstanceId, INSTANCE_ID)));
+        Assertions.assertEquals(SIZE, hisTaskMapper.selectCount(Wrappers.<HisTask>lambdaQuery().eq(HisTask::getInstanceId, INSTANCE_ID)
+                .eq(HisTask::getTaskState, TaskState.timeout.getValue())));
+        Assertions.assertEquals(SIZE, hisTaskActorMapper.selectCount(Wrappers.<HisTaskActor>lambdaQuery().eq(HisTaskActor::getInstanceId, INSTANCE_ID)));
+    }
+}
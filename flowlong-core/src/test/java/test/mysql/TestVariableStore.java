@@ -0,0 +1,92 @@
+/* Copyright 2023-2025 jobob@qq.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.mysql;
+
+import com.flowlong.bpm.engine.core.SpelExpression;
+import com.flowlong.bpm.engine.core.StoreVariableMap;
+import com.flowlong.bpm.engine.core.mapper.VariableMapper;
+import com.flowlong.bpm.engine.entity.Variable;
+import com.flowlong.bpm.engine.impl.DatabaseVariableStore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 测试流程变量按名称增量存储及按需加载
+ *
+ * @author hubin
+ */
+@Slf4j
+public class TestVariableStore extends MysqlTest {
+    private static final Long INSTANCE_ID = -9L;
+
+    @Autowired
+    private VariableMapper variableMapper;
+
+    @AfterEach
+    public void after() {
+        variableMapper.deleteByInstanceId(INSTANCE_ID);
+    }
+
+    @Test
+    public void test() {
+        DatabaseVariableStore variableStore = new DatabaseVariableStore(variableMapper);
+        Map<String, Object> args = new HashMap<>();
+        args.put("day", 8);
+        args.put("amount", new BigDecimal("12.50"));
+        args.put("assignee", "test001");
+        args.put("pass", true);
+        args.put("users", Arrays.asList("a", "b"));
+        variableStore.save(INSTANCE_ID, Variable.SCOPE_INSTANCE, args);
+
+        // 仅更新变化的变量
+        variableStore.save(INSTANCE_ID, Variable.SCOPE_INSTANCE, Collections.singletonMap("day", 10));
+        Map<String, Object> variables = variableStore.get(INSTANCE_ID, Variable.SCOPE_INSTANCE, null);
+        Assertions.assertEquals(5, variables.size());
+        Assertions.assertEquals(10, variables.get("day"));
+        Assertions.assertEquals(new BigDecimal("12.50"), variables.get("amount"));
+        Assertions.assertEquals(Boolean.TRUE, variables.get("pass"));
+        Assertions.assertEquals(Arrays.asList("a", "b"), variables.get("users"));
+
+        // 表达式只加载引用的变量，执行参数优先
+        Map<String, Object> executeArgs = new HashMap<>();
+        executeArgs.put("assignee", "test002");
+        StoreVariableMap storeVariableMap = new StoreVariableMap(executeArgs, INSTANCE_ID, variableStore,
+                Collections.singletonMap("legacy", 1));
+        SpelExpression expression = new SpelExpression();
+        Assertions.assertTrue(expression.eval(Boolean.class, "#day > 9 && #assignee == 'test002' && #legacy == 1", storeVariableMap));
+        Assertions.assertEquals(6, storeVariableMap.size());
+
+        // 写操作返回执行参数中的原值，删除后不再读取变量存储中的同名变量
+        Assertions.assertNull(storeVariableMap.put("amount", 1));
+        Assertions.assertEquals(1, storeVariableMap.remove("amount"));
+        Assertions.assertFalse(storeVariableMap.containsKey("amount"));
+        Assertions.assertNull(storeVariableMap.get("amount"));
+        Assertions.assertEquals(5, storeVariableMap.size());
+        Assertions.assertFalse(storeVariableMap.isEmpty());
+
+        // 判断是否为空不加载全部变量
+        Assertions.assertFalse(new StoreVariableMap(new HashMap<>(), INSTANCE_ID, variableStore, Collections.emptyMap()).isEmpty());
+        Assertions.assertTrue(new StoreVariableMap(new HashMap<>(), -10L, variableStore, Collections.emptyMap()).isEmpty());
+    }
+}
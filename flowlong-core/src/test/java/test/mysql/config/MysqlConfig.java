@@ -21,11 +21,13 @@ import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
 import com.flowlong.bpm.engine.*;
 import com.flowlong.bpm.engine.core.FlowLongContext;
 import com.flowlong.bpm.engine.impl.GeneralAccessStrategy;
+import com.flowlong.bpm.engine.impl.SpringTransactionExecutor;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.type.JdbcType;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
@@ -61,15 +63,27 @@ public class MysqlConfig {
         return sqlSessionFactory.getObject();
     }
 
+    @Bean
+    public DataSourceTransactionManager transactionManager(DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    @Bean
+    public TransactionExecutor transactionExecutor(DataSourceTransactionManager transactionManager) {
+        return new SpringTransactionExecutor(transactionManager);
+    }
+
     @Bean
     public FlowLongEngine flowLongEngine(ProcessService processService, QueryService queryService,
-                                         RuntimeService runtimeService, TaskService taskService, Expression expression) {
+                                         RuntimeService runtimeService, TaskService taskService, Expression expression,
+                                         TransactionExecutor transactionExecutor) {
         FlowLongContext flc = new FlowLongContext();
         flc.setProcessService(processService);
         flc.setQueryService(queryService);
         flc.setRuntimeService(runtimeService);
         flc.setTaskService(taskService);
         flc.setExpression(expression);
+        flc.setTransactionExecutor(transactionExecutor);
         return flc.build();
     }
 }
@@ -15,18 +15,44 @@
 package com.flowlong.bpm.autoconfigure;
 
 import com.flowlong.bpm.engine.*;
+import com.flowlong.bpm.engine.assist.Assert;
+import com.flowlong.bpm.engine.cache.CacheParam;
+import com.flowlong.bpm.engine.cache.ProcessCache;
+import com.flowlong.bpm.engine.cache.ProcessModelCache;
+import com.flowlong.bpm.engine.core.AsyncFlowLongEngine;
 import com.flowlong.bpm.engine.core.FlowLongContext;
+import com.flowlong.bpm.engine.core.SpelExpression;
+import com.flowlong.bpm.engine.core.mapper.EventOutboxMapper;
+import com.flowlong.bpm.engine.core.mapper.HisDeadLetterMapper;
+import com.flowlong.bpm.engine.core.mapper.HisInstanceMapper;
+import com.flowlong.bpm.engine.core.mapper.HisTaskActorMapper;
+import com.flowlong.bpm.engine.core.mapper.HisTaskMapper;
+import com.flowlong.bpm.engine.core.mapper.JobLockMapper;
+import com.flowlong.bpm.engine.core.mapper.VariableMapper;
+import com.flowlong.bpm.engine.handler.impl.JacksonVariableCodec;
+import com.flowlong.bpm.engine.impl.*;
+import com.flowlong.bpm.engine.listener.InstanceListener;
+import com.flowlong.bpm.engine.listener.TaskListener;
+import com.flowlong.bpm.engine.scheduling.DatabaseLock;
+import com.flowlong.bpm.engine.scheduling.DeadlineScheduler;
 import com.flowlong.bpm.engine.scheduling.JobLock;
+import com.flowlong.bpm.engine.scheduling.LockParam;
 import com.flowlong.bpm.engine.scheduling.LocalLock;
 import com.flowlong.bpm.engine.scheduling.SpringBootScheduler;
 import com.flowlong.bpm.engine.scheduling.TaskReminder;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Collectors;
 
 /**
  * spring boot starter 启动自动配置处理类
@@ -47,15 +73,53 @@ public class FlowLongAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public FlowLongContext flowLongContext(ProcessService processService, QueryService queryService,
-                                           RuntimeService runtimeService, TaskService taskService) {
+                                           RuntimeService runtimeService, TaskService taskService,
+                                           TransactionExecutor transactionExecutor, ObjectProvider<VariableStore> variableStore,
+                                           Expression expression, FlowLongProperties properties) {
+        FlowLongContext.SET_BASED_MIGRATION = properties.isSetBasedMigration();
+        FlowLongContext.INSTANCE_UPDATE_RETRY = properties.getInstanceUpdateRetry();
+        FlowLongContext.VARIABLE_CODEC = new JacksonVariableCodec(properties.getVariableCodec());
+        FlowLongContext.PROCESS_MODEL_CACHE = new ProcessModelCache(properties.getCache().getModelSize());
         FlowLongContext flc = new FlowLongContext();
         flc.setProcessService(processService);
         flc.setQueryService(queryService);
         flc.setRuntimeService(runtimeService);
         flc.setTaskService(taskService);
+        flc.setExpression(expression);
+        flc.setTransactionExecutor(transactionExecutor);
+        flc.setVariableStore(variableStore.getIfAvailable());
         return flc;
     }
 
+    /**
+     * 流程定义缓存，注入流程定义服务
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessCache processCache(FlowLongProperties properties) {
+        CacheParam cacheParam = properties.getCache();
+        return new ProcessCache(cacheParam.getProcessSize(), cacheParam.getProcessExpire() * 1000);
+    }
+
+    /**
+     * 默认 Spring el表达式解析器，受限轻量上下文需配置开启
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public Expression expression(FlowLongProperties properties) {
+        return new SpelExpression(properties.getExpression());
+    }
+
+    /**
+     * 存在事务管理器时引擎操作在 Spring 事务中执行，否则各语句自动提交
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TransactionExecutor transactionExecutor(ObjectProvider<PlatformTransactionManager> transactionManager) {
+        PlatformTransactionManager ptm = transactionManager.getIfUnique();
+        return null == ptm ? TransactionExecutor.NONE : new SpringTransactionExecutor(ptm);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public FlowLongEngine flowLongEngine(FlowLongContext flowLongContext) {
@@ -64,13 +128,88 @@ public class FlowLongAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public JobLock jobLock() {
+    @ConditionalOnProperty(prefix = "flowlong.async", name = "enabled", havingValue = "true")
+    public AsyncFlowLongEngine asyncFlowLongEngine(FlowLongEngine flowLongEngine, FlowLongProperties properties) {
+        return new AsyncFlowLongEngine(flowLongEngine, properties.getAsync());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "flowlong", name = "variable-store", havingValue = "true")
+    public VariableStore variableStore(VariableMapper variableMapper) {
+        return new DatabaseVariableStore(variableMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "flowlong.history", name = "async", havingValue = "true")
+    public HistoryWriter historyWriter(TransactionExecutor transactionExecutor, HisInstanceMapper hisInstanceMapper,
+                                       HisTaskMapper hisTaskMapper, HisTaskActorMapper hisTaskActorMapper,
+                                       HisDeadLetterMapper hisDeadLetterMapper, FlowLongProperties properties) {
+        return new AsyncHistoryWriter(transactionExecutor, hisInstanceMapper, hisTaskMapper, hisTaskActorMapper,
+                hisDeadLetterMapper, properties.getHistory());
+    }
+
+    /**
+     * 事务发件箱与异步事件分发只能开启其一
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "flowlong.event", name = "outbox", havingValue = "true")
+    public EventDispatcher outboxEventDispatcher(EventOutboxMapper eventOutboxMapper, FlowLongProperties properties) {
+        Assert.illegalArgument(properties.getEvent().isAsync(),
+                "flowlong.event.outbox and flowlong.event.async cannot both be enabled");
+        return new OutboxEventDispatcher(eventOutboxMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "flowlong.event", name = "outbox", havingValue = "true")
+    public EventSink eventSink(ObjectProvider<TaskListener> taskListeners, ObjectProvider<InstanceListener> instanceListener) {
+        return new ListenerEventSink(taskListeners.orderedStream().collect(Collectors.toList()), instanceListener.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "flowlong.event", name = "outbox", havingValue = "true")
+    public OutboxRelay outboxRelay(EventOutboxMapper eventOutboxMapper, EventSink eventSink, JobLockMapper jobLockMapper,
+                                   FlowLongProperties properties) {
+        JobLock jobLock = null;
+        if (properties.getLock().isDatabase()) {
+            // 多节点部署独立的发件箱投递锁
+            LockParam lockParam = new LockParam();
+            lockParam.setDatabase(true);
+            lockParam.setNodeId(properties.getLock().getNodeId());
+            lockParam.setLeaseTime(properties.getLock().getLeaseTime());
+            lockParam.setLockName("flowlong-outbox");
+            jobLock = new DatabaseLock(jobLockMapper, lockParam);
+        }
+        OutboxRelay outboxRelay = new OutboxRelay(eventOutboxMapper, eventSink, jobLock, properties.getEvent());
+        outboxRelay.start();
+        return outboxRelay;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "flowlong.event", name = "async", havingValue = "true")
+    public EventDispatcher eventDispatcher(TransactionExecutor transactionExecutor, FlowLongProperties properties) {
+        return new AsyncEventDispatcher(transactionExecutor, properties.getEvent());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JobLock jobLock(FlowLongProperties properties, JobLockMapper jobLockMapper) {
+        if (properties.getLock().isDatabase()) {
+            // 多节点部署使用数据库租约锁
+            return new DatabaseLock(jobLockMapper, properties.getLock());
+        }
         return new LocalLock();
     }
 
     @Bean
     @ConditionalOnBean({FlowLongContext.class, TaskReminder.class})
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "flowlong.remind", name = "deadline", havingValue = "false", matchIfMissing = true)
     public SpringBootScheduler springBootScheduler(FlowLongContext flowLongContext, FlowLongProperties properties,
                                                    TaskReminder taskReminder, JobLock jobLock) {
         SpringBootScheduler scheduler = new SpringBootScheduler();
@@ -80,4 +219,28 @@ public class FlowLongAutoConfiguration {
         scheduler.setJobLock(jobLock);
         return scheduler;
     }
+
+    /**
+     * 任务期限调度器，同时作为任务监听器注入任务服务，不依赖流程引擎上下文避免循环依赖
+     */
+    @Bean
+    @ConditionalOnBean(TaskReminder.class)
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "flowlong.remind", name = "deadline", havingValue = "true")
+    public DeadlineScheduler deadlineScheduler(FlowLongProperties properties, TaskReminder taskReminder, JobLock jobLock) {
+        DeadlineScheduler scheduler = new DeadlineScheduler();
+        scheduler.setRemindParam(properties.getRemind());
+        scheduler.setTaskReminder(taskReminder);
+        scheduler.setJobLock(jobLock);
+        return scheduler;
+    }
+
+    @Bean
+    @ConditionalOnBean(DeadlineScheduler.class)
+    public SmartInitializingSingleton deadlineSchedulerStarter(DeadlineScheduler deadlineScheduler, FlowLongContext flowLongContext) {
+        return () -> {
+            deadlineScheduler.setContext(flowLongContext);
+            deadlineScheduler.start();
+        };
+    }
 }
@@ -14,6 +14,13 @@
  */
 package com.flowlong.bpm.autoconfigure;
 
+import com.flowlong.bpm.engine.cache.CacheParam;
+import com.flowlong.bpm.engine.core.AsyncEngineParam;
+import com.flowlong.bpm.engine.core.ExpressionParam;
+import com.flowlong.bpm.engine.handler.impl.VariableCodecParam;
+import com.flowlong.bpm.engine.impl.EventParam;
+import com.flowlong.bpm.engine.impl.HistoryParam;
+import com.flowlong.bpm.engine.scheduling.LockParam;
 import com.flowlong.bpm.engine.scheduling.RemindParam;
 import lombok.Getter;
 import lombok.Setter;
@@ -39,5 +46,52 @@ public class FlowLongProperties {
      */
     @NestedConfigurationProperty
     private RemindParam remind;
+    /**
+     * 任务锁
+     */
+    @NestedConfigurationProperty
+    private LockParam lock = new LockParam();
+    /**
+     * 任务完成使用 INSERT ... SELECT 集合迁移历史，数据库不支持时关闭
+     */
+    private boolean setBasedMigration = false;
+    /**
+     * 流程实例乐观更新冲突最大重试次数
+     */
+    private int instanceUpdateRetry = 3;
+    /**
+     * 流程变量按名称保存至 flw_variable 表增量更新，关闭时以 json 保存在 variable 字段
+     */
+    private boolean variableStore = false;
+    /**
+     * Spring el表达式解析器
+     */
+    @NestedConfigurationProperty
+    private ExpressionParam expression = new ExpressionParam();
+    /**
+     * 流程变量编解码
+     */
+    @NestedConfigurationProperty
+    private VariableCodecParam variableCodec = new VariableCodecParam();
+    /**
+     * 异步历史写入
+     */
+    @NestedConfigurationProperty
+    private HistoryParam history = new HistoryParam();
+    /**
+     * 异步事件分发
+     */
+    @NestedConfigurationProperty
+    private EventParam event = new EventParam();
+    /**
+     * 异步流程引擎
+     */
+    @NestedConfigurationProperty
+    private AsyncEngineParam async = new AsyncEngineParam();
+    /**
+     * 本地缓存
+     */
+    @NestedConfigurationProperty
+    private CacheParam cache = new CacheParam();
 
 }